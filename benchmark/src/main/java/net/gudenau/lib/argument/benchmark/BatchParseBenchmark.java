@@ -0,0 +1,69 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import net.gudenau.lib.argument.ParseOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing a batch of command lines one at a time against
+ * {@link ArgumentParser#parseAll(List)}.
+ *
+ * Every sixteenth command line is invalid, the batch has to keep going.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class BatchParseBenchmark{
+    @Param({"100000"})
+    public int batchSize;
+    
+    private ArgumentParser parser;
+    private List<String[]> commandLines;
+    
+    @Setup
+    public void setup(){
+        parser = Registry.create(300);
+        String[] valid = Registry.arguments(300, Registry.Kind.MIXED, Registry.Form.EQUALS, 8);
+        String[] invalid = {"-unknownOption"};
+        
+        commandLines = new ArrayList<>(batchSize);
+        for(int i = 0; i < batchSize; i++){
+            commandLines.add((i & 15) == 15 ? invalid : valid.clone());
+        }
+    }
+    
+    @Benchmark
+    public List<ArgumentResult> sequential(){
+        List<ArgumentResult> results = new ArrayList<>(commandLines.size());
+        for(String[] commandLine : commandLines){
+            try{
+                results.add(parser.parse(commandLine));
+            }catch(IllegalArgumentException e){
+                results.add(null);
+            }
+        }
+        return results;
+    }
+    
+    @Benchmark
+    public List<ParseOutcome> parseAll(){
+        return parser.parseAll(commandLines);
+    }
+}
@@ -0,0 +1,41 @@
+package net.gudenau.lib.argument.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and JSON results by default.
+ *
+ * Accepts the normal JMH command line, anything passed there overrides
+ * the defaults. The results are written to jmh-result.json so they can
+ * be compared between commits.
+ * */
+public final class BenchmarkRunner{
+    private BenchmarkRunner(){}
+    
+    public static void main(String[] args) throws Exception{
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if(commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers() ||
+            commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()){
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if(commandLine.getProfilers().isEmpty()){
+            options.addProfiler(GCProfiler.class);
+        }
+        if(!commandLine.getResultFormat().hasValue()){
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if(!commandLine.getResult().hasValue()){
+            options.result("jmh-result.json");
+        }
+        
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import net.gudenau.lib.argument.CompiledArgumentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Picks a few options out of a NUL separated JVM command line, like a
+ * tool that reads /proc/&lt;pid&gt;/cmdline.
+ *
+ * Compares decoding every token into a String[] first against parsing
+ * the bytes directly. Only three of the tokens are registered, the
+ * rest are skipped.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CmdlineBenchmark{
+    /**
+     * The number of unrelated JVM options in the command line.
+     * */
+    @Param({"20", "200"})
+    public int noise;
+    
+    private CompiledArgumentParser parser;
+    private byte[] cmdline;
+    
+    @Setup
+    public void setup(){
+        parser = new ArgumentParser()
+            .registerIntegerArgument("port")
+            .registerSizeArgument("cache")
+            .registerStringArgument("instance")
+            .setIgnoreUnknown(true)
+            .compile();
+        
+        List<String> tokens = new ArrayList<>();
+        tokens.add("/usr/lib/jvm/java-11/bin/java");
+        for(int i = 0; i < noise; i++){
+            tokens.add(i % 2 == 0 ? "-Dservice.option" + i + "=value" + i : "-XX:+UseOption" + i);
+        }
+        tokens.add("-jar");
+        tokens.add("/opt/service/service.jar");
+        tokens.add("--port");
+        tokens.add("8080");
+        tokens.add("--cache=512m");
+        tokens.add("--instance=primary");
+        cmdline = (String.join("\0", tokens) + '\0').getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public ArgumentResult decoded(){
+        String[] arguments = new String(cmdline, StandardCharsets.UTF_8).split("\0");
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    public ArgumentResult bytes(){
+        return parser.parse(cmdline);
+    }
+}
@@ -0,0 +1,74 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The latency of the first parse in a fresh JVM, including class
+ * loading and building the registry.
+ * */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class ColdStartBenchmark{
+    private static final int COMMANDS = 150;
+    
+    @Param({"10", "300"})
+    public int registrySize;
+    
+    @Benchmark
+    public ArgumentResult firstParse(){
+        ArgumentParser parser = Registry.create(registrySize);
+        return parser.parse(Registry.arguments(registrySize, Registry.Kind.MIXED, Registry.Form.EQUALS, 8));
+    }
+    
+    /**
+     * A CLI with many subcommands that only builds the registry of the
+     * one that is invoked.
+     * */
+    @Benchmark
+    public ArgumentResult firstCommandParse(){
+        ArgumentParser parser = new ArgumentParser().registerFlagArgument("verbose");
+        for(int i = 0; i < COMMANDS; i++){
+            parser.registerCommand("command" + i, ()->Registry.create(registrySize));
+        }
+        return parser.parse(commandLine());
+    }
+    
+    /**
+     * The same CLI with every registry built up front.
+     * */
+    @Benchmark
+    public ArgumentResult firstCommandParseEager(){
+        ArgumentParser[] parsers = new ArgumentParser[COMMANDS];
+        for(int i = 0; i < COMMANDS; i++){
+            parsers[i] = Registry.create(registrySize);
+        }
+        String[] commandLine = commandLine();
+        return parsers[COMMANDS / 2].parse(Arrays.copyOfRange(commandLine, 2, commandLine.length));
+    }
+    
+    private String[] commandLine(){
+        String[] arguments = Registry.arguments(registrySize, Registry.Kind.MIXED, Registry.Form.EQUALS, 8);
+        String[] commandLine = new String[arguments.length + 2];
+        commandLine[0] = "-verbose";
+        commandLine[1] = "command" + COMMANDS / 2;
+        System.arraycopy(arguments, 0, commandLine, 2, arguments.length);
+        return commandLine;
+    }
+}
@@ -0,0 +1,106 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.CompletionDaemon;
+import net.gudenau.lib.argument.CompletionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures shell completion, the lookups of the index alone and a full
+ * round trip to the daemon over loopback TCP like the bash function
+ * makes it, connection setup included.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class CompletionBenchmark{
+    /**
+     * The number of registered arguments.
+     * */
+    @Param({"10", "1000"})
+    public int size;
+    
+    private CompletionIndex index;
+    private List<String> optionWords;
+    private List<String> valueWords;
+    
+    private Path directory;
+    private CompletionDaemon daemon;
+    private InetSocketAddress address;
+    private byte[] request;
+    
+    @Setup
+    public void setup() throws IOException{
+        ArgumentParser parser = Registry.create(size);
+        index = parser.createCompletionIndex();
+        optionWords = Arrays.asList("-" + Registry.nameOf(size - 1));
+        valueWords = Arrays.asList("-" + Registry.nameOf(2), "f");
+        
+        directory = Files.createTempDirectory("completion");
+        daemon = new CompletionDaemon(directory.resolve("port"))
+            .setUnixDomain(false)
+            .register("tool", index)
+            .start();
+        List<String> lines = Files.readAllLines(daemon.getPath(), StandardCharsets.US_ASCII);
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(lines.get(0)));
+        request = (lines.get(1) + "\0/\0tool\0" + "1\0" + optionWords.get(0) + "\0").getBytes(StandardCharsets.UTF_8);
+        
+        if(index.complete(valueWords).isEmpty() || roundTrip() == 0){
+            throw new IllegalStateException("No completions");
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException{
+        daemon.close();
+        Files.deleteIfExists(directory);
+    }
+    
+    @Benchmark
+    public List<String> option(){
+        return index.complete(optionWords);
+    }
+    
+    @Benchmark
+    public List<String> enumValue(){
+        return index.complete(valueWords);
+    }
+    
+    @Benchmark
+    public int roundTrip() throws IOException{
+        try(SocketChannel channel = SocketChannel.open(address)){
+            channel.write(ByteBuffer.wrap(request));
+            ByteBuffer response = ByteBuffer.allocate(4096);
+            int total = 0;
+            for(int read; (read = channel.read(response)) > 0; total += read){
+                response.clear();
+            }
+            return total;
+        }
+    }
+}
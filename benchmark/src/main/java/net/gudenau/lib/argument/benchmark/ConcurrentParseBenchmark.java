@@ -0,0 +1,74 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of a single {@link ArgumentParser} shared between threads.
+ *
+ * Compare the scores of the parseN methods, with enough cores the
+ * throughput should grow linearly with the thread count.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ConcurrentParseBenchmark{
+    @Param({"300"})
+    public int registrySize;
+    
+    private ArgumentParser parser;
+    private String[] arguments;
+    
+    @Setup
+    public void setup(){
+        parser = Registry.create(registrySize);
+        arguments = Registry.arguments(registrySize, Registry.Kind.MIXED, Registry.Form.EQUALS, 8);
+        parser.parse(arguments);
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public ArgumentResult parse1(){
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    @Threads(2)
+    public ArgumentResult parse2(){
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public ArgumentResult parse4(){
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public ArgumentResult parse8(){
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    @Threads(Threads.MAX)
+    public ArgumentResult parseMax(){
+        return parser.parse(arguments);
+    }
+}
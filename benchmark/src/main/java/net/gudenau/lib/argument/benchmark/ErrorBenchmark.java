@@ -0,0 +1,108 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import net.gudenau.lib.argument.Diagnostics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link ArgumentParser#parse(String[])} and
+ * {@link ArgumentParser#tryParse(String[], Diagnostics)} on invalid
+ * command lines.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ErrorBenchmark{
+    /**
+     * The kinds of errors.
+     * */
+    public enum Failure{
+        /**
+         * A token that is not an option.
+         * */
+        ILLEGAL("-required=present", "positional"),
+        /**
+         * An option that is not registered.
+         * */
+        UNKNOWN("-required=present", "-missingOption=1"),
+        /**
+         * A misspelled option, the message suggests the right one.
+         * */
+        TYPO("-required=present", "-optoin1=1"),
+        /**
+         * A value with characters that are not allowed.
+         * */
+        MALFORMED("-required=present", "-option1=a,b"),
+        /**
+         * A value the argument can not convert.
+         * */
+        CONVERSION("-required=present", "-option4=notANumber"),
+        /**
+         * A required argument that was not passed.
+         * */
+        MISSING("-option0");
+        
+        private final String[] arguments;
+        
+        Failure(String... arguments){
+            this.arguments = arguments;
+        }
+    }
+    
+    @Param({"ILLEGAL", "UNKNOWN", "TYPO", "MALFORMED", "CONVERSION", "MISSING"})
+    public Failure failure;
+    
+    @Param({"300", "10000"})
+    public int registrySize;
+    
+    private ArgumentParser parser;
+    private String[] arguments;
+    private final Diagnostics diagnostics = new Diagnostics();
+    
+    @Setup
+    public void setup(){
+        parser = Registry.create(registrySize)
+            .registerStringArgument("required", true);
+        arguments = failure.arguments;
+        
+        if(parser.tryParse(arguments, diagnostics) != null){
+            throw new IllegalStateException(failure + " did not fail");
+        }
+        try{
+            parser.parse(arguments);
+        }catch(IllegalArgumentException ignored){
+            return;
+        }
+        throw new IllegalStateException(failure + " did not fail");
+    }
+    
+    @Benchmark
+    public Object parse(){
+        try{
+            return parser.parse(arguments);
+        }catch(IllegalArgumentException e){
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public Object tryParse(){
+        ArgumentResult result = parser.tryParse(arguments, diagnostics);
+        return result != null ? result : diagnostics;
+    }
+}
@@ -0,0 +1,127 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.Arguments;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the numeric arguments against the JDK parsers, both
+ * convert the value out of a whole "-name=value" token.
+ *
+ * The JDK side has to create a substring first. Sizes have no JDK
+ * parser, so the usual lower case and split conversion stands in for
+ * it. Durations are compared against {@link Duration#parse(CharSequence)}.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class NumberBenchmark{
+    /**
+     * The kinds of numbers.
+     * */
+    public enum Kind{
+        /**
+         * A decimal int.
+         * */
+        INT("-count=1234567", Arguments.integer(0, false)),
+        /**
+         * A decimal long.
+         * */
+        LONG("-offset=9000000000123", Arguments.longInteger(0, false)),
+        /**
+         * A hex long.
+         * */
+        HEX("-mask=0x7fff0000ffff", Arguments.longInteger(0, false)),
+        /**
+         * A plain decimal double.
+         * */
+        DOUBLE("-ratio=3.14159", Arguments.decimal(0, false)),
+        /**
+         * A size with a unit.
+         * */
+        SIZE("-heap=512m", Arguments.size(0, false)),
+        /**
+         * A duration with two units.
+         * */
+        DURATION("-timeout=1h30m", Arguments.duration(0, false));
+        
+        private final String token;
+        private final Argument<?> argument;
+        
+        Kind(String token, Argument<?> argument){
+            this.token = token;
+            this.argument = argument;
+        }
+    }
+    
+    @Param({"INT", "LONG", "HEX", "DOUBLE", "SIZE", "DURATION"})
+    public Kind kind;
+    
+    private String token;
+    private int start;
+    private Argument<?> argument;
+    
+    @Setup
+    public void setup(){
+        token = kind.token;
+        start = token.indexOf('=') + 1;
+        argument = kind.argument;
+    }
+    
+    @Benchmark
+    public long jdk(){
+        String value = token.substring(start);
+        switch(kind){
+            case INT: return Integer.parseInt(value);
+            case LONG: return Long.parseLong(value);
+            case HEX: return Long.parseLong(value.substring(2), 16);
+            case DOUBLE: return Double.doubleToRawLongBits(Double.parseDouble(value));
+            case SIZE: return parseSize(value);
+            default: return Duration.parse("PT" + value.toUpperCase(Locale.ROOT)).toNanos();
+        }
+    }
+    
+    @Benchmark
+    public long library(){
+        int end = token.length();
+        switch(kind){
+            case INT: return ((Argument.OfInt)argument).parseInt(token, start, end);
+            case DOUBLE: return Double.doubleToRawLongBits(((Argument.OfDouble)argument).parseDouble(token, start, end));
+            default: return ((Argument.OfLong)argument).parseLong(token, start, end);
+        }
+    }
+    
+    /**
+     * The kind of size conversion applications write themselves.
+     * */
+    private static long parseSize(String value){
+        String lower = value.toLowerCase(Locale.ROOT);
+        int unit = 0;
+        while(unit < lower.length() && Character.isDigit(lower.charAt(unit))){
+            unit++;
+        }
+        long number = Long.parseLong(lower.substring(0, unit));
+        switch(lower.substring(unit)){
+            case "k": return number << 10;
+            case "m": return number << 20;
+            case "g": return number << 30;
+            default: return number;
+        }
+    }
+}
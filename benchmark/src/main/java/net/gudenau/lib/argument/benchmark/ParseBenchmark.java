@@ -0,0 +1,56 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Steady state throughput of {@link ArgumentParser#parse(String[])}.
+ *
+ * Every command line passes eight arguments of the selected kind,
+ * spread over the whole registry.
+ * */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class ParseBenchmark{
+    @Param({"10", "300", "5000"})
+    public int registrySize;
+    
+    @Param({"EQUALS", "SEPARATE"})
+    public Registry.Form form;
+    
+    @Param({"FLAG", "STRING", "ENUM", "FILE", "INTEGER", "DOUBLE", "MIXED"})
+    public Registry.Kind kind;
+    
+    private ArgumentParser parser;
+    private String[] arguments;
+    
+    @Setup
+    public void setup(){
+        parser = Registry.create(registrySize);
+        arguments = Registry.arguments(registrySize, kind, form, 8);
+        
+        // Make sure the command line is valid
+        parser.parse(arguments);
+    }
+    
+    @Benchmark
+    public ArgumentResult parse(){
+        return parser.parse(arguments);
+    }
+}
@@ -0,0 +1,87 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.ArgumentResult;
+import net.gudenau.lib.argument.PathCheck;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a parse that checks a list of existing files, on the
+ * parsing thread alone and spread over workers. Point the
+ * "pathCheck.directory" property at a network file system to see the
+ * latency that the workers hide, a local one is mostly cached.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PathCheckBenchmark{
+    /**
+     * The number of files on the command line.
+     * */
+    @Param({"10", "1000"})
+    public int files;
+    
+    /**
+     * The number of paths that are checked at the same time.
+     * */
+    @Param({"1", "32"})
+    public int parallelism;
+    
+    private Path directory;
+    private ArgumentParser parser;
+    private String[] arguments;
+    
+    @Setup
+    public void setup() throws IOException{
+        String base = System.getProperty("pathCheck.directory");
+        directory = base == null ? Files.createTempDirectory("paths") : Files.createTempDirectory(Path.of(base), "paths");
+        StringBuilder list = new StringBuilder();
+        for(int i = 0; i < files; i++){
+            Path file = Files.createFile(directory.resolve("file" + i));
+            if(i != 0){
+                list.append(File.pathSeparatorChar);
+            }
+            list.append(file);
+        }
+        
+        parser = new ArgumentParser()
+            .registerPathListArgument("files", PathCheck.EXISTS, PathCheck.READABLE)
+            .setPathCheckParallelism(parallelism);
+        arguments = new String[]{"-files", list.toString()};
+        if(parse().getPaths("files").length != files){
+            throw new IllegalStateException("Missing files");
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException{
+        for(int i = 0; i < files; i++){
+            Files.deleteIfExists(directory.resolve("file" + i));
+        }
+        Files.deleteIfExists(directory);
+    }
+    
+    @Benchmark
+    public ArgumentResult parse(){
+        return parser.parse(arguments);
+    }
+}
@@ -0,0 +1,134 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.EnumArgument;
+
+/**
+ * Builds the argument registries and command lines the benchmarks use.
+ *
+ * Argument "optionN" has the kind {@code Kind.values()[N % 6]}, so every
+ * registry with at least six arguments contains every kind.
+ * */
+public final class Registry{
+    private Registry(){}
+    
+    /**
+     * The kinds of arguments in a registry.
+     * */
+    public enum Kind{
+        FLAG(null),
+        STRING("value"),
+        ENUM("fast"),
+        FILE("/tmp/input/file.txt"),
+        INTEGER("12345"),
+        DOUBLE("3.25"),
+        /**
+         * Every kind, only valid for command lines.
+         * */
+        MIXED(null);
+        
+        private final String value;
+        
+        Kind(String value){
+            this.value = value;
+        }
+        
+        private static final Kind[] ARGUMENT_KINDS = {FLAG, STRING, ENUM, FILE, INTEGER, DOUBLE};
+    }
+    
+    /**
+     * How values are passed.
+     * */
+    public enum Form{
+        /**
+         * -name=value
+         * */
+        EQUALS,
+        /**
+         * -name value
+         * */
+        SEPARATE
+    }
+    
+    /**
+     * A simple enum for the enum arguments.
+     * */
+    enum Speed implements EnumArgument{
+        SLOW("slow"),
+        NORMAL("normal"),
+        FAST("fast");
+        
+        private final String name;
+        
+        Speed(String name){
+            this.name = name;
+        }
+        
+        @Override
+        public String getArgumentName(){
+            return name;
+        }
+    }
+    
+    static Kind kindOf(int index){
+        return Kind.ARGUMENT_KINDS[index % Kind.ARGUMENT_KINDS.length];
+    }
+    
+    static String nameOf(int index){
+        return "option" + index;
+    }
+    
+    /**
+     * Creates a parser with the given amount of arguments.
+     * */
+    static ArgumentParser create(int size){
+        ArgumentParser parser = new ArgumentParser();
+        for(int i = 0; i < size; i++){
+            String name = nameOf(i);
+            switch(kindOf(i)){
+                case FLAG: parser.registerFlagArgument(name); break;
+                case STRING: parser.registerStringArgument(name); break;
+                case ENUM: parser.registerEnumArgument(name, Speed.class); break;
+                case FILE: parser.registerFileArgument(name); break;
+                case INTEGER: parser.registerIntegerArgument(name); break;
+                case DOUBLE: parser.registerDoubleArgument(name); break;
+                default: throw new IllegalStateException();
+            }
+        }
+        return parser;
+    }
+    
+    /**
+     * Creates a command line that passes count arguments of a kind,
+     * spread over the whole registry.
+     * */
+    static String[] arguments(int size, Kind kind, Form form, int count){
+        List<Integer> candidates = new ArrayList<>();
+        for(int i = 0; i < size; i++){
+            if(kind == Kind.MIXED || kindOf(i) == kind){
+                candidates.add(i);
+            }
+        }
+        if(candidates.isEmpty()){
+            throw new IllegalArgumentException("Registry of " + size + " has no " + kind + " arguments");
+        }
+        
+        List<String> arguments = new ArrayList<>();
+        for(int i = 0; i < count; i++){
+            int index = candidates.get((int)((long)i * candidates.size() / count));
+            Kind argumentKind = kindOf(index);
+            String name = "-" + nameOf(index);
+            if(argumentKind == Kind.FLAG){
+                arguments.add(name);
+            }else if(form == Form.EQUALS){
+                arguments.add(name + "=" + argumentKind.value);
+            }else{
+                arguments.add(name);
+                arguments.add(argumentKind.value);
+            }
+        }
+        return arguments.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,65 @@
+package net.gudenau.lib.argument.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ArgumentResult;
+import net.gudenau.lib.argument.ArgumentSnapshot;
+import net.gudenau.lib.argument.CompiledArgumentParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing a command line against decoding the snapshot of its
+ * result, what a child process does instead of parsing again.
+ * */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark{
+    @Param({"10", "300"})
+    public int registrySize;
+    
+    /**
+     * The number of arguments passed.
+     * */
+    @Param({"8", "64"})
+    public int count;
+    
+    private CompiledArgumentParser parser;
+    private String[] arguments;
+    private ByteBuffer snapshot;
+    
+    @Setup
+    public void setup(){
+        parser = Registry.create(registrySize).compile();
+        arguments = Registry.arguments(registrySize, Registry.Kind.MIXED, Registry.Form.SEPARATE, count);
+        snapshot = ArgumentSnapshot.encode(parser.parse(arguments));
+    }
+    
+    @Benchmark
+    public ArgumentResult parse(){
+        return parser.parse(arguments);
+    }
+    
+    @Benchmark
+    public ArgumentResult decode(){
+        return ArgumentSnapshot.decode(parser, snapshot);
+    }
+    
+    @Benchmark
+    public ByteBuffer encode(){
+        return ArgumentSnapshot.encode(parser.parse(arguments));
+    }
+}
@@ -0,0 +1,490 @@
+package net.gudenau.lib.argument.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a dedicated parser for every class with
+ * {@code net.gudenau.lib.argument.Option} fields.
+ *
+ * For a class {@code Config} the processor writes {@code ConfigParser}
+ * into the same package. The generated parser matches option names
+ * with a string switch and writes the values straight into the fields,
+ * there is no map, no regular expression and no reflection. Values are
+ * converted by the built in arguments from {@code Arguments}, so they
+ * behave exactly like they do in {@code ArgumentParser}.
+ *
+ * The fields can not be private, since the parser lives next to the
+ * class and assigns them directly. The supported field types are the
+ * same as the ones of {@code ArgumentBinder}.
+ * */
+public final class OptionProcessor extends AbstractProcessor{
+    private static final String OPTION = "net.gudenau.lib.argument.Option";
+    private static final String ENUM_ARGUMENT = "net.gudenau.lib.argument.EnumArgument";
+    private static final String ARGUMENT = "net.gudenau.lib.argument.Argument";
+    private static final String ARGUMENTS = "net.gudenau.lib.argument.Arguments";
+    
+    /**
+     * The ways a field can be assigned.
+     * */
+    private enum Kind{
+        INT,
+        LONG,
+        DOUBLE,
+        FLAG,
+        OBJECT
+    }
+    
+    /**
+     * A single option field.
+     * */
+    private static final class Field{
+        private final String name;
+        private final String field;
+        private final boolean required;
+        private final Kind kind;
+        private final String argumentType;
+        private final String factory;
+        
+        private Field(String name, String field, boolean required, Kind kind, String argumentType, String factory){
+            this.name = name;
+            this.field = field;
+            this.required = required;
+            this.kind = kind;
+            this.argumentType = argumentType;
+            this.factory = factory;
+        }
+    }
+    
+    @Override
+    public Set<String> getSupportedAnnotationTypes(){
+        return Collections.singleton(OPTION);
+    }
+    
+    @Override
+    public SourceVersion getSupportedSourceVersion(){
+        return SourceVersion.latestSupported();
+    }
+    
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment){
+        TypeElement option = processingEnv.getElementUtils().getTypeElement(OPTION);
+        if(option == null){
+            return false;
+        }
+        
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for(Element element : roundEnvironment.getElementsAnnotatedWith(option)){
+            Element enclosing = element.getEnclosingElement();
+            if(element.getKind() == ElementKind.FIELD && enclosing.getKind() == ElementKind.CLASS){
+                types.add((TypeElement)enclosing);
+            }
+        }
+        for(TypeElement type : types){
+            generate(type);
+        }
+        return true;
+    }
+    
+    private void generate(TypeElement type){
+        Messager messager = processingEnv.getMessager();
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement typePackage = elements.getPackageOf(type);
+        
+        // Superclass options come first, like in ArgumentBinder
+        Deque<TypeElement> hierarchy = new ArrayDeque<>();
+        for(TypeElement current = type; current != null; current = superclass(current)){
+            hierarchy.push(current);
+        }
+        
+        List<Field> fields = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        boolean valid = true;
+        for(TypeElement current : hierarchy){
+            for(VariableElement element : ElementFilter.fieldsIn(current.getEnclosedElements())){
+                AnnotationMirror mirror = optionOf(element);
+                if(mirror == null){
+                    continue;
+                }
+                Field field = field(element, mirror, typePackage);
+                if(field == null){
+                    valid = false;
+                }else if(!names.add(field.name)){
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Duplicate option name \"" + field.name + "\"", element);
+                    valid = false;
+                }else{
+                    fields.add(field);
+                }
+            }
+        }
+        if(!valid){
+            return;
+        }
+        
+        String packageName = typePackage.isUnnamed() ? "" : typePackage.getQualifiedName().toString();
+        String parserName = parserName(type);
+        String qualifiedName = packageName.isEmpty() ? parserName : packageName + '.' + parserName;
+        try(Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()){
+            writer.write(source(type, packageName, parserName, fields));
+        }catch(IOException e){
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e.getMessage(), type);
+        }
+    }
+    
+    private TypeElement superclass(TypeElement type){
+        TypeMirror superclass = type.getSuperclass();
+        if(superclass.getKind() != TypeKind.DECLARED){
+            return null;
+        }
+        TypeElement element = (TypeElement)((DeclaredType)superclass).asElement();
+        return element.getQualifiedName().contentEquals("java.lang.Object") ? null : element;
+    }
+    
+    private AnnotationMirror optionOf(Element element){
+        for(AnnotationMirror mirror : element.getAnnotationMirrors()){
+            TypeElement annotation = (TypeElement)mirror.getAnnotationType().asElement();
+            if(annotation.getQualifiedName().contentEquals(OPTION)){
+                return mirror;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Checks a field and picks its argument, reports an error and returns
+     * null if the field can not be used.
+     * */
+    private Field field(VariableElement element, AnnotationMirror mirror, PackageElement typePackage){
+        Messager messager = processingEnv.getMessager();
+        Set<Modifier> modifiers = element.getModifiers();
+        if(modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)){
+            messager.printMessage(Diagnostic.Kind.ERROR, "Option fields can not be static or final", element);
+            return null;
+        }
+        boolean samePackage = processingEnv.getElementUtils().getPackageOf(element).equals(typePackage);
+        if(modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))){
+            messager.printMessage(Diagnostic.Kind.ERROR, "Option fields have to be accessible from the package of the generated parser", element);
+            return null;
+        }
+        
+        String fieldName = element.getSimpleName().toString();
+        String name = fieldName;
+        boolean required = false;
+        for(Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()){
+            String key = entry.getKey().getSimpleName().toString();
+            Object value = entry.getValue().getValue();
+            if(key.equals("name") && !((String)value).isEmpty()){
+                name = (String)value;
+            }else if(key.equals("required")){
+                required = (Boolean)value;
+            }
+        }
+        for(int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            if(!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))){
+                messager.printMessage(Diagnostic.Kind.ERROR, "Option name \"" + name + "\" is not alphanumeric", element);
+                return null;
+            }
+        }
+        
+        TypeMirror type = element.asType();
+        String typeName = processingEnv.getTypeUtils().erasure(type).toString();
+        switch(typeName){
+            case "int":
+            case "java.lang.Integer":
+                return new Field(name, fieldName, required, Kind.INT, ARGUMENT + ".OfInt", ARGUMENTS + ".integer(0, " + required + ")");
+            case "long":
+            case "java.lang.Long":
+                return new Field(name, fieldName, required, Kind.LONG, ARGUMENT + ".OfLong", ARGUMENTS + ".longInteger(0, " + required + ")");
+            case "double":
+            case "java.lang.Double":
+                return new Field(name, fieldName, required, Kind.DOUBLE, ARGUMENT + ".OfDouble", ARGUMENTS + ".decimal(0, " + required + ")");
+            case "boolean":
+            case "java.lang.Boolean":
+                if(required){
+                    messager.printMessage(Diagnostic.Kind.ERROR, "Flag options can not be required", element);
+                    return null;
+                }
+                return new Field(name, fieldName, false, Kind.FLAG, null, null);
+            case "java.lang.String":
+                return new Field(name, fieldName, required, Kind.OBJECT, ARGUMENT + "<java.lang.String>", ARGUMENTS + ".string(null, " + required + ")");
+            case "java.io.File":
+                return new Field(name, fieldName, required, Kind.OBJECT, ARGUMENT + "<java.io.File>", ARGUMENTS + ".file(null, " + required + ")");
+            default:
+                if(isEnumArgument(type)){
+                    return new Field(name, fieldName, required, Kind.OBJECT, ARGUMENT + "<" + typeName + ">", ARGUMENTS + ".enumeration(null, " + required + ", " + typeName + ".class)");
+                }
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unsupported option type " + typeName, element);
+                return null;
+        }
+    }
+    
+    private boolean isEnumArgument(TypeMirror type){
+        if(type.getKind() != TypeKind.DECLARED){
+            return false;
+        }
+        Element element = ((DeclaredType)type).asElement();
+        TypeElement enumArgument = processingEnv.getElementUtils().getTypeElement(ENUM_ARGUMENT);
+        Types types = processingEnv.getTypeUtils();
+        return element.getKind() == ElementKind.ENUM &&
+            enumArgument != null &&
+            types.isAssignable(type, enumArgument.asType());
+    }
+    
+    /**
+     * Gets the name of the parser, nested classes are joined with
+     * underscores.
+     * */
+    private static String parserName(TypeElement type){
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for(Element current = type.getEnclosingElement(); current instanceof TypeElement; current = current.getEnclosingElement()){
+            name.insert(0, '_').insert(0, current.getSimpleName());
+        }
+        return name.append("Parser").toString();
+    }
+    
+    /**
+     * Checks if the class can be created by the parser.
+     * */
+    private static boolean canCreate(TypeElement type){
+        if(type.getModifiers().contains(Modifier.ABSTRACT)){
+            return false;
+        }
+        if(type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)){
+            return false;
+        }
+        for(ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())){
+            if(constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)){
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static String source(TypeElement type, String packageName, String parserName, List<Field> fields){
+        String typeName = type.getQualifiedName().toString();
+        String visibility = type.getModifiers().contains(Modifier.PUBLIC) ? "public " : "";
+        Source source = new Source();
+        
+        if(!packageName.isEmpty()){
+            source.line("package " + packageName + ";");
+            source.line("");
+        }
+        source.line("/**");
+        source.line(" * The parser for {@link " + typeName + "}, generated from its options.");
+        source.line(" *");
+        source.line(" * Generated by " + OptionProcessor.class.getName() + ", do not edit.");
+        source.line(" * */");
+        source.line(visibility + "final class " + parserName + "{");
+        source.indent();
+        for(Field field : fields){
+            // Flags have nothing to convert
+            if(field.kind == Kind.FLAG){
+                continue;
+            }
+            source.line("private static final " + field.argumentType + " OPTION_" + field.name + " = " + field.factory + ";");
+        }
+        source.line("");
+        source.line("private " + parserName + "(){}");
+        source.line("");
+        
+        if(canCreate(type)){
+            source.line("/**");
+            source.line(" * Parses a command line into a new instance.");
+            source.line(" *");
+            source.line(" * @param arguments The command line");
+            source.line(" *");
+            source.line(" * @return The new instance");
+            source.line(" * */");
+            source.line("public static " + typeName + " parse(String[] arguments){");
+            source.indent();
+            source.line("return parse(arguments, new " + typeName + "());");
+            source.outdent();
+            source.line("}");
+            source.line("");
+        }
+        
+        source.line("/**");
+        source.line(" * Parses a command line into an existing instance, fields of absent");
+        source.line(" * options keep their value.");
+        source.line(" *");
+        source.line(" * @param arguments The command line");
+        source.line(" * @param target The instance");
+        source.line(" *");
+        source.line(" * @return The instance");
+        source.line(" * */");
+        source.line("public static " + typeName + " parse(String[] arguments, " + typeName + " target){");
+        source.indent();
+        for(Field field : fields){
+            if(field.required){
+                source.line("boolean present_" + field.name + " = false;");
+            }
+        }
+        source.line("for(int i = 0; i < arguments.length; i++){");
+        source.indent();
+        source.line("String current = arguments[i];");
+        source.line("int nameStart = 0;");
+        source.line("while(nameStart < current.length() && current.charAt(nameStart) == '-'){");
+        source.line("    nameStart++;");
+        source.line("}");
+        source.line("if(nameStart == 0){");
+        source.line("    throw new IllegalArgumentException(\"Illegal argument: \" + current);");
+        source.line("}");
+        source.line("int nameEnd = nameStart;");
+        source.line("while(nameEnd < current.length() && isNameChar(current.charAt(nameEnd))){");
+        source.line("    nameEnd++;");
+        source.line("}");
+        source.line("if(nameStart == nameEnd){");
+        source.line("    throw new IllegalArgumentException(\"Illegal argument:\" + current);");
+        source.line("}");
+        source.line("");
+        source.line("String name = current.substring(nameStart, nameEnd);");
+        source.line("boolean equals = current.indexOf('=', nameEnd) != -1;");
+        source.line("String source = current;");
+        source.line("int start = nameEnd + 1;");
+        source.line("int end = equals ? valueEnd(current, nameEnd) : -1;");
+        source.line("switch(name){");
+        source.indent();
+        for(Field field : fields){
+            source.line("case \"" + field.name + "\":");
+            source.indent();
+            if(field.kind == Kind.FLAG){
+                source.line("if(equals){");
+                source.line("    throw new IllegalArgumentException(\"" + field.name + " can not have a value!\");");
+                source.line("}");
+                source.line("target." + field.field + " = true;");
+            }else{
+                source.line("if(!equals){");
+                source.line("    if(++i == arguments.length){");
+                source.line("        throw new IllegalArgumentException(\"Malformed param: \" + current);");
+                source.line("    }");
+                source.line("    source = arguments[i];");
+                source.line("    start = 0;");
+                source.line("    end = source.length();");
+                source.line("}else if(end == -1){");
+                source.line("    throw new IllegalArgumentException(\"Malformed param: \" + current);");
+                source.line("}");
+                String option = "OPTION_" + field.name;
+                switch(field.kind){
+                    case INT: source.line("target." + field.field + " = " + option + ".parseInt(source, start, end);"); break;
+                    case LONG: source.line("target." + field.field + " = " + option + ".parseLong(source, start, end);"); break;
+                    case DOUBLE: source.line("target." + field.field + " = " + option + ".parseDouble(source, start, end);"); break;
+                    default: source.line("target." + field.field + " = " + option + ".getValue(source, start, end);"); break;
+                }
+                if(field.required){
+                    source.line("present_" + field.name + " = true;");
+                }
+            }
+            source.line("break;");
+            source.outdent();
+        }
+        source.line("default:");
+        source.line("    throw new IllegalArgumentException(\"Unknown argument \\\"\" + name + \"\\\"\");");
+        source.outdent();
+        source.line("}");
+        source.outdent();
+        source.line("}");
+        for(Field field : fields){
+            if(field.required){
+                source.line("if(!present_" + field.name + "){");
+                source.line("    throw new IllegalArgumentException(\"Required param is missing\");");
+                source.line("}");
+            }
+        }
+        source.line("return target;");
+        source.outdent();
+        source.line("}");
+        source.line("");
+        
+        // The same rules as the tokenizer of the library
+        source.line("/**");
+        source.line(" * Finds the end of a well formed value that directly follows the name,");
+        source.line(" * or -1 if there is none.");
+        source.line(" * */");
+        source.line("private static int valueEnd(String token, int nameEnd){");
+        source.indent();
+        source.line("int end = token.length();");
+        source.line("if(end > 0){");
+        source.line("    char last = token.charAt(end - 1);");
+        source.line("    if(last == '\\n'){");
+        source.line("        end -= end > 1 && token.charAt(end - 2) == '\\r' ? 2 : 1;");
+        source.line("    }else if(last == '\\r' || last == '\\u0085' || last == '\\u2028' || last == '\\u2029'){");
+        source.line("        end--;");
+        source.line("    }");
+        source.line("}");
+        source.line("if(nameEnd + 1 >= end || token.charAt(nameEnd) != '='){");
+        source.line("    return -1;");
+        source.line("}");
+        source.line("for(int i = nameEnd + 1; i < end; i++){");
+        source.line("    char c = token.charAt(i);");
+        source.line("    if(!isNameChar(c) && c != ' ' && c != '/' && c != '\\\\' && c != '_' && c != '\"' && c != '\\'' && c != '.'){");
+        source.line("        return -1;");
+        source.line("    }");
+        source.line("}");
+        source.line("return end;");
+        source.outdent();
+        source.line("}");
+        source.line("");
+        source.line("private static boolean isNameChar(char c){");
+        source.line("    return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');");
+        source.line("}");
+        source.outdent();
+        source.line("}");
+        return source.toString();
+    }
+    
+    /**
+     * A small helper for writing indented source code.
+     * */
+    private static final class Source{
+        private final StringBuilder builder = new StringBuilder();
+        private String indent = "";
+        
+        void line(String line){
+            builder.append(indent).append(line).append('\n');
+        }
+        
+        void indent(){
+            indent += "    ";
+        }
+        
+        void outdent(){
+            indent = indent.substring(4);
+        }
+        
+        @Override
+        public String toString(){
+            return builder.toString();
+        }
+    }
+}
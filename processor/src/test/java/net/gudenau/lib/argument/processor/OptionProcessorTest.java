@@ -0,0 +1,266 @@
+package net.gudenau.lib.argument.processor;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import net.gudenau.lib.argument.ArgumentBinder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptionProcessorTest{
+    private static final String MODE = String.join("\n",
+        "package sample;",
+        "",
+        "public enum Mode implements net.gudenau.lib.argument.EnumArgument{",
+        "    FAST, SAFE;",
+        "",
+        "    @Override",
+        "    public String getArgumentName(){",
+        "        return name().toLowerCase();",
+        "    }",
+        "}"
+    );
+    
+    private static final String BASE = String.join("\n",
+        "package sample;",
+        "",
+        "import net.gudenau.lib.argument.Option;",
+        "",
+        "public class Base{",
+        "    @Option",
+        "    boolean verbose;",
+        "}"
+    );
+    
+    private static final String CONFIG = String.join("\n",
+        "package sample;",
+        "",
+        "import java.io.File;",
+        "import net.gudenau.lib.argument.Option;",
+        "",
+        "public class Config extends Base{",
+        "    @Option",
+        "    int threads = 4;",
+        "    @Option",
+        "    long limit;",
+        "    @Option",
+        "    double ratio;",
+        "    @Option",
+        "    Integer boxed;",
+        "    @Option(name = \"host\", required = true)",
+        "    String hostName;",
+        "    @Option",
+        "    File out;",
+        "    @Option",
+        "    Mode mode;",
+        "}"
+    );
+    
+    @TempDir
+    Path output;
+    
+    /**
+     * A source file that lives in memory.
+     * */
+    private static final class Source extends SimpleJavaFileObject{
+        private final String code;
+        
+        private Source(String name, String code){
+            super(URI.create("string:///" + name.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.code = code;
+        }
+        
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors){
+            return code;
+        }
+    }
+    
+    private DiagnosticCollector<JavaFileObject> compile(boolean success, Source... sources) throws IOException{
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try(StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)){
+            files.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            files.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                null, files, diagnostics,
+                Arrays.asList("-classpath", System.getProperty("java.class.path")),
+                null, Arrays.asList(sources)
+            );
+            task.setProcessors(Collections.singletonList(new OptionProcessor()));
+            assertEquals(success, task.call(), ()->describe(diagnostics));
+        }
+        return diagnostics;
+    }
+    
+    private static String describe(DiagnosticCollector<JavaFileObject> diagnostics){
+        return diagnostics.getDiagnostics().stream()
+            .map((diagnostic)->diagnostic.getMessage(Locale.ROOT))
+            .collect(Collectors.joining("\n"));
+    }
+    
+    private static List<String> errors(DiagnosticCollector<JavaFileObject> diagnostics){
+        List<String> errors = new ArrayList<>();
+        for(Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()){
+            if(diagnostic.getKind() == Diagnostic.Kind.ERROR){
+                errors.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+        return errors;
+    }
+    
+    private ClassLoader compileSample() throws IOException{
+        compile(true, new Source("sample.Mode", MODE), new Source("sample.Base", BASE), new Source("sample.Config", CONFIG));
+        assertTrue(Files.exists(output.resolve("sample").resolve("ConfigParser.java")));
+        return new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader());
+    }
+    
+    /**
+     * Parses with the generated parser, returns the fields or the
+     * message of the exception.
+     * */
+    private static String generated(Method parse, String[] arguments) throws IllegalAccessException{
+        try{
+            return fields(parse.invoke(null, (Object)arguments));
+        }catch(InvocationTargetException e){
+            return "error: " + e.getCause().getMessage();
+        }
+    }
+    
+    private static String binder(ArgumentBinder<?> binder, String[] arguments) throws IllegalAccessException{
+        try{
+            return fields(binder.parse(arguments));
+        }catch(IllegalArgumentException e){
+            return "error: " + e.getMessage();
+        }
+    }
+    
+    private static String fields(Object instance) throws IllegalAccessException{
+        StringBuilder builder = new StringBuilder();
+        for(Class<?> type = instance.getClass(); type != Object.class; type = type.getSuperclass()){
+            for(Field field : type.getDeclaredFields()){
+                if(!Modifier.isStatic(field.getModifiers())){
+                    field.setAccessible(true);
+                    builder.append(field.getName()).append('=').append(field.get(instance)).append(' ');
+                }
+            }
+        }
+        return builder.toString();
+    }
+    
+    @Test
+    void generatedParsersParse() throws Exception{
+        Method parse = compileSample().loadClass("sample.ConfigParser").getMethod("parse", String[].class);
+        
+        String result = generated(parse, new String[]{
+            "-threads=8", "-limit=5000000000", "-ratio=0.5", "-boxed=3",
+            "-host=example.com", "-out=a/b", "-mode=safe", "-verbose"
+        });
+        assertEquals("threads=8 limit=5000000000 ratio=0.5 boxed=3 hostName=example.com out=a/b mode=SAFE verbose=true ", result);
+        
+        assertEquals("threads=4 limit=0 ratio=0.0 boxed=null hostName=h out=null mode=null verbose=false ", generated(parse, new String[]{"-host=h"}));
+        assertEquals("threads=2 limit=0 ratio=0.0 boxed=null hostName=h out=null mode=null verbose=false ", generated(parse, new String[]{"-host", "h", "--threads", "2"}));
+    }
+    
+    @Test
+    void generatedParsersReportErrors() throws Exception{
+        Method parse = compileSample().loadClass("sample.ConfigParser").getMethod("parse", String[].class);
+        assertEquals("error: Unknown argument \"bogus\"", generated(parse, new String[]{"-host=h", "-bogus"}));
+        assertEquals("error: Malformed param: -threads=a-b", generated(parse, new String[]{"-host=h", "-threads=a-b"}));
+        assertEquals("error: Malformed param: -threads", generated(parse, new String[]{"-host=h", "-threads"}));
+        assertEquals("error: verbose can not have a value!", generated(parse, new String[]{"-host=h", "-verbose=1"}));
+        assertEquals("error: Illegal argument: host", generated(parse, new String[]{"host"}));
+        // Like the library, an option without a name has no space in the message
+        assertEquals("error: Illegal argument:-", generated(parse, new String[]{"-"}));
+        assertEquals("error: Required param is missing", generated(parse, new String[]{"-threads=1"}));
+    }
+    
+    @Test
+    void generatedParsersMatchTheBinder() throws Exception{
+        ClassLoader loader = compileSample();
+        Method parse = loader.loadClass("sample.ConfigParser").getMethod("parse", String[].class);
+        ArgumentBinder<?> binder = ArgumentBinder.of(loader.loadClass("sample.Config"));
+        
+        String[] tokens = {
+            "-threads=8", "-threads", "12", "--threads=3", "-threads=9999999999", "-threads=x",
+            "-limit=5000000000", "-ratio=0.25", "-ratio=1e3", "-boxed=7",
+            "-verbose", "-verbose=1", "-host=a", "-host", "b c", "-host=a b\n", "-host=a-b",
+            "-out=a/b", "-mode=fast", "-mode=nope", "-bogus", "x", "-", "--", "-=", "-host="
+        };
+        Random random = new Random(42);
+        for(int i = 0; i < 20_000; i++){
+            String[] arguments = new String[random.nextInt(6)];
+            for(int j = 0; j < arguments.length; j++){
+                arguments[j] = tokens[random.nextInt(tokens.length)];
+            }
+            assertEquals(binder(binder, arguments), generated(parse, arguments), ()->Arrays.toString(arguments));
+        }
+    }
+    
+    private List<String> compileErrors(String field) throws IOException{
+        String code = String.join("\n",
+            "package sample;",
+            "",
+            "import net.gudenau.lib.argument.Option;",
+            "",
+            "public class Broken{",
+            field,
+            "}"
+        );
+        return errors(compile(false, new Source("sample.Broken", code)));
+    }
+    
+    @Test
+    void invalidFieldsAreCompileErrors() throws IOException{
+        assertEquals(
+            Collections.singletonList("Option fields have to be accessible from the package of the generated parser"),
+            compileErrors("@Option private int count;")
+        );
+        assertEquals(
+            Collections.singletonList("Option fields can not be static or final"),
+            compileErrors("@Option final int count = 1;")
+        );
+        assertEquals(
+            Collections.singletonList("Duplicate option name \"count\""),
+            compileErrors("@Option int count; @Option(name = \"count\") long other;")
+        );
+        assertEquals(
+            Collections.singletonList("Unsupported option type java.util.List"),
+            compileErrors("@Option java.util.List<String> names;")
+        );
+        assertEquals(
+            Collections.singletonList("Flag options can not be required"),
+            compileErrors("@Option(required = true) boolean verbose;")
+        );
+        assertEquals(
+            Collections.singletonList("Option name \"a-b\" is not alphanumeric"),
+            compileErrors("@Option(name = \"a-b\") int count;")
+        );
+    }
+}
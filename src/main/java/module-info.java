@@ -1,5 +1,6 @@
 module net.gudenau.lib.ArgumentParser {
     requires net.gudenau.lib.Annotations;
+    requires static jdk.jfr;
     
     exports net.gudenau.lib.argument;
 }
\ No newline at end of file
@@ -22,6 +22,50 @@ public interface Argument<T>{
      * */
     T getValue(String argument);
     
+    /**
+     * Gets the value from a range of a larger sequence, the parser
+     * calls this with a slice of the original token.
+     *
+     * The default creates a string of the range and passes it to
+     * {@link #getValue(String)}, implementations that can convert the
+     * characters directly should override this.
+     *
+     * @param source The sequence containing the value
+     * @param start The start of the value
+     * @param end The end of the value
+     *
+     * @return The instance of the object that was passed
+     * */
+    default T getValue(CharSequence source, int start, int end){
+        return getValue(Argument.toString(source, start, end));
+    }
+    
+    /**
+     * Checks if a range can be converted without creating an exception
+     * for values that can not, used by
+     * {@link net.gudenau.lib.argument.CompiledArgumentParser#tryParse(String[], Diagnostics) tryParse}.
+     *
+     * The default converts the value and maps the exception, arguments
+     * that can tell if a value is valid without converting it should
+     * override this.
+     *
+     * @param source The sequence containing the value
+     * @param start The start of the value
+     * @param end The end of the value
+     *
+     * @return The reason the value is invalid or null if it is valid
+     * */
+    default ConversionError check(CharSequence source, int start, int end){
+        try{
+            getValue(source, start, end);
+            return null;
+        }catch(NumberFormatException e){
+            return ConversionError.FORMAT;
+        }catch(RuntimeException e){
+            return ConversionError.OTHER;
+        }
+    }
+    
     /**
      * Gets the default value if none was supplied.
      *
@@ -36,4 +80,204 @@ public interface Argument<T>{
      * @return Is there a default?
      * */
     boolean hasDefault();
+    
+    /**
+     * An argument that produces an int without boxing.
+     * */
+    interface OfInt extends Argument<Integer>{
+        /**
+         * Gets the value from the provided argument.
+         *
+         * @param argument The string that was provided
+         *
+         * @return The value that was passed
+         * */
+        int parseInt(String argument);
+        
+        /**
+         * Gets the value from a range of a larger sequence.
+         *
+         * @param source The sequence containing the value
+         * @param start The start of the value
+         * @param end The end of the value
+         *
+         * @return The value that was passed
+         * */
+        default int parseInt(CharSequence source, int start, int end){
+            return parseInt(Argument.toString(source, start, end));
+        }
+        
+        /**
+         * Gets the default value if none was supplied.
+         *
+         * @return The default value
+         * */
+        int getIntDefault();
+        
+        @Override
+        default Integer getValue(String argument){
+            return parseInt(argument);
+        }
+        
+        @Override
+        default Integer getValue(CharSequence source, int start, int end){
+            return parseInt(source, start, end);
+        }
+        
+        @Override
+        default ConversionError check(CharSequence source, int start, int end){
+            try{
+                parseInt(source, start, end);
+                return null;
+            }catch(NumberFormatException e){
+                return ConversionError.FORMAT;
+            }catch(RuntimeException e){
+                return ConversionError.OTHER;
+            }
+        }
+        
+        @Override
+        default Integer getDefault(){
+            return getIntDefault();
+        }
+    }
+    
+    /**
+     * An argument that produces a long without boxing.
+     * */
+    interface OfLong extends Argument<Long>{
+        /**
+         * Gets the value from the provided argument.
+         *
+         * @param argument The string that was provided
+         *
+         * @return The value that was passed
+         * */
+        long parseLong(String argument);
+        
+        /**
+         * Gets the value from a range of a larger sequence.
+         *
+         * @param source The sequence containing the value
+         * @param start The start of the value
+         * @param end The end of the value
+         *
+         * @return The value that was passed
+         * */
+        default long parseLong(CharSequence source, int start, int end){
+            return parseLong(Argument.toString(source, start, end));
+        }
+        
+        /**
+         * Gets the default value if none was supplied.
+         *
+         * @return The default value
+         * */
+        long getLongDefault();
+        
+        @Override
+        default Long getValue(String argument){
+            return parseLong(argument);
+        }
+        
+        @Override
+        default Long getValue(CharSequence source, int start, int end){
+            return parseLong(source, start, end);
+        }
+        
+        @Override
+        default ConversionError check(CharSequence source, int start, int end){
+            try{
+                parseLong(source, start, end);
+                return null;
+            }catch(NumberFormatException e){
+                return ConversionError.FORMAT;
+            }catch(RuntimeException e){
+                return ConversionError.OTHER;
+            }
+        }
+        
+        @Override
+        default Long getDefault(){
+            return getLongDefault();
+        }
+    }
+    
+    /**
+     * An argument that produces a double without boxing.
+     * */
+    interface OfDouble extends Argument<Double>{
+        /**
+         * Gets the value from the provided argument.
+         *
+         * @param argument The string that was provided
+         *
+         * @return The value that was passed
+         * */
+        double parseDouble(String argument);
+        
+        /**
+         * Gets the value from a range of a larger sequence.
+         *
+         * @param source The sequence containing the value
+         * @param start The start of the value
+         * @param end The end of the value
+         *
+         * @return The value that was passed
+         * */
+        default double parseDouble(CharSequence source, int start, int end){
+            return parseDouble(Argument.toString(source, start, end));
+        }
+        
+        /**
+         * Gets the default value if none was supplied.
+         *
+         * @return The default value
+         * */
+        double getDoubleDefault();
+        
+        @Override
+        default Double getValue(String argument){
+            return parseDouble(argument);
+        }
+        
+        @Override
+        default Double getValue(CharSequence source, int start, int end){
+            return parseDouble(source, start, end);
+        }
+        
+        @Override
+        default ConversionError check(CharSequence source, int start, int end){
+            try{
+                parseDouble(source, start, end);
+                return null;
+            }catch(NumberFormatException e){
+                return ConversionError.FORMAT;
+            }catch(RuntimeException e){
+                return ConversionError.OTHER;
+            }
+        }
+        
+        @Override
+        default Double getDefault(){
+            return getDoubleDefault();
+        }
+    }
+    
+    /**
+     * Creates a string of a range, without copying if the range is an
+     * entire string.
+     *
+     * @param source The sequence containing the range
+     * @param start The start of the range
+     * @param end The end of the range
+     *
+     * @return The range as a string
+     * */
+    private static String toString(CharSequence source, int start, int end){
+        if(start == 0 && end == source.length() && source instanceof String){
+            return (String)source;
+        }
+        return source.subSequence(start, end).toString();
+    }
 }
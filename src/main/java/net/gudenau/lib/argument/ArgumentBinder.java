@@ -0,0 +1,361 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import net.gudenau.lib.annotation.NonNull;
+
+/**
+ * Binds parse results to the {@link net.gudenau.lib.argument.Option Option}
+ * fields of a class.
+ *
+ * A binder inspects its class once and turns every option field into a
+ * method handle, binders are cached per class. Binding a result is an
+ * array load and a method handle call per field, the slots of the
+ * fields are only looked up again when a result comes from a different
+ * compiled parser.
+ *
+ * Fields can be a String, File, int, long or double, the boxes of
+ * these, a boolean for flags or an enum that implements
+ * {@link net.gudenau.lib.argument.EnumArgument EnumArgument}. Fields of
+ * absent arguments keep their value, so field initializers work as
+ * defaults. Fields of superclasses are bound as well.
+ *
+ * In a named module the packages of the bound classes have to be open
+ * to this module.
+ *
+ * @param <T> The bound class
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ArgumentBinder<T>{
+    private static final ClassValue<ArgumentBinder<?>> BINDERS = new ClassValue<ArgumentBinder<?>>(){
+        @Override
+        protected ArgumentBinder<?> computeValue(Class<?> type){
+            return new ArgumentBinder<>(type);
+        }
+    };
+    
+    private static final MethodType SET_INT = MethodType.methodType(void.class, Object.class, int.class);
+    private static final MethodType SET_LONG = MethodType.methodType(void.class, Object.class, long.class);
+    private static final MethodType SET_DOUBLE = MethodType.methodType(void.class, Object.class, double.class);
+    private static final MethodType SET_FLAG = MethodType.methodType(void.class, Object.class, boolean.class);
+    private static final MethodType SET_OBJECT = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final Binding[] bindings;
+    
+    private volatile Slots slots;
+    private volatile CompiledArgumentParser parser;
+    
+    private ArgumentBinder(Class<T> type){
+        this.type = type;
+        
+        // Superclass options are registered first
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for(Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()){
+            hierarchy.push(current);
+        }
+        
+        List<Binding> bindings = new ArrayList<>();
+        for(Class<?> current : hierarchy){
+            MethodHandles.Lookup lookup = lookup(current);
+            for(Field field : current.getDeclaredFields()){
+                Option option = field.getAnnotation(Option.class);
+                if(option != null){
+                    bindings.add(bind(lookup, field, option));
+                }
+            }
+        }
+        this.bindings = bindings.toArray(new Binding[0]);
+        
+        MethodHandle constructor = null;
+        if(!Modifier.isAbstract(type.getModifiers())){
+            try{
+                constructor = lookup(type)
+                    .findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+            }catch(NoSuchMethodException | IllegalAccessException ignored){}
+        }
+        this.constructor = constructor;
+    }
+    
+    private static MethodHandles.Lookup lookup(Class<?> type){
+        try{
+            ArgumentBinder.class.getModule().addReads(type.getModule());
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        }catch(IllegalAccessException e){
+            throw new IllegalArgumentException(String.format(
+                "Can not access %s, its package has to be open to %s",
+                type.getName(),
+                ArgumentBinder.class.getModule()
+            ), e);
+        }
+    }
+    
+    private static Binding bind(MethodHandles.Lookup lookup, Field field, Option option){
+        String fieldName = field.getDeclaringClass().getName() + '.' + field.getName();
+        int modifiers = field.getModifiers();
+        if(Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)){
+            throw new IllegalArgumentException(String.format(
+                "Option field %s can not be static or final", fieldName
+            ));
+        }
+        
+        String name = option.name().isEmpty() ? field.getName() : option.name();
+        for(int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            if(!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9'))){
+                throw new IllegalArgumentException(String.format(
+                    "Option name \"%s\" of %s is not alphanumeric", name, fieldName
+                ));
+            }
+        }
+        
+        Class<?> fieldType = field.getType();
+        boolean required = option.required();
+        Argument<?> argument;
+        byte kind;
+        MethodType setterType;
+        if(fieldType == int.class || fieldType == Integer.class){
+            argument = Arguments.integer(0, required);
+            kind = CompiledArgumentParser.KIND_INT;
+            setterType = SET_INT;
+        }else if(fieldType == long.class || fieldType == Long.class){
+            argument = Arguments.longInteger(0, required);
+            kind = CompiledArgumentParser.KIND_LONG;
+            setterType = SET_LONG;
+        }else if(fieldType == double.class || fieldType == Double.class){
+            argument = Arguments.decimal(0, required);
+            kind = CompiledArgumentParser.KIND_DOUBLE;
+            setterType = SET_DOUBLE;
+        }else if(fieldType == boolean.class || fieldType == Boolean.class){
+            if(required){
+                throw new IllegalArgumentException(String.format(
+                    "Flag option %s can not be required", fieldName
+                ));
+            }
+            argument = Arguments.flag();
+            kind = CompiledArgumentParser.KIND_FLAG;
+            setterType = SET_FLAG;
+        }else{
+            if(fieldType == String.class){
+                argument = Arguments.string(null, required);
+            }else if(fieldType == File.class){
+                argument = Arguments.file(null, required);
+            }else if(fieldType.isEnum() && EnumArgument.class.isAssignableFrom(fieldType)){
+                argument = enumeration(fieldType, required);
+            }else{
+                throw new IllegalArgumentException(String.format(
+                    "Option field %s has the unsupported type %s", fieldName, fieldType.getName()
+                ));
+            }
+            kind = CompiledArgumentParser.KIND_OBJECT;
+            setterType = SET_OBJECT;
+        }
+        
+        MethodHandle setter;
+        try{
+            // Boxed fields are boxed by the handle, so every kind has one shape
+            setter = lookup.unreflectSetter(field).asType(setterType);
+        }catch(IllegalAccessException e){
+            throw new IllegalArgumentException(String.format(
+                "Can not access option field %s", fieldName
+            ), e);
+        }
+        return new Binding(name, argument, kind, setter);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Argument<?> enumeration(Class<?> type, boolean required){
+        return Arguments.enumeration(null, required, (Class)type);
+    }
+    
+    /**
+     * Gets the binder of a class.
+     *
+     * @param type The class with the {@link net.gudenau.lib.argument.Option Option} fields
+     * @param <T> The class
+     *
+     * @return The binder
+     *
+     * @throws IllegalArgumentException If an option field is invalid
+     * */
+    @NonNull
+    public static <T> ArgumentBinder<T> of(@NonNull Class<T> type){
+        @SuppressWarnings("unchecked")
+        ArgumentBinder<T> binder = (ArgumentBinder<T>)BINDERS.get(Objects.requireNonNull(type));
+        return binder;
+    }
+    
+    /**
+     * Registers the options of the class with a parser.
+     *
+     * @param parser The parser
+     *
+     * @return The parser for chaining
+     * */
+    public ArgumentParser register(@NonNull ArgumentParser parser){
+        Objects.requireNonNull(parser);
+        for(Binding binding : bindings){
+            parser.registerArgument(binding.name, binding.argument);
+        }
+        return parser;
+    }
+    
+    /**
+     * Creates a parser with only the options of the class.
+     *
+     * @return The parser
+     * */
+    @NonNull
+    public ArgumentParser createParser(){
+        return register(new ArgumentParser());
+    }
+    
+    /**
+     * Parses a command line into a new instance of the class, with a
+     * parser that is created once per binder.
+     *
+     * @param arguments The command line
+     *
+     * @return The new instance
+     * */
+    @NonNull
+    public T parse(@NonNull String[] arguments){
+        CompiledArgumentParser parser = this.parser;
+        if(parser == null){
+            parser = createParser().compile();
+            this.parser = parser;
+        }
+        return bind(parser.parse(arguments));
+    }
+    
+    /**
+     * Binds a result to a new instance of the class, the class needs a
+     * constructor without arguments.
+     *
+     * @param result The result, from a parser the options were registered with
+     *
+     * @return The new instance
+     * */
+    @NonNull
+    public T bind(@NonNull ArgumentResult result){
+        Objects.requireNonNull(result);
+        if(constructor == null){
+            throw new IllegalStateException(String.format(
+                "%s has no constructor without arguments", type.getName()
+            ));
+        }
+        
+        Object instance;
+        try{
+            instance = (Object)constructor.invokeExact();
+        }catch(RuntimeException | Error e){
+            throw e;
+        }catch(Throwable e){
+            throw new IllegalStateException(e);
+        }
+        return bind(result, type.cast(instance));
+    }
+    
+    /**
+     * Binds a result to an existing instance of the class.
+     *
+     * @param result The result, from a parser the options were registered with
+     * @param target The instance
+     *
+     * @return The instance
+     * */
+    @NonNull
+    public T bind(@NonNull ArgumentResult result, @NonNull T target){
+        Objects.requireNonNull(target);
+        int[] slots = slotsOf(result.getParser());
+        Object instance = target;
+        try{
+            for(int i = 0; i < bindings.length; i++){
+                int slot = slots[i];
+                if(!result.isPresent(slot)){
+                    continue;
+                }
+                
+                Binding binding = bindings[i];
+                switch(binding.kind){
+                    case CompiledArgumentParser.KIND_INT: binding.setter.invokeExact(instance, (int)result.primitiveAt(slot)); break;
+                    case CompiledArgumentParser.KIND_LONG: binding.setter.invokeExact(instance, result.primitiveAt(slot)); break;
+                    case CompiledArgumentParser.KIND_DOUBLE: binding.setter.invokeExact(instance, Double.longBitsToDouble(result.primitiveAt(slot))); break;
+                    case CompiledArgumentParser.KIND_FLAG: binding.setter.invokeExact(instance, true); break;
+                    default: binding.setter.invokeExact(instance, result.objectAt(slot)); break;
+                }
+            }
+        }catch(RuntimeException | Error e){
+            throw e;
+        }catch(Throwable e){
+            throw new IllegalStateException(e);
+        }
+        return target;
+    }
+    
+    /**
+     * Gets the slots of the fields in a compiled parser, the slots of
+     * the last parser are kept.
+     * */
+    private int[] slotsOf(CompiledArgumentParser parser){
+        Slots slots = this.slots;
+        if(slots == null || slots.parser != parser){
+            int[] resolved = new int[bindings.length];
+            for(int i = 0; i < bindings.length; i++){
+                Binding binding = bindings[i];
+                int slot = parser.slotOf(binding.name, binding.argument);
+                if(slot == -1){
+                    throw new IllegalArgumentException(String.format(
+                        "Option \"%s\" of %s was not registered with this parser",
+                        binding.name, type.getName()
+                    ));
+                }
+                resolved[i] = slot;
+            }
+            slots = new Slots(parser, resolved);
+            this.slots = slots;
+        }
+        return slots.slots;
+    }
+    
+    /**
+     * A single option field.
+     * */
+    private static final class Binding{
+        private final String name;
+        private final Argument<?> argument;
+        private final byte kind;
+        private final MethodHandle setter;
+        
+        private Binding(String name, Argument<?> argument, byte kind, MethodHandle setter){
+            this.name = name;
+            this.argument = argument;
+            this.kind = kind;
+            this.setter = setter;
+        }
+    }
+    
+    /**
+     * The slots of the fields in one compiled parser.
+     * */
+    private static final class Slots{
+        private final CompiledArgumentParser parser;
+        private final int[] slots;
+        
+        private Slots(CompiledArgumentParser parser, int[] slots){
+            this.parser = parser;
+            this.slots = slots;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.gudenau.lib.argument;
+
+import net.gudenau.lib.annotation.NonNull;
+
+/**
+ * A typed handle to a registered argument.
+ *
+ * Returned by {@link net.gudenau.lib.argument.ArgumentParser#registerKey(String, Argument) ArgumentParser.registerKey},
+ * reading a value through a key is an array load instead of a name
+ * lookup.
+ *
+ * @param <T> The type of the argument
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ArgumentKey<T>{
+    private final String name;
+    private final Argument<T> argument;
+    private final int slot;
+    
+    ArgumentKey(String name, Argument<T> argument, int slot){
+        this.name = name;
+        this.argument = argument;
+        this.slot = slot;
+    }
+    
+    /**
+     * Gets the name of the argument.
+     *
+     * @return The name
+     * */
+    @NonNull
+    public String getName(){
+        return name;
+    }
+    
+    /**
+     * Gets the argument this key was registered with.
+     *
+     * @return The argument
+     * */
+    @NonNull
+    public Argument<T> getArgument(){
+        return argument;
+    }
+    
+    int getSlot(){
+        return slot;
+    }
+}
@@ -1,19 +1,25 @@
 package net.gudenau.lib.argument;
 
 import java.io.File;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import net.gudenau.lib.annotation.NonNull;
 import net.gudenau.lib.annotation.Nullable;
 import net.gudenau.lib.argument.implementation.DoubleArgument;
+import net.gudenau.lib.argument.implementation.DurationArgument;
 import net.gudenau.lib.argument.implementation.EmptyArgument;
 import net.gudenau.lib.argument.implementation.EnumArgumentImplementation;
 import net.gudenau.lib.argument.implementation.FileArgument;
 import net.gudenau.lib.argument.implementation.IntegerArgument;
-import net.gudenau.lib.argument.implementation.Pair;
+import net.gudenau.lib.argument.implementation.LongArgument;
+import net.gudenau.lib.argument.implementation.SizeArgument;
 import net.gudenau.lib.argument.implementation.StringArgument;
 
 /**
@@ -21,28 +27,351 @@ import net.gudenau.lib.argument.implementation.StringArgument;
  *
  * You can add your own argument types with the
  * {@link net.gudenau.lib.argument.Argument Argument} interface.
+ *
+ * An instance can be shared between threads. Parsing never locks, it
+ * works on an immutable snapshot of the registrations that is replaced
+ * as a whole when something is registered, so a parse that is already
+ * running never sees a partial registration.
  * */
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class ArgumentParser{
     /**
-     * The regex pattern for param names
+     * The map of registered arguments, in registration order.
+     *
+     * Guarded by this instance.
+     * */
+    private final Map<String, Argument<?>> argumentMap = new LinkedHashMap<>();
+    
+    /**
+     * The map of registered subcommands, in registration order.
+     *
+     * Guarded by this instance.
+     * */
+    private final Map<String, Supplier<ArgumentParser>> commandMap = new LinkedHashMap<>();
+    
+    /**
+     * Checks the tokenizer against the old regular expressions.
+     *
+     * Guarded by this instance.
      * */
-    private static final Pattern PATTERN_NAME = Pattern.compile("^-+([A-Za-z0-9]+)");
+    private boolean compatibilityMode = false;
+    
     /**
-     * The regex pattern for param values
+     * Expands @file tokens.
+     *
+     * Guarded by this instance.
      * */
-    private static final Pattern PATTERN_VALUE = Pattern.compile("^-+[A-Za-z0-9]+=([A-Za-z0-9 /\\\\_\"'.]+)$");
+    private boolean argumentFiles = false;
     
     /**
-     * The map of registered arguments.
+     * Converts values when they are first read.
+     *
+     * Guarded by this instance.
      * */
-    private Map<String, Argument> argumentMap = new HashMap<>();
+    private boolean lazyConversion = false;
+    
+    /**
+     * Accepts unique prefixes of names.
+     *
+     * Guarded by this instance.
+     * */
+    private boolean abbreviations = false;
+    
+    /**
+     * Skips tokens that are not registered options.
+     *
+     * Guarded by this instance.
+     * */
+    private boolean ignoreUnknown = false;
+    
+    /**
+     * The largest number of paths that are checked at the same time.
+     *
+     * Guarded by this instance.
+     * */
+    private int pathParallelism = 32;
+    
+    /**
+     * Receives measurements, null if there is none.
+     *
+     * Guarded by this instance.
+     * */
+    private ParseListener listener;
+    
+    /**
+     * The immutable snapshot of the current registrations, null if
+     * something changed since the last compile.
+     * */
+    private volatile CompiledArgumentParser compiled;
+    
+    /**
+     * The result cache, null if it is disabled.
+     * */
+    private volatile ResultCache cache;
+    
+    /**
+     * The result cache on disk, null if it is disabled.
+     * */
+    private volatile SnapshotCache snapshots;
     
     /**
      * Creates a new instance with no arguments defined.
      * */
     public ArgumentParser(){}
     
+    /**
+     * Enables or disables compatibility mode.
+     *
+     * When enabled every token is also matched against the regular
+     * expressions that older versions used, if the results differ
+     * an {@link java.lang.IllegalStateException IllegalStateException}
+     * is thrown. This is slow and only meant for verification.
+     *
+     * @param compatibilityMode Pass true to enable compatibility mode
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setCompatibilityMode(boolean compatibilityMode){
+        this.compatibilityMode = compatibilityMode;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Enables or disables argument files.
+     *
+     * When enabled a token like "@path" is replaced by the tokens in
+     * the file, like javac and java do. Tokens in the file are
+     * separated by whitespace, quotes group whitespace into a single
+     * token and a '#' at the start of a token comments out the rest of
+     * the line. Argument files can name other argument files.
+     *
+     * The file is memory mapped and read one token at a time, so even
+     * huge files only need as much memory as the parsed values.
+     *
+     * @param argumentFiles Pass true to enable argument files
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setArgumentFiles(boolean argumentFiles){
+        this.argumentFiles = argumentFiles;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Enables or disables lazy conversion.
+     *
+     * When enabled the parser only checks the structure of the command
+     * line and keeps the raw value of every argument. The value is
+     * converted the first time it is read from the
+     * {@link net.gudenau.lib.argument.ArgumentResult ArgumentResult}
+     * and cached after that, so arguments that are never read are never
+     * converted. A value that can not be converted throws when it is
+     * read instead of when the command line is parsed.
+     *
+     * Defaults that are expensive to compute can be created with
+     * {@link net.gudenau.lib.argument.Arguments#withDefault(Argument, java.util.function.Supplier) Arguments.withDefault},
+     * those are computed when they are first read with or without lazy
+     * conversion.
+     *
+     * @param lazyConversion Pass true to enable lazy conversion
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setLazyConversion(boolean lazyConversion){
+        this.lazyConversion = lazyConversion;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Enables or disables abbreviations.
+     *
+     * When enabled a name that is not registered but is the start of
+     * exactly one registered name selects that argument, like the long
+     * options of GNU getopt. "-verb" is "-verbose" if no other name
+     * starts with "verb". A name that is the start of several names is
+     * rejected with the candidates. Exact names are still found with a
+     * single hash, prefixes are resolved through a trie in time
+     * proportional to the length of the name.
+     *
+     * @param abbreviations Pass true to enable abbreviations
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setAbbreviations(boolean abbreviations){
+        this.abbreviations = abbreviations;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Enables or disables skipping unknown tokens.
+     *
+     * When enabled, options that are not registered and tokens that are
+     * not options are skipped instead of failing the parse. This is for
+     * picking a few options out of a command line that belongs to
+     * something else, like the command line of another process. Values
+     * of registered options are still checked. Words that are not
+     * registered commands are skipped too, the first registered one
+     * selects its command.
+     *
+     * @param ignoreUnknown Pass true to skip unknown tokens
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setIgnoreUnknown(boolean ignoreUnknown){
+        this.ignoreUnknown = ignoreUnknown;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Sets the largest number of paths that are checked at the same
+     * time, 32 by default.
+     *
+     * Path arguments with checks are not checked while the command line
+     * is tokenized, all paths of a parse are checked at once afterwards
+     * so slow file systems are waited on in parallel. The checks run on
+     * virtual threads when the runtime has them and on a shared bounded
+     * pool otherwise, the parsing thread checks paths too. Pass 1 to
+     * check every path on the parsing thread.
+     *
+     * @param parallelism The number of paths that can be checked at the same time
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setPathCheckParallelism(int parallelism){
+        if(parallelism < 1){
+            throw new IllegalArgumentException("Path check parallelism must be at least 1, was " + parallelism);
+        }
+        this.pathParallelism = parallelism;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Sets the listener that receives the latency, token count and
+     * failure reason of every parse, or removes it if null.
+     *
+     * Parses are also reported as the JFR event
+     * "net.gudenau.lib.argument.Parse" and conversions as the disabled
+     * by default event "net.gudenau.lib.argument.Conversion" when the
+     * jdk.jfr module is present, without a listener and with disabled
+     * events parsing is not measured at all.
+     *
+     * @param listener The listener or null
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public synchronized ArgumentParser setParseListener(@Nullable ParseListener listener){
+        this.listener = listener;
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Enables the least recently used result cache, or disables it if
+     * the size is 0.
+     *
+     * @param maximumSize The maximum number of cached results
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser setResultCache(int maximumSize){
+        return setResultCache(maximumSize, EvictionPolicy.LEAST_RECENTLY_USED);
+    }
+    
+    /**
+     * Enables the result cache, or disables it if the size is 0.
+     *
+     * When enabled, parsing a command line with the same contents as a
+     * cached one returns the cached result without parsing it again.
+     * Results are immutable so they can be shared. The cache is
+     * cleared whenever the registrations change, failed parses and
+     * command lines with argument files or checked paths are never
+     * cached.
+     *
+     * @param maximumSize The maximum number of cached results
+     * @param policy The policy to pick the entry to remove when the cache is full
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser setResultCache(int maximumSize, @NonNull EvictionPolicy policy){
+        Objects.requireNonNull(policy);
+        if(maximumSize < 0){
+            throw new IllegalArgumentException("Cache size can not be negative");
+        }
+        cache = maximumSize == 0 ? null : new ResultCache(maximumSize, policy);
+        return this;
+    }
+    
+    /**
+     * Enables a result cache on disk that keeps up to 256 results, or
+     * disables it if the directory is null. See
+     * {@link #setSnapshotCache(Path, int)}.
+     *
+     * @param directory The directory of the cache files, it has to exist
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser setSnapshotCache(@Nullable Path directory){
+        return setSnapshotCache(directory, 256);
+    }
+    
+    /**
+     * Enables a result cache on disk that is shared between runs, or
+     * disables it if the directory is null.
+     *
+     * Results are stored as {@link net.gudenau.lib.argument.ArgumentSnapshot ArgumentSnapshot}
+     * files named after the hash of the registrations and of the
+     * command line, a repeated run maps the file instead of parsing.
+     * When the result cache is enabled too only its misses go to the
+     * disk. Failed parses, command lines with argument files or checked
+     * paths and results with values that can not be written to a
+     * snapshot are not cached.
+     *
+     * The files hold a SHA-256 digest of the command line and the
+     * parsed values as they are, so a value that is a secret ends up in
+     * a file that only the current user can read. Once the directory
+     * holds more snapshots than the maximum the oldest ones are removed.
+     *
+     * @param directory The directory of the cache files, it has to exist
+     * @param maximumFiles The maximum number of snapshots in the directory
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser setSnapshotCache(@Nullable Path directory, int maximumFiles){
+        if(maximumFiles <= 0){
+            throw new IllegalArgumentException("Snapshot cache size must be positive");
+        }
+        snapshots = directory == null ? null : new SnapshotCache(directory, maximumFiles);
+        return this;
+    }
+    
+    /**
+     * Gets the counters of the result cache.
+     *
+     * @return The counters or null if the cache is disabled
+     * */
+    @Nullable
+    public CacheStatistics getCacheStatistics(){
+        ResultCache cache = this.cache;
+        return cache == null ? null : cache.getStatistics();
+    }
+    
     /**
      * Registers a new argument with this parser.
      *
@@ -52,7 +381,7 @@ public class ArgumentParser{
      * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
      *          for chaining
      * */
-    public ArgumentParser registerArgument(@NonNull String name, @NonNull Argument<?> argument){
+    public synchronized ArgumentParser registerArgument(@NonNull String name, @NonNull Argument<?> argument){
         Objects.requireNonNull(name);
         Objects.requireNonNull(argument);
         
@@ -62,96 +391,234 @@ public class ArgumentParser{
             ));
         }
         argumentMap.put(name, argument);
+        compiled = null;
         return this;
     }
     
     /**
-     * Parses arguments from the command line based on the registered
-     * arguments of this instance.
+     * Registers a subcommand with this parser.
      *
-     * @param arguments The arguments passed to the program
+     * The first token that is neither an option nor the value of one
+     * selects a subcommand, the tokens before it can only be arguments
+     * of this parser and the tokens after it can be arguments of this
+     * parser or of the subcommand. The subcommand parser is created by
+     * the supplier the first time the subcommand is parsed, so the
+     * registrations and classes of other subcommands are never loaded.
+     * Its settings are ignored, the settings of this parser apply.
      *
-     * @return The results of the parse
+     * Subcommands can have subcommands of their own.
+     * {@link net.gudenau.lib.argument.ArgumentResult#getCommand() ArgumentResult.getCommand}
+     * tells which one was parsed.
+     *
+     * @param name The word that selects the subcommand
+     * @param parser Creates the parser with the arguments of the subcommand
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
      * */
-    public ArgumentResult parse(@NonNull String[] arguments){
-        Objects.requireNonNull(arguments);
-        
-        int length = arguments.length;
-        Map<String, Pair<Argument<?>, Object>> results = new HashMap<>();
+    public synchronized ArgumentParser registerCommand(@NonNull String name, @NonNull Supplier<ArgumentParser> parser){
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(parser);
         
-        for(int i = 0; i < length; i++){
-            String current = arguments[i];
-            
-            if(!current.startsWith("-")){
-                throw new IllegalArgumentException("Illegal argument: " + current);
-            }else{
-                // Find the name of the param
-                Matcher matcher = PATTERN_NAME.matcher(current);
-                if(!matcher.find()){
-                    throw new IllegalArgumentException("Illegal argument:" + current);
-                }
-                String name = matcher.group(1);
-                
-                // Get the argument for the name
-                Argument argument = argumentMap.get(name);
-                if(argument == null){
-                    throw new IllegalArgumentException(String.format(
-                        "Unknown argument \"%s\"", name
-                    ));
-                }
-                
-                // Check if the value is part of this argument or the next one
-                boolean valueIncluded = current.contains("=");
-                if(argument instanceof EmptyArgument){
-                    // An empty argument should not have a value
-                    if(valueIncluded){
-                        throw new IllegalArgumentException(String.format(
-                            "%s can not have a value!",
-                            name
-                        ));
-                    }
-                    
-                    // It exists
-                    results.put(name, new Pair<>(argument, true));
-                }else{
-                    String rawValue;
-                    
-                    // Extract the value
-                    if(valueIncluded){
-                        Matcher valueMatcher = PATTERN_VALUE.matcher(current);
-                        if(!valueMatcher.find()){
-                            throw new IllegalArgumentException("Malformed param: " + current);
-                        }
-                        rawValue = valueMatcher.group(1);
-                    }else if(i < length - 1){
-                        rawValue = arguments[i + 1];
-                        i++;
-                    }else{
-                        throw new IllegalArgumentException("Malformed param: " + current);
-                    }
-                    
-                    // Parse the value
-                    results.put(name, new Pair<>(argument, argument.getValue(rawValue)));
-                }
+        if(commandMap.containsKey(name)){
+            throw new IllegalStateException(String.format(
+                "Command \"%s\" was already registered", name
+            ));
+        }
+        commandMap.put(name, parser);
+        compiled = null;
+        return this;
+    }
+    
+    /**
+     * Compiles this parser as a subcommand, its arguments are added
+     * after the arguments of the parent so those keep their slots.
+     *
+     * @param command The word that selected this parser
+     * @param parent The compiled parent parser
+     *
+     * @return The compiled subcommand
+     * */
+    synchronized CompiledArgumentParser compileCommand(String command, CompiledArgumentParser parent){
+        Map<String, Argument<?>> arguments = parent.getArgumentMap();
+        for(Map.Entry<String, Argument<?>> entry : argumentMap.entrySet()){
+            if(arguments.putIfAbsent(entry.getKey(), entry.getValue()) != null){
+                throw new IllegalStateException(String.format(
+                    "Argument \"%s\" of command \"%s\" is already registered with its parent",
+                    entry.getKey(), command
+                ));
             }
         }
-        
-        for(Map.Entry<String, Argument> entry : argumentMap.entrySet()){
-            Argument argument = entry.getValue();
-            String name = entry.getKey();
-            if(argument.hasDefault() && !results.containsKey(name)){
-                results.put(name, new Pair<>(argument, argument.getDefault()));
+        return parent.createCommand(arguments, commandMap, command);
+    }
+    
+    /**
+     * Registers a new argument with this parser and returns a typed
+     * key for it.
+     *
+     * Reading a value with
+     * {@link net.gudenau.lib.argument.ArgumentResult#get(ArgumentKey) ArgumentResult.get}
+     * and the key skips the name lookup.
+     *
+     * @param name The name of the argument
+     * @param argument The argument interface instance
+     * @param <T> The type of the argument
+     *
+     * @return The key of the argument
+     * */
+    public synchronized <T> ArgumentKey<T> registerKey(@NonNull String name, @NonNull Argument<T> argument){
+        registerArgument(name, argument);
+        return new ArgumentKey<>(name, argument, argumentMap.size() - 1);
+    }
+    
+    /**
+     * Freezes the current registrations into an immutable parser.
+     *
+     * The compiled parser is not affected by arguments that are
+     * registered later. It is cached until this parser changes.
+     *
+     * @return The compiled parser
+     * */
+    public CompiledArgumentParser compile(){
+        CompiledArgumentParser compiled = this.compiled;
+        if(compiled == null){
+            synchronized(this){
+                compiled = this.compiled;
+                if(compiled == null){
+                    compiled = new CompiledArgumentParser(argumentMap, compatibilityMode, argumentFiles, lazyConversion, abbreviations, ignoreUnknown, pathParallelism, listener, commandMap, null);
+                    this.compiled = compiled;
+                }
             }
         }
-        
-        if(argumentMap.entrySet().stream()
-            .filter(entry->entry.getValue().isRequired())
-            .anyMatch(entry->!results.containsKey(entry.getKey()))
-        ){
-            throw new IllegalArgumentException("Required param is missing");
+        return compiled;
+    }
+    
+    /**
+     * Creates layered sources for the arguments of this parser, to
+     * merge them from the environment, system properties, properties
+     * files and command lines.
+     *
+     * @return The new {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          without layers
+     * */
+    @NonNull
+    public LayeredArguments createLayeredArguments(){
+        return new LayeredArguments(this);
+    }
+    
+    /**
+     * Creates the shell completion index of the current registrations.
+     *
+     * @return The new {@link net.gudenau.lib.argument.CompletionIndex CompletionIndex}
+     * */
+    @NonNull
+    public CompletionIndex createCompletionIndex(){
+        return new CompletionIndex(compile());
+    }
+    
+    /**
+     * Parses arguments from the command line based on the registered
+     * arguments of this instance.
+     *
+     * @param arguments The arguments passed to the program
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull String[] arguments){
+        ResultCache cache = this.cache;
+        SnapshotCache snapshots = this.snapshots;
+        if(cache != null){
+            return cache.parse(compile(), Objects.requireNonNull(arguments), snapshots);
+        }else if(snapshots != null){
+            return snapshots.parse(compile(), Objects.requireNonNull(arguments));
         }
-        
-        return new ArgumentResult(results);
+        return compile().parse(arguments);
+    }
+    
+    /**
+     * Parses a command line that is still encoded, like the contents of
+     * /proc/&lt;pid&gt;/cmdline, see
+     * {@link net.gudenau.lib.argument.CompiledArgumentParser#parse(ByteBuffer) CompiledArgumentParser.parse}.
+     * The result cache is not used.
+     *
+     * @param buffer The encoded command line
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull ByteBuffer buffer){
+        return compile().parse(buffer);
+    }
+    
+    /**
+     * Parses a command line that is still encoded, see
+     * {@link #parse(ByteBuffer)}.
+     *
+     * @param bytes The encoded command line
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull byte[] bytes){
+        return compile().parse(bytes);
+    }
+    
+    /**
+     * Parses arguments without throwing for problems in the command
+     * line, see
+     * {@link net.gudenau.lib.argument.CompiledArgumentParser#tryParse(String[], Diagnostics) CompiledArgumentParser.tryParse}.
+     * The result cache is not used.
+     *
+     * @param arguments The arguments passed to the program
+     * @param diagnostics Cleared and then filled with the problems
+     *
+     * @return The results or null if there was a problem
+     * */
+    @Nullable
+    public ArgumentResult tryParse(@NonNull String[] arguments, @NonNull Diagnostics diagnostics){
+        return compile().tryParse(arguments, diagnostics);
+    }
+    
+    /**
+     * Parses many command lines in parallel on the common fork join pool.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     *
+     * @return The outcomes, in the same order as the command lines
+     * */
+    public List<ParseOutcome> parseAll(@NonNull List<String[]> commandLines){
+        return compile().parseAll(commandLines);
+    }
+    
+    /**
+     * Parses many command lines in parallel.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     * @param pool The pool to parse in
+     *
+     * @return The outcomes, in the same order as the command lines
+     * */
+    public List<ParseOutcome> parseAll(@NonNull List<String[]> commandLines, @NonNull ForkJoinPool pool){
+        return compile().parseAll(commandLines, pool);
+    }
+    
+    /**
+     * Parses a stream of command lines, the stream keeps its order and
+     * is parallel if the input is.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     *
+     * @return The outcomes
+     * */
+    public Stream<ParseOutcome> parseAll(@NonNull Stream<String[]> commandLines){
+        return compile().parseAll(commandLines);
     }
     
     // ---------- File ----------
@@ -208,6 +675,51 @@ public class ArgumentParser{
         return registerArgument(name, new FileArgument(defaultValue, required));
     }
     
+    // ---------- Path ----------
+    
+    /**
+     * Registers a new path argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#path(Path, boolean, PathCheck...) Arguments.path}.
+     *
+     * @param name The name of the argument
+     * @param checks The checks of the path
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerPathArgument(@NonNull String name, @NonNull PathCheck... checks){
+        return registerPathArgument(name, false, checks);
+    }
+    
+    /**
+     * Registers a new path argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#path(Path, boolean, PathCheck...) Arguments.path}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     * @param checks The checks of the path
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerPathArgument(@NonNull String name, boolean required, @NonNull PathCheck... checks){
+        return registerArgument(name, Arguments.path(null, required, checks));
+    }
+    
+    /**
+     * Registers a new list argument of paths with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#pathList(boolean, PathCheck...) Arguments.pathList}.
+     *
+     * @param name The name of the argument
+     * @param checks The checks of every path
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerPathListArgument(@NonNull String name, @NonNull PathCheck... checks){
+        return registerArgument(name, Arguments.pathList(false, checks));
+    }
+    
     // ---------- String ----------
     
     /**
@@ -370,6 +882,258 @@ public class ArgumentParser{
         return registerArgument(name, new IntegerArgument(defaultValue, required));
     }
     
+    // ---------- Long ----------
+    
+    /**
+     * Registers a new long argument with this parser.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerLongArgument(@NonNull String name){
+        return registerLongArgument(name, false);
+    }
+    
+    /**
+     * Registers a new long argument with this parser.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerLongArgument(@NonNull String name, boolean required){
+        return registerArgument(name, new LongArgument(0, required));
+    }
+    
+    /**
+     * Registers a new long argument with this parser.
+     *
+     * @param name The name of the argument
+     * @param defaultValue The default value of this argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerArgument(@NonNull String name, long defaultValue){
+        return registerArgument(name, defaultValue, false);
+    }
+    
+    /**
+     * Registers a new long argument with this parser.
+     *
+     * @param name The name of the argument
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerArgument(@NonNull String name, long defaultValue, boolean required){
+        return registerArgument(name, new LongArgument(defaultValue, required));
+    }
+    
+    // ---------- Size ----------
+    
+    /**
+     * Registers a new size argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#size(long, boolean) Arguments.size}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerSizeArgument(@NonNull String name){
+        return registerSizeArgument(name, 0, false);
+    }
+    
+    /**
+     * Registers a new size argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#size(long, boolean) Arguments.size}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerSizeArgument(@NonNull String name, boolean required){
+        return registerSizeArgument(name, 0, required);
+    }
+    
+    /**
+     * Registers a new size argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#size(long, boolean) Arguments.size}.
+     *
+     * @param name The name of the argument
+     * @param defaultValue The default size in bytes
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerSizeArgument(@NonNull String name, long defaultValue, boolean required){
+        return registerArgument(name, new SizeArgument(defaultValue, required));
+    }
+    
+    // ---------- Duration ----------
+    
+    /**
+     * Registers a new duration argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#duration(long, boolean) Arguments.duration}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerDurationArgument(@NonNull String name){
+        return registerDurationArgument(name, 0, false);
+    }
+    
+    /**
+     * Registers a new duration argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#duration(long, boolean) Arguments.duration}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerDurationArgument(@NonNull String name, boolean required){
+        return registerDurationArgument(name, 0, required);
+    }
+    
+    /**
+     * Registers a new duration argument with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#duration(long, boolean) Arguments.duration}.
+     *
+     * @param name The name of the argument
+     * @param defaultValue The default duration in nanoseconds
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerDurationArgument(@NonNull String name, long defaultValue, boolean required){
+        return registerArgument(name, new DurationArgument(defaultValue, required));
+    }
+    
+    // ---------- Lists ----------
+    
+    /**
+     * Registers a new list argument of ints with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfInt, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerIntListArgument(@NonNull String name){
+        return registerIntListArgument(name, false);
+    }
+    
+    /**
+     * Registers a new list argument of ints with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfInt, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerIntListArgument(@NonNull String name, boolean required){
+        return registerArgument(name, Arguments.intList(required));
+    }
+    
+    /**
+     * Registers a new list argument of longs with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfLong, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerLongListArgument(@NonNull String name){
+        return registerLongListArgument(name, false);
+    }
+    
+    /**
+     * Registers a new list argument of longs with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfLong, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerLongListArgument(@NonNull String name, boolean required){
+        return registerArgument(name, Arguments.longList(required));
+    }
+    
+    /**
+     * Registers a new list argument of doubles with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfDouble, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerDoubleListArgument(@NonNull String name){
+        return registerDoubleListArgument(name, false);
+    }
+    
+    /**
+     * Registers a new list argument of doubles with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument.OfDouble, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerDoubleListArgument(@NonNull String name, boolean required){
+        return registerArgument(name, Arguments.decimalList(required));
+    }
+    
+    /**
+     * Registers a new list argument of strings with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument, Class, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerStringListArgument(@NonNull String name){
+        return registerStringListArgument(name, false);
+    }
+    
+    /**
+     * Registers a new list argument of strings with this parser, see
+     * {@link net.gudenau.lib.argument.Arguments#list(Argument, Class, char, boolean) Arguments.list}.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public ArgumentParser registerStringListArgument(@NonNull String name, boolean required){
+        return registerArgument(name, Arguments.stringList(required));
+    }
+    
     // ---------- Enumeration ----------
     
     /**
@@ -396,7 +1160,22 @@ public class ArgumentParser{
      *          for chaining
      * */
     public <T extends Enum<?> & EnumArgument> ArgumentParser registerEnumArgument(@NonNull String name, boolean required, @NonNull Class<T> type){
-        return registerArgument(name, new EnumArgumentImplementation<>(null, false, type));
+        return registerArgument(name, new EnumArgumentImplementation<>(null, required, type));
+    }
+    
+    /**
+     * Registers a new enum argument with this parser.
+     *
+     * @param name The name of the argument
+     * @param required Pass true if the argument is required
+     * @param matching How values are matched to the constants
+     * @param <T> The type of the enum, must implement {@link net.gudenau.lib.argument.EnumArgument}
+     *
+     * @return The current {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+     *          for chaining
+     * */
+    public <T extends Enum<?> & EnumArgument> ArgumentParser registerEnumArgument(@NonNull String name, boolean required, @NonNull Class<T> type, @NonNull EnumMatching matching){
+        return registerArgument(name, new EnumArgumentImplementation<>(null, required, type, Objects.requireNonNull(matching)));
     }
     
     /**
@@ -1,14 +1,17 @@
 package net.gudenau.lib.argument;
 
 import java.io.File;
-import java.util.Map;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 import net.gudenau.lib.annotation.NonNull;
 import net.gudenau.lib.annotation.Nullable;
-import net.gudenau.lib.argument.implementation.DoubleArgument;
 import net.gudenau.lib.argument.implementation.FileArgument;
-import net.gudenau.lib.argument.implementation.IntegerArgument;
-import net.gudenau.lib.argument.implementation.Pair;
+import net.gudenau.lib.argument.implementation.PathArgument;
 import net.gudenau.lib.argument.implementation.StringArgument;
 
 /**
@@ -16,10 +19,83 @@ import net.gudenau.lib.argument.implementation.StringArgument;
  * */
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class ArgumentResult{
-    private final Map<String, Pair<Argument<?>, Object>> results;
+    private static final int[] EMPTY_INTS = new int[0];
+    private static final long[] EMPTY_LONGS = new long[0];
+    private static final double[] EMPTY_DOUBLES = new double[0];
+    private static final String[] EMPTY_STRINGS = new String[0];
+    private static final Path[] EMPTY_PATHS = new Path[0];
     
-    ArgumentResult(Map<String, Pair<Argument<?>, Object>> results){
-        this.results = results;
+    private final CompiledArgumentParser parser;
+    private final Object[] objects;
+    private final long[] primitives;
+    private final LazyValue[] lazy;
+    private final long[] present;
+    
+    ArgumentResult(CompiledArgumentParser parser, Object[] objects, long[] primitives, LazyValue[] lazy, long[] present){
+        this.parser = parser;
+        this.objects = objects;
+        this.primitives = primitives;
+        this.lazy = lazy;
+        this.present = present;
+    }
+    
+    /**
+     * Gets the compiled parser that created this result.
+     * */
+    CompiledArgumentParser getParser(){
+        return parser;
+    }
+    
+    /**
+     * Checks if a slot has a value, either passed or a default.
+     * */
+    boolean isPresent(int slot){
+        return slot != -1 && (present[slot >>> 6] & (1L << slot)) != 0;
+    }
+    
+    /**
+     * Checks if a slot still has the value that every parse starts with.
+     * */
+    boolean isDefault(int slot){
+        return parser.isDefault(slot, objects, primitives, lazy, present);
+    }
+    
+    /**
+     * Gets the value of an object slot, converting it if it is lazy.
+     * */
+    Object objectAt(int slot){
+        if(lazy != null){
+            LazyValue value = lazy[slot];
+            if(value != null){
+                return value.get();
+            }
+        }
+        return objects[parser.storageOf(slot)];
+    }
+    
+    /**
+     * Gets the value of a primitive slot, converting it if it is lazy.
+     * */
+    long primitiveAt(int slot){
+        if(lazy != null){
+            LazyValue value = lazy[slot];
+            if(value != null){
+                return value.getBits();
+            }
+        }
+        return primitives[parser.storageOf(slot)];
+    }
+    
+    /**
+     * Gets the subcommand that was parsed, see
+     * {@link net.gudenau.lib.argument.ArgumentParser#registerCommand(String, java.util.function.Supplier) ArgumentParser.registerCommand}.
+     * Nested subcommands are separated by a space.
+     *
+     * @return The subcommand or null if none was passed
+     * */
+    @Nullable
+    public String getCommand(){
+        return parser.getCommand();
     }
     
     /**
@@ -31,7 +107,24 @@ public class ArgumentResult{
      * */
     @Nullable
     public Object getResult(@NonNull String name){
-        return results.get(Objects.requireNonNull(name));
+        return valueOf(parser.slotOf(Objects.requireNonNull(name)));
+    }
+    
+    /**
+     * Gets the value of a slot, boxing primitives.
+     * */
+    private Object valueOf(int slot){
+        if(!isPresent(slot)){
+            return null;
+        }
+        
+        switch(parser.kindOf(slot)){
+            case CompiledArgumentParser.KIND_FLAG: return Boolean.TRUE;
+            case CompiledArgumentParser.KIND_INT: return (int)primitiveAt(slot);
+            case CompiledArgumentParser.KIND_LONG: return primitiveAt(slot);
+            case CompiledArgumentParser.KIND_DOUBLE: return Double.longBitsToDouble(primitiveAt(slot));
+            default: return objectAt(slot);
+        }
     }
     
     /**
@@ -45,14 +138,10 @@ public class ArgumentResult{
     @Nullable
     public <T> T getResult(@NonNull String name, @NonNull Class<? extends Argument<T>> argument){
         Objects.requireNonNull(argument);
-        Pair<Argument<?>, Object> result = results.get(Objects.requireNonNull(name));
         
-        if(result == null){
-            return null;
-        }
-    
-        //noinspection unchecked
-        return (T)result.getItem2();
+        @SuppressWarnings("unchecked")
+        T value = (T)getResult(name);
+        return value;
     }
     
     /**
@@ -80,25 +169,282 @@ public class ArgumentResult{
     }
     
     /**
-     * Gets an integer argument.
+     * Gets a path argument, the path is the checked one.
      *
      * @param name The name of the argument to get
      *
      * @return The result
      * */
+    @Nullable
+    public Path getPath(@NonNull String name){
+        return getResult(name, PathArgument.class);
+    }
+    
+    /**
+     * Gets an integer argument.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The result or 0 if it is absent
+     * */
     public int getInteger(@NonNull String name){
-        return getResult(name, IntegerArgument.class);
+        return getInt(name, 0);
     }
     
     /**
-     * Gets a double argument.
+     * Gets an int argument without boxing.
      *
      * @param name The name of the argument to get
+     * @param absent The value to return if the argument is absent
      *
      * @return The result
      * */
+    public int getInt(@NonNull String name, int absent){
+        int slot = parser.slotOf(Objects.requireNonNull(name));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        switch(parser.kindOf(slot)){
+            case CompiledArgumentParser.KIND_INT: return (int)primitiveAt(slot);
+            case CompiledArgumentParser.KIND_OBJECT: return (Integer)objectAt(slot);
+            default: throw wrongType(name, "an int");
+        }
+    }
+    
+    /**
+     * Gets a long argument without boxing, int arguments are widened.
+     *
+     * @param name The name of the argument to get
+     * @param absent The value to return if the argument is absent
+     *
+     * @return The result
+     * */
+    public long getLong(@NonNull String name, long absent){
+        int slot = parser.slotOf(Objects.requireNonNull(name));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        switch(parser.kindOf(slot)){
+            case CompiledArgumentParser.KIND_INT:
+            case CompiledArgumentParser.KIND_LONG: return primitiveAt(slot);
+            case CompiledArgumentParser.KIND_OBJECT: return (Long)objectAt(slot);
+            default: throw wrongType(name, "a long");
+        }
+    }
+    
+    /**
+     * Gets a double argument.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The result or 0 if it is absent
+     * */
     public double getDouble(@NonNull String name){
-        return getResult(name, DoubleArgument.class);
+        return getDouble(name, 0);
+    }
+    
+    /**
+     * Gets a double argument without boxing, int and long arguments
+     * are widened.
+     *
+     * @param name The name of the argument to get
+     * @param absent The value to return if the argument is absent
+     *
+     * @return The result
+     * */
+    public double getDouble(@NonNull String name, double absent){
+        int slot = parser.slotOf(Objects.requireNonNull(name));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        switch(parser.kindOf(slot)){
+            case CompiledArgumentParser.KIND_INT:
+            case CompiledArgumentParser.KIND_LONG: return primitiveAt(slot);
+            case CompiledArgumentParser.KIND_DOUBLE: return Double.longBitsToDouble(primitiveAt(slot));
+            case CompiledArgumentParser.KIND_OBJECT: return (Double)objectAt(slot);
+            default: throw wrongType(name, "a double");
+        }
+    }
+    
+    private static ClassCastException wrongType(String name, String type){
+        return new ClassCastException(String.format(
+            "Argument \"%s\" is not %s", name, type
+        ));
+    }
+    
+    /**
+     * Gets a list argument of ints, see
+     * {@link net.gudenau.lib.argument.Arguments#intList(boolean) Arguments.intList}.
+     *
+     * The array is shared with other readers of this result and must
+     * not be modified.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed, empty if the argument is absent
+     * */
+    @NonNull
+    public int[] getInts(@NonNull String name){
+        Object values = listOf(name);
+        if(values == null){
+            return EMPTY_INTS;
+        }else if(values instanceof int[]){
+            return (int[])values;
+        }
+        throw wrongType(name, "an int list");
+    }
+    
+    /**
+     * Streams a list argument of ints without copying it.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed
+     * */
+    @NonNull
+    public IntStream getIntStream(@NonNull String name){
+        return Arrays.stream(getInts(name));
+    }
+    
+    /**
+     * Gets a list argument of longs, see
+     * {@link net.gudenau.lib.argument.Arguments#longList(boolean) Arguments.longList}.
+     *
+     * The array is shared with other readers of this result and must
+     * not be modified.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed, empty if the argument is absent
+     * */
+    @NonNull
+    public long[] getLongs(@NonNull String name){
+        Object values = listOf(name);
+        if(values == null){
+            return EMPTY_LONGS;
+        }else if(values instanceof long[]){
+            return (long[])values;
+        }
+        throw wrongType(name, "a long list");
+    }
+    
+    /**
+     * Streams a list argument of longs without copying it.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed
+     * */
+    @NonNull
+    public LongStream getLongStream(@NonNull String name){
+        return Arrays.stream(getLongs(name));
+    }
+    
+    /**
+     * Gets a list argument of doubles, see
+     * {@link net.gudenau.lib.argument.Arguments#decimalList(boolean) Arguments.decimalList}.
+     *
+     * The array is shared with other readers of this result and must
+     * not be modified.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed, empty if the argument is absent
+     * */
+    @NonNull
+    public double[] getDoubles(@NonNull String name){
+        Object values = listOf(name);
+        if(values == null){
+            return EMPTY_DOUBLES;
+        }else if(values instanceof double[]){
+            return (double[])values;
+        }
+        throw wrongType(name, "a double list");
+    }
+    
+    /**
+     * Streams a list argument of doubles without copying it.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed
+     * */
+    @NonNull
+    public DoubleStream getDoubleStream(@NonNull String name){
+        return Arrays.stream(getDoubles(name));
+    }
+    
+    /**
+     * Gets a list argument of strings, see
+     * {@link net.gudenau.lib.argument.Arguments#stringList(boolean) Arguments.stringList}.
+     *
+     * The array is shared with other readers of this result and must
+     * not be modified.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed, empty if the argument is absent
+     * */
+    @NonNull
+    public String[] getStrings(@NonNull String name){
+        Object values = listOf(name);
+        if(values == null){
+            return EMPTY_STRINGS;
+        }else if(values instanceof String[]){
+            return (String[])values;
+        }
+        throw wrongType(name, "a string list");
+    }
+    
+    /**
+     * Streams a list argument of strings without copying it.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The values in the order they were passed
+     * */
+    @NonNull
+    public Stream<String> getStringStream(@NonNull String name){
+        return Arrays.stream(getStrings(name));
+    }
+    
+    /**
+     * Gets a list argument of paths, see
+     * {@link net.gudenau.lib.argument.Arguments#pathList(boolean, PathCheck...) Arguments.pathList}.
+     *
+     * The array is shared with other readers of this result and must
+     * not be modified.
+     *
+     * @param name The name of the argument to get
+     *
+     * @return The checked paths in the order they were passed, empty if the argument is absent
+     * */
+    @NonNull
+    public Path[] getPaths(@NonNull String name){
+        Object values = listOf(name);
+        if(values == null){
+            return EMPTY_PATHS;
+        }else if(values instanceof Path[]){
+            return (Path[])values;
+        }
+        throw wrongType(name, "a path list");
+    }
+    
+    /**
+     * Gets the array of a list slot, or null if it is absent.
+     * */
+    private Object listOf(String name){
+        int slot = parser.slotOf(Objects.requireNonNull(name));
+        if(!isPresent(slot)){
+            return null;
+        }
+        if(parser.kindOf(slot) != CompiledArgumentParser.KIND_LIST){
+            throw wrongType(name, "a list");
+        }
+        return objectAt(slot);
     }
     
     /**
@@ -109,7 +455,7 @@ public class ArgumentResult{
      * @return The result
      * */
     public boolean getFlag(@NonNull String name){
-        return results.get(name) != null;
+        return isPresent(parser.slotOf(Objects.requireNonNull(name)));
     }
     
     /**
@@ -129,4 +475,89 @@ public class ArgumentResult{
             return type.cast(result);
         }
     }
+    
+    /**
+     * Gets an argument through its key.
+     *
+     * @param key The key of the argument
+     * @param <T> The type of the argument
+     *
+     * @return The result or null if it is absent
+     * */
+    @Nullable
+    public <T> T get(@NonNull ArgumentKey<T> key){
+        int slot = parser.slotOf(Objects.requireNonNull(key));
+        Object value;
+        if(parser.kindOf(slot) == CompiledArgumentParser.KIND_OBJECT){
+            value = isPresent(slot) ? objectAt(slot) : null;
+        }else{
+            value = valueOf(slot);
+        }
+        
+        @SuppressWarnings("unchecked")
+        T result = (T)value;
+        return result;
+    }
+    
+    /**
+     * Gets an int argument through its key without boxing.
+     *
+     * @param key The key of the argument
+     * @param absent The value to return if the argument is absent
+     *
+     * @return The result
+     * */
+    public int getInt(@NonNull ArgumentKey<Integer> key, int absent){
+        int slot = parser.slotOf(Objects.requireNonNull(key));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        return parser.kindOf(slot) == CompiledArgumentParser.KIND_INT ? (int)primitiveAt(slot) : (Integer)objectAt(slot);
+    }
+    
+    /**
+     * Gets a long argument through its key without boxing.
+     *
+     * @param key The key of the argument
+     * @param absent The value to return if the argument is absent
+     *
+     * @return The result
+     * */
+    public long getLong(@NonNull ArgumentKey<Long> key, long absent){
+        int slot = parser.slotOf(Objects.requireNonNull(key));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        return parser.kindOf(slot) == CompiledArgumentParser.KIND_LONG ? primitiveAt(slot) : (Long)objectAt(slot);
+    }
+    
+    /**
+     * Gets a double argument through its key without boxing.
+     *
+     * @param key The key of the argument
+     * @param absent The value to return if the argument is absent
+     *
+     * @return The result
+     * */
+    public double getDouble(@NonNull ArgumentKey<Double> key, double absent){
+        int slot = parser.slotOf(Objects.requireNonNull(key));
+        if(!isPresent(slot)){
+            return absent;
+        }
+        
+        return parser.kindOf(slot) == CompiledArgumentParser.KIND_DOUBLE ? Double.longBitsToDouble(primitiveAt(slot)) : (Double)objectAt(slot);
+    }
+    
+    /**
+     * Checks if an argument is present, either passed or a default.
+     *
+     * @param key The key of the argument
+     *
+     * @return True if the argument is present
+     * */
+    public boolean isPresent(@NonNull ArgumentKey<?> key){
+        return isPresent(parser.slotOf(Objects.requireNonNull(key)));
+    }
 }
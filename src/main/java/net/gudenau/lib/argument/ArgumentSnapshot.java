@@ -0,0 +1,552 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Nullable;
+import net.gudenau.lib.argument.implementation.ListArgument;
+
+/**
+ * A compact binary encoding of an {@link net.gudenau.lib.argument.ArgumentResult ArgumentResult},
+ * to hand a parsed command line to child processes or to keep it for
+ * the next run.
+ *
+ * A snapshot holds one record for every slot that does not have the
+ * value a parse starts with: the slot, a type tag and the value as a
+ * primitive or as UTF-8. Reading it back starts from the defaults of
+ * the parser and stores the records, nothing is tokenized or
+ * converted again and a mapped file is read in place. Strings, files,
+ * paths, enums, primitives and lists of them can be written, other
+ * values can not. Paths are not checked again when they are read.
+ *
+ * Every snapshot carries the hash of the registrations of the parser
+ * that wrote it, a parser with different options or registrations
+ * rejects it. All numbers are little endian:
+ * <pre>
+ * int    magic "ARGS"
+ * short  version
+ * short  flags, 1 if a digest of the command line follows the header
+ * long   schema hash
+ * int    record count
+ * string subcommand, length -1 for none
+ * [byte[32] SHA-256 of the command line]
+ * records: int slot, byte tag, value
+ * </pre>
+ * A string is an int byte length followed by UTF-8, a list is an int
+ * count followed by the elements.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ArgumentSnapshot{
+    private static final int MAGIC = 'A' | ('R' << 8) | ('G' << 16) | ('S' << 24);
+    private static final short VERSION = 2;
+    private static final short FLAG_DIGEST = 1;
+    /**
+     * The length of the command line digest.
+     * */
+    static final int DIGEST_LENGTH = 32;
+    /**
+     * Files of at least this size are mapped, smaller ones are cheaper
+     * to read.
+     * */
+    private static final long MAP_THRESHOLD = 64 * 1024;
+    
+    private static final byte TAG_ABSENT = 0;
+    private static final byte TAG_FLAG = 1;
+    private static final byte TAG_INT = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_NULL = 5;
+    private static final byte TAG_STRING = 6;
+    private static final byte TAG_FILE = 7;
+    private static final byte TAG_ENUM = 8;
+    private static final byte TAG_INTS = 9;
+    private static final byte TAG_LONGS = 10;
+    private static final byte TAG_DOUBLES = 11;
+    /**
+     * A list of objects, followed by the tag of the elements.
+     * */
+    private static final byte TAG_OBJECTS = 12;
+    private static final byte TAG_PATH = 13;
+    
+    private ArgumentSnapshot(){}
+    
+    /**
+     * Encodes a result.
+     *
+     * @param result The result
+     *
+     * @return A buffer with the snapshot between its position and limit
+     *
+     * @throws IllegalArgumentException If a value can not be written
+     * */
+    @NonNull
+    public static ByteBuffer encode(@NonNull ArgumentResult result){
+        return encode(result, null);
+    }
+    
+    /**
+     * Encodes a result and the digest of the command line it was parsed
+     * from.
+     *
+     * @return A buffer with the snapshot between its position and limit
+     * */
+    static ByteBuffer encode(ArgumentResult result, byte[] digest){
+        CompiledArgumentParser parser = result.getParser();
+        Output output = new Output();
+        output.buffer.putInt(MAGIC);
+        output.buffer.putShort(VERSION);
+        output.buffer.putShort(digest == null ? 0 : FLAG_DIGEST);
+        output.buffer.putLong(parser.getSchemaHash());
+        int countPosition = output.buffer.position();
+        output.buffer.putInt(0);
+        output.putString(parser.getCommand());
+        if(digest != null){
+            output.ensure(DIGEST_LENGTH);
+            output.buffer.put(digest);
+        }
+        
+        int records = 0;
+        for(int slot = 0; slot < parser.getArgumentCount(); slot++){
+            if(!result.isDefault(slot)){
+                // Two instances of a custom type can convert differently and still hash the same
+                if(digest != null && result.isPresent(slot) && parser.isCustom(slot)){
+                    throw new IllegalArgumentException(String.format(
+                        "%s has a custom argument type, it is not written to the snapshot cache",
+                        parser.nameOf(slot)
+                    ));
+                }
+                output.putInt(slot);
+                putValue(output, result, parser, slot);
+                records++;
+            }
+        }
+        
+        ByteBuffer buffer = output.buffer;
+        buffer.putInt(countPosition, records);
+        buffer.flip();
+        return buffer;
+    }
+    
+    private static void putValue(Output output, ArgumentResult result, CompiledArgumentParser parser, int slot){
+        if(!result.isPresent(slot)){
+            output.putByte(TAG_ABSENT);
+            return;
+        }
+        switch(parser.kindOf(slot)){
+            case CompiledArgumentParser.KIND_FLAG: output.putByte(TAG_FLAG); return;
+            case CompiledArgumentParser.KIND_INT: output.putByte(TAG_INT); output.putInt((int)result.primitiveAt(slot)); return;
+            case CompiledArgumentParser.KIND_LONG: output.putByte(TAG_LONG); output.putLong(result.primitiveAt(slot)); return;
+            case CompiledArgumentParser.KIND_DOUBLE: output.putByte(TAG_DOUBLE); output.putLong(result.primitiveAt(slot)); return;
+            default: break;
+        }
+        
+        Object value = result.objectAt(slot);
+        if(value == null){
+            output.putByte(TAG_NULL);
+        }else if(value instanceof int[]){
+            int[] values = (int[])value;
+            output.putByte(TAG_INTS);
+            output.putInt(values.length);
+            for(int element : values){
+                output.putInt(element);
+            }
+        }else if(value instanceof long[]){
+            long[] values = (long[])value;
+            output.putByte(TAG_LONGS);
+            output.putInt(values.length);
+            for(long element : values){
+                output.putLong(element);
+            }
+        }else if(value instanceof double[]){
+            double[] values = (double[])value;
+            output.putByte(TAG_DOUBLES);
+            output.putInt(values.length);
+            for(double element : values){
+                output.putLong(Double.doubleToRawLongBits(element));
+            }
+        }else if(value instanceof Object[]){
+            Object[] values = (Object[])value;
+            byte tag = tagOf(values.getClass().getComponentType());
+            if(tag == -1){
+                throw unsupported(parser, slot, value);
+            }
+            output.putByte(TAG_OBJECTS);
+            output.putByte(tag);
+            output.putInt(values.length);
+            for(Object element : values){
+                output.putString(stringOf(element));
+            }
+        }else{
+            byte tag = tagOf(value.getClass());
+            if(tag == -1){
+                throw unsupported(parser, slot, value);
+            }
+            output.putByte(tag);
+            output.putString(stringOf(value));
+        }
+    }
+    
+    /**
+     * Gets the tag of a class of objects that are written as strings.
+     *
+     * @return The tag or -1
+     * */
+    private static byte tagOf(Class<?> type){
+        if(type == String.class){
+            return TAG_STRING;
+        }else if(type == File.class){
+            return TAG_FILE;
+        }else if(Path.class.isAssignableFrom(type)){
+            return TAG_PATH;
+        }else if(Enum.class.isAssignableFrom(type) && EnumArgument.class.isAssignableFrom(type)){
+            return TAG_ENUM;
+        }
+        return -1;
+    }
+    
+    private static String stringOf(Object value){
+        if(value instanceof File){
+            return ((File)value).getPath();
+        }else if(value instanceof Path){
+            return value.toString();
+        }else if(value instanceof EnumArgument){
+            return ((EnumArgument)value).getArgumentName();
+        }
+        return (String)value;
+    }
+    
+    private static IllegalArgumentException unsupported(CompiledArgumentParser parser, int slot, Object value){
+        return new IllegalArgumentException(String.format(
+            "%s has a value of type %s that can not be written to a snapshot",
+            parser.nameOf(slot), value.getClass().getName()
+        ));
+    }
+    
+    /**
+     * Encodes a result into a file, the file is replaced atomically.
+     *
+     * @param result The result
+     * @param path The file
+     *
+     * @throws IOException If the file could not be written
+     * @throws IllegalArgumentException If a value can not be written
+     * */
+    public static void write(@NonNull ArgumentResult result, @NonNull Path path) throws IOException{
+        write(encode(result), path);
+    }
+    
+    static void write(ByteBuffer buffer, Path path) throws IOException{
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, ".snapshot", ".tmp");
+        try{
+            try(FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)){
+                while(buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(IOException e){
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+    
+    /**
+     * Decodes a snapshot, the position of the buffer is not changed.
+     *
+     * If the result belongs to a subcommand the parser of the
+     * subcommand is looked up from this parser.
+     *
+     * @param parser The parser of the program that wrote the snapshot
+     * @param buffer The snapshot
+     *
+     * @return The result
+     *
+     * @throws IllegalArgumentException If the snapshot is malformed or
+     *          was written by a parser with other registrations
+     * */
+    @NonNull
+    public static ArgumentResult decode(@NonNull CompiledArgumentParser parser, @NonNull ByteBuffer buffer){
+        return decode(parser, buffer, null);
+    }
+    
+    /**
+     * Decodes a snapshot if it was written for a command line.
+     *
+     * @param digest The digest of the command line that has to match or null for any
+     *
+     * @return The result or null if the command line is different
+     * */
+    static ArgumentResult decode(CompiledArgumentParser parser, ByteBuffer buffer, byte[] digest){
+        Objects.requireNonNull(parser);
+        ByteBuffer input = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        try{
+            if(input.getInt() != MAGIC){
+                throw new IllegalArgumentException("Not an argument snapshot");
+            }
+            short version = input.getShort();
+            if(version != VERSION){
+                throw new IllegalArgumentException(String.format(
+                    "Unsupported snapshot version %d", version
+                ));
+            }
+            short flags = input.getShort();
+            long schema = input.getLong();
+            int records = input.getInt();
+            String command = getString(input);
+            
+            if(digest != null){
+                if((flags & FLAG_DIGEST) == 0){
+                    return null;
+                }
+                for(byte b : digest){
+                    if(b != input.get()){
+                        return null;
+                    }
+                }
+            }else if((flags & FLAG_DIGEST) != 0){
+                if(input.remaining() < DIGEST_LENGTH){
+                    throw corrupt();
+                }
+                input.position(input.position() + DIGEST_LENGTH);
+            }
+            
+            if(command != null){
+                for(String word : command.split(" ")){
+                    CompiledArgumentParser subcommand = parser.getCommandParser(word);
+                    if(subcommand == null){
+                        throw new IllegalArgumentException(String.format(
+                            "Snapshot is for unknown command \"%s\"", command
+                        ));
+                    }
+                    parser = subcommand;
+                }
+            }
+            if(schema != parser.getSchemaHash()){
+                throw new IllegalArgumentException("Snapshot was written by a parser with other arguments");
+            }
+            
+            Object[] objects = parser.copyObjectDefaults();
+            long[] primitives = parser.copyPrimitiveDefaults();
+            long[] present = parser.copyDefaultMask();
+            LazyValue[] lazy = parser.copyLazyDefaults();
+            for(int i = 0; i < records; i++){
+                int slot = input.getInt();
+                if(slot < 0 || slot >= parser.getArgumentCount()){
+                    throw corrupt();
+                }
+                getValue(input, parser, slot, objects, primitives, present);
+                if(lazy != null){
+                    lazy[slot] = null;
+                }
+            }
+            return new ArgumentResult(parser, objects, primitives, lazy, present);
+        }catch(BufferUnderflowException e){
+            throw corrupt();
+        }
+    }
+    
+    private static void getValue(ByteBuffer input, CompiledArgumentParser parser, int slot, Object[] objects, long[] primitives, long[] present){
+        byte tag = input.get();
+        byte kind = parser.kindOf(slot);
+        int index = parser.storageOf(slot);
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if(tag == TAG_ABSENT){
+            present[word] &= ~bit;
+            return;
+        }
+        present[word] |= bit;
+        
+        switch(kind){
+            case CompiledArgumentParser.KIND_FLAG: expect(tag, TAG_FLAG); return;
+            case CompiledArgumentParser.KIND_INT: expect(tag, TAG_INT); primitives[index] = input.getInt(); return;
+            case CompiledArgumentParser.KIND_LONG: expect(tag, TAG_LONG); primitives[index] = input.getLong(); return;
+            case CompiledArgumentParser.KIND_DOUBLE: expect(tag, TAG_DOUBLE); primitives[index] = input.getLong(); return;
+            default: break;
+        }
+        
+        if(tag != TAG_NULL && (tag >= TAG_INTS && tag <= TAG_OBJECTS) != (kind == CompiledArgumentParser.KIND_LIST)){
+            throw corrupt();
+        }
+        Argument<?> argument = parser.argumentOf(slot);
+        switch(tag){
+            case TAG_NULL: objects[index] = null; break;
+            case TAG_STRING:
+            case TAG_FILE:
+            case TAG_PATH:
+            case TAG_ENUM: objects[index] = getObject(input, tag, argument); break;
+            case TAG_INTS: {
+                int[] values = new int[getCount(input, 4)];
+                input.asIntBuffer().get(values);
+                input.position(input.position() + (values.length << 2));
+                objects[index] = values;
+            } break;
+            case TAG_LONGS: {
+                long[] values = new long[getCount(input, 8)];
+                input.asLongBuffer().get(values);
+                input.position(input.position() + (values.length << 3));
+                objects[index] = values;
+            } break;
+            case TAG_DOUBLES: {
+                double[] values = new double[getCount(input, 8)];
+                input.asDoubleBuffer().get(values);
+                input.position(input.position() + (values.length << 3));
+                objects[index] = values;
+            } break;
+            case TAG_OBJECTS: {
+                ListArgument<?> list = parser.listArgumentOf(slot);
+                byte elementTag = input.get();
+                Object[] values = (Object[])Array.newInstance(list.getElementType(), getCount(input, 4));
+                for(int i = 0; i < values.length; i++){
+                    values[i] = getObject(input, elementTag, list.getElement());
+                }
+                objects[index] = values;
+            } break;
+            default: throw corrupt();
+        }
+    }
+    
+    /**
+     * Reads an object that was written as a string, enums are looked up
+     * by the argument of their slot.
+     * */
+    private static Object getObject(ByteBuffer input, byte tag, Argument<?> argument){
+        String value = getString(input);
+        if(value == null){
+            throw corrupt();
+        }
+        switch(tag){
+            case TAG_STRING: return value;
+            case TAG_FILE: return new File(value);
+            case TAG_PATH: return Paths.get(value);
+            case TAG_ENUM: return argument.getValue(value);
+            default: throw corrupt();
+        }
+    }
+    
+    /**
+     * Reads the length of a list and checks that the elements fit.
+     * */
+    private static int getCount(ByteBuffer input, int size){
+        int count = input.getInt();
+        if(count < 0 || count > input.remaining() / size){
+            throw corrupt();
+        }
+        return count;
+    }
+    
+    private static String getString(ByteBuffer input){
+        int length = input.getInt();
+        if(length == -1){
+            return null;
+        }else if(length < 0 || length > input.remaining()){
+            throw corrupt();
+        }
+        
+        String string;
+        if(input.hasArray()){
+            string = new String(input.array(), input.arrayOffset() + input.position(), length, StandardCharsets.UTF_8);
+        }else{
+            byte[] bytes = new byte[length];
+            input.duplicate().get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+        }
+        input.position(input.position() + length);
+        return string;
+    }
+    
+    private static void expect(byte tag, byte expected){
+        if(tag != expected){
+            throw corrupt();
+        }
+    }
+    
+    private static IllegalArgumentException corrupt(){
+        return new IllegalArgumentException("Corrupt argument snapshot");
+    }
+    
+    /**
+     * Reads a snapshot file and decodes it, large files are mapped and
+     * decoded in place.
+     *
+     * @param parser The parser of the program that wrote the snapshot
+     * @param path The file
+     *
+     * @return The result
+     *
+     * @throws IOException If the file could not be read
+     * @throws IllegalArgumentException If the snapshot is malformed or
+     *          was written by a parser with other registrations
+     * */
+    @NonNull
+    public static ArgumentResult read(@NonNull CompiledArgumentParser parser, @NonNull Path path) throws IOException{
+        return decode(parser, load(path), null);
+    }
+    
+    static ByteBuffer load(Path path) throws IOException{
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            long size = channel.size();
+            if(size >= MAP_THRESHOLD){
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int)size);
+            while(buffer.hasRemaining() && channel.read(buffer) != -1){}
+            buffer.flip();
+            return buffer;
+        }
+    }
+    
+    /**
+     * A little endian buffer that grows as it is written.
+     * */
+    private static final class Output{
+        private ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        
+        private void ensure(int size){
+            if(buffer.remaining() < size){
+                int capacity = Math.max(buffer.capacity() << 1, buffer.position() + size);
+                buffer.flip();
+                buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN).put(buffer);
+            }
+        }
+        
+        private void putByte(byte value){
+            ensure(1);
+            buffer.put(value);
+        }
+        
+        private void putInt(int value){
+            ensure(4);
+            buffer.putInt(value);
+        }
+        
+        private void putLong(long value){
+            ensure(8);
+            buffer.putLong(value);
+        }
+        
+        private void putString(@Nullable String value){
+            if(value == null){
+                putInt(-1);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensure(4 + bytes.length);
+            buffer.putInt(bytes.length);
+            buffer.put(bytes);
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.function.Supplier;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Nullable;
+import net.gudenau.lib.argument.implementation.DoubleArgument;
+import net.gudenau.lib.argument.implementation.DurationArgument;
+import net.gudenau.lib.argument.implementation.EmptyArgument;
+import net.gudenau.lib.argument.implementation.EnumArgumentImplementation;
+import net.gudenau.lib.argument.implementation.FileArgument;
+import net.gudenau.lib.argument.implementation.IntegerArgument;
+import net.gudenau.lib.argument.implementation.ListArgument;
+import net.gudenau.lib.argument.implementation.LongArgument;
+import net.gudenau.lib.argument.implementation.PathArgument;
+import net.gudenau.lib.argument.implementation.SizeArgument;
+import net.gudenau.lib.argument.implementation.StringArgument;
+import net.gudenau.lib.argument.implementation.SuppliedDefaultArgument;
+
+/**
+ * Factories for the built in argument types.
+ *
+ * Mostly useful with
+ * {@link net.gudenau.lib.argument.ArgumentParser#registerKey(String, Argument) ArgumentParser.registerKey}.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class Arguments{
+    private Arguments(){}
+    
+    /**
+     * Creates a new file argument.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<File> file(@Nullable File defaultValue, boolean required){
+        return new FileArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new path argument.
+     *
+     * The checks are not run while the command line is tokenized, the
+     * parser checks the paths of all path arguments at once after that
+     * and reports every path that failed. A path that is replaced by
+     * its real path is canonical in the result. Default values are not
+     * checked, command lines that set a checked path are never cached
+     * so the checks run on every parse.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     * @param checks The checks of the path
+     *
+     * @return The argument
+     * */
+    public static Argument<Path> path(@Nullable Path defaultValue, boolean required, @NonNull PathCheck... checks){
+        return new PathArgument(defaultValue, required, checks);
+    }
+    
+    /**
+     * Creates a new list argument of paths, see
+     * {@link #list(Argument, Class, char, boolean)} and
+     * {@link #path(Path, boolean, PathCheck...)}. The elements are
+     * separated by the path separator of the platform and every
+     * element is checked.
+     *
+     * @param required Pass true if the argument is required
+     * @param checks The checks of every path
+     *
+     * @return The argument
+     * */
+    public static Argument<Path[]> pathList(boolean required, @NonNull PathCheck... checks){
+        return list(path(null, false, checks), Path.class, File.pathSeparatorChar, required);
+    }
+    
+    /**
+     * Creates a new string argument.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<String> string(@Nullable String defaultValue, boolean required){
+        return new StringArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new integer argument, a default of 0 means no default.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument.OfInt integer(int defaultValue, boolean required){
+        return new IntegerArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new integer argument that takes decimal values and hex
+     * values with a "0x" prefix, a default of 0 means no default.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument.OfInt hexInteger(int defaultValue, boolean required){
+        return new IntegerArgument(defaultValue, required, true);
+    }
+    
+    /**
+     * Creates a new long argument, a default of 0 means no default.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument.OfLong longInteger(long defaultValue, boolean required){
+        return new LongArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new long argument that takes decimal values and hex
+     * values with a "0x" prefix, a default of 0 means no default.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument.OfLong hexLongInteger(long defaultValue, boolean required){
+        return new LongArgument(defaultValue, required, true);
+    }
+    
+    /**
+     * Creates a new double argument, a default of 0 means no default.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument.OfDouble decimal(double defaultValue, boolean required){
+        return new DoubleArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new size argument, a default of 0 means no default.
+     *
+     * Sizes are a non-negative number of bytes with an optional unit,
+     * "512m" or "4GiB" for example. The units b, k, m, g, t, p and e
+     * ignore case, may be followed by "b" or "ib" and are all powers of
+     * 1024 like the JVM memory options. Fractions like "1.5g" are
+     * rounded down to whole bytes.
+     *
+     * @param defaultValue The default size in bytes
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument, its values are in bytes
+     * */
+    public static Argument.OfLong size(long defaultValue, boolean required){
+        return new SizeArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new duration argument, a default of 0 means no default.
+     *
+     * Durations are one or more non-negative numbers that each have a
+     * unit, "250ms", "2h" or "1h30m" for example. The units are ns, us,
+     * ms, s, m or min, h and d, ignoring case. Fractions like "1.5s" are
+     * rounded down to whole nanoseconds.
+     *
+     * @param defaultValue The default duration in nanoseconds
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument, its values are in nanoseconds
+     * */
+    public static Argument.OfLong duration(long defaultValue, boolean required){
+        return new DurationArgument(defaultValue, required);
+    }
+    
+    /**
+     * Creates a new enum argument.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     * @param type The type of the enum
+     * @param <T> The type of the enum, must implement {@link net.gudenau.lib.argument.EnumArgument}
+     *
+     * @return The argument
+     * */
+    public static <T extends Enum<?> & EnumArgument> Argument<T> enumeration(@Nullable T defaultValue, boolean required, @NonNull Class<T> type){
+        return new EnumArgumentImplementation<>(defaultValue, required, Objects.requireNonNull(type));
+    }
+    
+    /**
+     * Creates a new enum argument that matches values in the given way.
+     *
+     * @param defaultValue The default value of this argument
+     * @param required Pass true if the argument is required
+     * @param type The type of the enum
+     * @param matching How values are matched to the constants
+     * @param <T> The type of the enum, must implement {@link net.gudenau.lib.argument.EnumArgument}
+     *
+     * @return The argument
+     * */
+    public static <T extends Enum<?> & EnumArgument> Argument<T> enumeration(@Nullable T defaultValue, boolean required, @NonNull Class<T> type, @NonNull EnumMatching matching){
+        return new EnumArgumentImplementation<>(defaultValue, required, Objects.requireNonNull(type), Objects.requireNonNull(matching));
+    }
+    
+    /**
+     * Creates a new list argument of ints, see
+     * {@link #list(Argument.OfInt, char, boolean)}. The elements are
+     * separated by commas.
+     *
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<int[]> intList(boolean required){
+        return list(integer(0, false), ',', required);
+    }
+    
+    /**
+     * Creates a new list argument of longs, see
+     * {@link #list(Argument.OfLong, char, boolean)}. The elements are
+     * separated by commas.
+     *
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<long[]> longList(boolean required){
+        return list(longInteger(0, false), ',', required);
+    }
+    
+    /**
+     * Creates a new list argument of doubles, see
+     * {@link #list(Argument.OfDouble, char, boolean)}. The elements are
+     * separated by commas.
+     *
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<double[]> decimalList(boolean required){
+        return list(decimal(0, false), ',', required);
+    }
+    
+    /**
+     * Creates a new list argument of strings, see
+     * {@link #list(Argument, Class, char, boolean)}. The elements are
+     * separated by commas.
+     *
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<String[]> stringList(boolean required){
+        return list(string(null, false), String.class, ',', required);
+    }
+    
+    /**
+     * Creates a new list argument with int elements.
+     *
+     * The argument can be passed any number of times and every value
+     * can hold several elements split by the separator, all elements
+     * are collected into one int[] in the order they were passed. The
+     * elements are parsed straight into the array without boxing.
+     *
+     * Values after an equals sign follow the same character rules as
+     * other values, with the separator allowed as well, so both
+     * "-port=80,443" and "-port 80,443" work.
+     *
+     * @param element The argument that parses every element
+     * @param separator The character between elements
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<int[]> list(@NonNull Argument.OfInt element, char separator, boolean required){
+        return new ListArgument<>(Objects.requireNonNull(element), int.class, separator, required);
+    }
+    
+    /**
+     * Creates a new list argument with long elements, like
+     * {@link #list(Argument.OfInt, char, boolean)} but collected into a
+     * long[].
+     *
+     * @param element The argument that parses every element
+     * @param separator The character between elements
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<long[]> list(@NonNull Argument.OfLong element, char separator, boolean required){
+        return new ListArgument<>(Objects.requireNonNull(element), long.class, separator, required);
+    }
+    
+    /**
+     * Creates a new list argument with double elements, like
+     * {@link #list(Argument.OfInt, char, boolean)} but collected into a
+     * double[].
+     *
+     * @param element The argument that parses every element
+     * @param separator The character between elements
+     * @param required Pass true if the argument is required
+     *
+     * @return The argument
+     * */
+    public static Argument<double[]> list(@NonNull Argument.OfDouble element, char separator, boolean required){
+        return new ListArgument<>(Objects.requireNonNull(element), double.class, separator, required);
+    }
+    
+    /**
+     * Creates a new list argument with object elements, like
+     * {@link #list(Argument.OfInt, char, boolean)} but collected into
+     * an array of the element type.
+     *
+     * @param element The argument that parses every element, can not be a flag or a list
+     * @param type The type of the elements
+     * @param separator The character between elements
+     * @param required Pass true if the argument is required
+     * @param <T> The type of the elements
+     *
+     * @return The argument
+     * */
+    public static <T> Argument<T[]> list(@NonNull Argument<T> element, @NonNull Class<T> type, char separator, boolean required){
+        if(type.isPrimitive()){
+            throw new IllegalArgumentException("Primitive elements need a primitive argument");
+        }
+        return new ListArgument<>(Objects.requireNonNull(element), type, separator, required);
+    }
+    
+    /**
+     * Creates a new flag argument.
+     *
+     * @return The argument
+     * */
+    public static Argument<Boolean> flag(){
+        return new EmptyArgument();
+    }
+    
+    /**
+     * Gives an argument a default that is computed the first time it is
+     * needed. The parser calls the supplier at most once, not when the
+     * argument is registered or when the command line is parsed.
+     *
+     * @param argument The argument
+     * @param defaultValue The supplier of the default value
+     * @param <T> The type of the argument
+     *
+     * @return The argument with the new default
+     * */
+    public static <T> Argument<T> withDefault(@NonNull Argument<T> argument, @NonNull Supplier<? extends T> defaultValue){
+        return new SuppliedDefaultArgument<>(Objects.requireNonNull(argument), Objects.requireNonNull(defaultValue));
+    }
+}
@@ -0,0 +1,64 @@
+package net.gudenau.lib.argument;
+
+/**
+ * A snapshot of the counters of the result cache of an
+ * {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class CacheStatistics{
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    
+    CacheStatistics(long hits, long misses, long evictions, int size){
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.size = size;
+    }
+    
+    /**
+     * Gets the number of parses that were answered from the cache.
+     *
+     * @return The hit count
+     * */
+    public long getHits(){
+        return hits;
+    }
+    
+    /**
+     * Gets the number of parses that were not in the cache.
+     *
+     * @return The miss count
+     * */
+    public long getMisses(){
+        return misses;
+    }
+    
+    /**
+     * Gets the number of entries that were removed to make room.
+     *
+     * @return The eviction count
+     * */
+    public long getEvictions(){
+        return evictions;
+    }
+    
+    /**
+     * Gets the number of entries in the cache.
+     *
+     * @return The size
+     * */
+    public int getSize(){
+        return size;
+    }
+    
+    @Override
+    public String toString(){
+        return String.format(
+            "CacheStatistics{hits=%d, misses=%d, evictions=%d, size=%d}",
+            hits, misses, evictions, size
+        );
+    }
+}
@@ -0,0 +1,1556 @@
+package net.gudenau.lib.argument;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Nullable;
+import net.gudenau.lib.argument.implementation.ArgumentTokenizer;
+import net.gudenau.lib.argument.implementation.EmptyArgument;
+import net.gudenau.lib.argument.implementation.EnumArgumentImplementation;
+import net.gudenau.lib.argument.implementation.IntegerArgument;
+import net.gudenau.lib.argument.implementation.ListArgument;
+import net.gudenau.lib.argument.implementation.LongArgument;
+import net.gudenau.lib.argument.implementation.NameIndex;
+import net.gudenau.lib.argument.implementation.NameTrie;
+import net.gudenau.lib.argument.implementation.PathArgument;
+import net.gudenau.lib.argument.implementation.PathChecker;
+import net.gudenau.lib.argument.implementation.SuppliedDefaultArgument;
+import net.gudenau.lib.argument.implementation.TokenStream;
+import net.gudenau.lib.argument.implementation.ValueList;
+
+/**
+ * An immutable snapshot of the arguments registered with an
+ * {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}.
+ *
+ * Every argument gets a fixed slot, names are resolved through a
+ * perfect hash table and the defaults and required arguments are
+ * computed once. The cost of a parse only depends on the tokens
+ * that where passed, not on how many arguments are registered.
+ *
+ * Instances are created with
+ * {@link net.gudenau.lib.argument.ArgumentParser#compile() ArgumentParser.compile}
+ * and can be shared between threads.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class CompiledArgumentParser{
+    /**
+     * A slot that holds an object.
+     * */
+    static final byte KIND_OBJECT = 0;
+    /**
+     * A slot that holds a flag, flags are only stored as presence.
+     * */
+    static final byte KIND_FLAG = 1;
+    /**
+     * A slot that holds an int in the primitive storage.
+     * */
+    static final byte KIND_INT = 2;
+    /**
+     * A slot that holds a long in the primitive storage.
+     * */
+    static final byte KIND_LONG = 3;
+    /**
+     * A slot that holds the bits of a double in the primitive storage.
+     * */
+    static final byte KIND_DOUBLE = 4;
+    /**
+     * A slot that collects a list, a {@link ValueList} in the object
+     * storage while parsing and its array after.
+     * */
+    static final byte KIND_LIST = 5;
+    
+    /**
+     * The names of the arguments, indexed by slot.
+     * */
+    private final String[] names;
+    /**
+     * The arguments, indexed by slot.
+     * */
+    private final Argument<?>[] argumentTable;
+    /**
+     * The kind of every slot.
+     * */
+    private final byte[] kinds;
+    /**
+     * The index of every slot in the object or primitive storage.
+     * */
+    private final int[] storage;
+    /**
+     * The name to slot lookup table.
+     * */
+    private final NameIndex index;
+    /**
+     * The object values every parse starts with.
+     * */
+    private final Object[] objectDefaults;
+    /**
+     * The primitive values every parse starts with.
+     * */
+    private final long[] primitiveDefaults;
+    /**
+     * The slots that have a default value.
+     * */
+    private final long[] defaultMask;
+    /**
+     * The slots that are required and have no default value.
+     * */
+    private final long[] requiredMask;
+    /**
+     * Checks the tokenizer against the old regular expressions.
+     * */
+    private final boolean compatibilityMode;
+    /**
+     * Expands @file tokens.
+     * */
+    private final boolean argumentFiles;
+    /**
+     * Converts values when they are first read instead of while parsing.
+     * */
+    private final boolean lazyConversion;
+    /**
+     * The defaults that are computed when they are first read, null if
+     * there are none.
+     * */
+    private final LazyValue[] lazyDefaults;
+    /**
+     * The slots that collect lists.
+     * */
+    private final int[] listSlots;
+    /**
+     * The slots of path arguments with checks, they are never lazy.
+     * */
+    private final int[] pathSlots;
+    private final long[] pathMask;
+    /**
+     * The largest number of paths that are checked at the same time.
+     * */
+    private final int pathParallelism;
+    /**
+     * Accepts unique prefixes of names.
+     * */
+    private final boolean abbreviations;
+    /**
+     * The trie of the names, only built for abbreviations and error
+     * messages.
+     * */
+    private volatile NameTrie trie;
+    /**
+     * The hash of the registrations, 0 until it is first needed.
+     * */
+    private volatile long schemaHash;
+    /**
+     * Skips unknown options and tokens that are not options.
+     * */
+    private final boolean ignoreUnknown;
+    /**
+     * Receives measurements, null if there is none.
+     * */
+    private final ParseListener listener;
+    /**
+     * The subcommands, null if there are none.
+     * */
+    private final Commands commands;
+    /**
+     * The words that selected this parser, null for a top level parser.
+     * */
+    private final String command;
+    
+    CompiledArgumentParser(Map<String, Argument<?>> argumentMap, boolean compatibilityMode, boolean argumentFiles, boolean lazyConversion, boolean abbreviations, boolean ignoreUnknown, int pathParallelism, ParseListener listener, Map<String, Supplier<ArgumentParser>> commandMap, String command){
+        int count = argumentMap.size();
+        int words = (count + 63) >>> 6;
+        
+        names = new String[count];
+        argumentTable = new Argument<?>[count];
+        kinds = new byte[count];
+        storage = new int[count];
+        defaultMask = new long[words];
+        requiredMask = new long[words];
+        pathMask = new long[words];
+        
+        int slot = 0;
+        int objects = 0;
+        int primitives = 0;
+        int lists = 0;
+        for(Map.Entry<String, Argument<?>> entry : argumentMap.entrySet()){
+            Argument<?> argument = entry.getValue();
+            names[slot] = entry.getKey();
+            argumentTable[slot] = argument;
+            
+            byte kind = kindOf(argument);
+            kinds[slot] = kind;
+            if(kind == KIND_OBJECT || kind == KIND_LIST){
+                storage[slot] = objects++;
+                if(kind == KIND_LIST){
+                    lists++;
+                }
+            }else if(kind == KIND_FLAG){
+                storage[slot] = -1;
+            }else{
+                storage[slot] = primitives++;
+            }
+            slot++;
+        }
+        
+        objectDefaults = new Object[objects];
+        primitiveDefaults = new long[primitives];
+        listSlots = new int[lists];
+        lists = 0;
+        int[] pathSlots = new int[count];
+        int paths = 0;
+        LazyValue[] lazyDefaults = null;
+        for(slot = 0; slot < count; slot++){
+            Argument<?> argument = argumentTable[slot];
+            if(kinds[slot] == KIND_LIST){
+                listSlots[lists++] = slot;
+            }
+            if(pathArgumentOf(argument) != null){
+                pathSlots[paths++] = slot;
+                pathMask[slot >>> 6] |= 1L << slot;
+            }
+            
+            // A required argument with a default is always present
+            if(argument instanceof SuppliedDefaultArgument){
+                if(lazyDefaults == null){
+                    lazyDefaults = new LazyValue[count];
+                }
+                lazyDefaults[slot] = new LazyValue(((SuppliedDefaultArgument<?>)argument).getDefaultSupplier());
+                defaultMask[slot >>> 6] |= 1L << slot;
+            }else if(argument.hasDefault()){
+                int index = storage[slot];
+                switch(kinds[slot]){
+                    case KIND_INT: primitiveDefaults[index] = ((Argument.OfInt)argument).getIntDefault(); break;
+                    case KIND_LONG: primitiveDefaults[index] = ((Argument.OfLong)argument).getLongDefault(); break;
+                    case KIND_DOUBLE: primitiveDefaults[index] = Double.doubleToRawLongBits(((Argument.OfDouble)argument).getDoubleDefault()); break;
+                    case KIND_FLAG: break;
+                    default: objectDefaults[index] = argument.getDefault(); break;
+                }
+                defaultMask[slot >>> 6] |= 1L << slot;
+            }else if(argument.isRequired()){
+                requiredMask[slot >>> 6] |= 1L << slot;
+            }
+        }
+        
+        index = new NameIndex(names);
+        this.compatibilityMode = compatibilityMode;
+        this.argumentFiles = argumentFiles;
+        this.lazyConversion = lazyConversion;
+        this.abbreviations = abbreviations;
+        this.ignoreUnknown = ignoreUnknown;
+        this.pathSlots = Arrays.copyOf(pathSlots, paths);
+        this.pathParallelism = pathParallelism;
+        this.lazyDefaults = lazyDefaults;
+        this.listener = listener;
+        this.commands = commandMap.isEmpty() ? null : new Commands(commandMap);
+        this.command = command;
+    }
+    
+    /**
+     * Gets the path argument of a slot if it has checks, looking
+     * through supplied defaults and lists.
+     *
+     * @return The path argument or null
+     * */
+    private static PathArgument pathArgumentOf(Argument<?> argument){
+        if(argument instanceof SuppliedDefaultArgument){
+            argument = ((SuppliedDefaultArgument<?>)argument).getArgument();
+        }
+        if(argument instanceof ListArgument){
+            argument = ((ListArgument<?>)argument).getElement();
+        }
+        return argument instanceof PathArgument && ((PathArgument)argument).hasChecks() ? (PathArgument)argument : null;
+    }
+    
+    /**
+     * Gets the list argument of a slot, looking through a supplied
+     * default.
+     *
+     * @return The list argument or null
+     * */
+    private static ListArgument<?> listArgumentOf(Argument<?> argument){
+        if(argument instanceof SuppliedDefaultArgument){
+            argument = ((SuppliedDefaultArgument<?>)argument).getArgument();
+        }
+        return argument instanceof ListArgument ? (ListArgument<?>)argument : null;
+    }
+    
+    private static byte kindOf(Argument<?> argument){
+        if(argument instanceof EmptyArgument){
+            return KIND_FLAG;
+        }else if(listArgumentOf(argument) != null){
+            return KIND_LIST;
+        }else if(argument instanceof Argument.OfInt){
+            return KIND_INT;
+        }else if(argument instanceof Argument.OfLong){
+            return KIND_LONG;
+        }else if(argument instanceof Argument.OfDouble){
+            return KIND_DOUBLE;
+        }else{
+            return KIND_OBJECT;
+        }
+    }
+    
+    /**
+     * Parses arguments from the command line based on the registered
+     * arguments of this instance.
+     *
+     * If argument files are enabled a token starting with '@' is
+     * replaced by the tokens in the file it names.
+     *
+     * @param arguments The arguments passed to the program
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull String[] arguments){
+        Objects.requireNonNull(arguments);
+        
+        return parse(arguments, new ArgumentTokenizer(compatibilityMode));
+    }
+    
+    private ArgumentResult parse(String[] arguments, ArgumentTokenizer tokenizer){
+        if(commands != null){
+            int position = findCommand(arguments, tokenizer);
+            if(position != -1){
+                int slot = commands.find(arguments[position]);
+                if(slot == -1){
+                    throw failUnknownCommand(arguments[position], position + 1);
+                }
+                CompiledArgumentParser parser = commands.get(slot);
+                String[] remaining = new String[arguments.length - 1];
+                System.arraycopy(arguments, 0, remaining, 0, position);
+                System.arraycopy(arguments, position + 1, remaining, position, remaining.length - position);
+                return parser.parse(remaining, tokenizer);
+            }
+        }
+        
+        try(TokenStream tokens = new TokenStream(arguments, argumentFiles)){
+            return parse(tokens, tokenizer);
+        }
+    }
+    
+    private ArgumentResult parse(TokenStream tokens, ArgumentTokenizer tokenizer){
+        ParseRecorder recorder = ParseRecorder.begin(listener);
+        if(recorder == null){
+            return parse(tokens, tokenizer, null, null, null);
+        }
+        
+        try{
+            ArgumentResult result = parse(tokens, tokenizer, recorder, null, null);
+            recorder.parsed();
+            return result;
+        }catch(RuntimeException e){
+            recorder.failed();
+            throw e;
+        }
+    }
+    
+    /**
+     * Parses a command line that is still encoded, like the contents of
+     * /proc/&lt;pid&gt;/cmdline. Tokens are separated by NUL bytes if
+     * there are any and by ASCII whitespace otherwise, a NUL after the
+     * last token is allowed.
+     *
+     * The tokens are scanned in place. Names are looked up without
+     * decoding them and values are handed to the converters as views of
+     * the bytes, so numbers are converted straight from the buffer and
+     * a token is only decoded if a converter needs a string. Tokens
+     * with bytes outside of ASCII are decoded as UTF-8 up front. With
+     * {@link net.gudenau.lib.argument.ArgumentParser#setIgnoreUnknown(boolean) unknown tokens ignored}
+     * the tokens that are skipped are never decoded.
+     *
+     * The bytes between the position and the limit are parsed, the
+     * position is not changed. With lazy conversion the result reads
+     * the buffer when a value is first read, so the buffer must not
+     * change while the result is in use.
+     *
+     * Parsers with subcommands decode every token and parse them like
+     * {@link #parse(String[])}.
+     *
+     * @param buffer The encoded command line
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull ByteBuffer buffer){
+        Objects.requireNonNull(buffer);
+        
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(compatibilityMode);
+        if(commands != null){
+            List<String> arguments = new ArrayList<>();
+            TokenStream tokens = new TokenStream(buffer, false);
+            for(CharSequence token = tokens.next(); token != null; token = tokens.next()){
+                arguments.add(token.toString());
+            }
+            return parse(arguments.toArray(new String[0]), tokenizer);
+        }
+        
+        try(TokenStream tokens = new TokenStream(buffer, argumentFiles)){
+            return parse(tokens, tokenizer);
+        }
+    }
+    
+    /**
+     * Parses a command line that is still encoded, see
+     * {@link #parse(ByteBuffer)}.
+     *
+     * @param bytes The encoded command line
+     *
+     * @return The results of the parse
+     * */
+    public ArgumentResult parse(@NonNull byte[] bytes){
+        return parse(ByteBuffer.wrap(bytes));
+    }
+    
+    private ParseOutcome outcome(String[] arguments, ArgumentTokenizer tokenizer){
+        try{
+            return new ParseOutcome(parse(Objects.requireNonNull(arguments), tokenizer), null);
+        }catch(RuntimeException e){
+            return new ParseOutcome(null, e);
+        }
+    }
+    
+    /**
+     * Parses arguments without throwing for problems in the command
+     * line, every problem is added to the diagnostics instead.
+     *
+     * The parse does not stop at the first problem. Values are checked
+     * with {@link Argument#check(CharSequence, int, int)} before they
+     * are converted, so invalid values do not create exceptions, even
+     * with lazy conversion. A token that is not an option right after
+     * an unknown one is taken as its value and not reported again.
+     *
+     * Argument files that can not be read and converters that throw for
+     * values they accepted in their check still throw.
+     *
+     * @param arguments The arguments passed to the program
+     * @param diagnostics Cleared and then filled with the problems
+     *
+     * @return The results or null if there was a problem
+     * */
+    @Nullable
+    public ArgumentResult tryParse(@NonNull String[] arguments, @NonNull Diagnostics diagnostics){
+        Objects.requireNonNull(arguments);
+        diagnostics.clear();
+        
+        return tryParse(arguments, new ArgumentTokenizer(compatibilityMode), diagnostics);
+    }
+    
+    private ArgumentResult tryParse(String[] arguments, ArgumentTokenizer tokenizer, Diagnostics diagnostics){
+        if(commands != null){
+            int position = findCommand(arguments, tokenizer);
+            if(position != -1){
+                String name = arguments[position];
+                int slot = commands.find(name);
+                if(slot == -1){
+                    diagnostics.add(this, ParseFailure.UNKNOWN_COMMAND, null, position, null, name, 0, name.length());
+                    return null;
+                }
+                String[] remaining = new String[arguments.length - 1];
+                System.arraycopy(arguments, 0, remaining, 0, position);
+                System.arraycopy(arguments, position + 1, remaining, position, remaining.length - position);
+                diagnostics.enterCommand(position);
+                return commands.get(slot).tryParse(remaining, tokenizer, diagnostics);
+            }
+        }
+        
+        ParseRecorder recorder = ParseRecorder.begin(listener);
+        try(TokenStream tokens = new TokenStream(arguments, argumentFiles)){
+            ArgumentResult result = parse(tokens, tokenizer, recorder, null, diagnostics);
+            if(recorder != null){
+                if(result != null){
+                    recorder.parsed();
+                }else{
+                    recorder.failure = diagnostics.getFailure(0);
+                    recorder.failed();
+                }
+            }
+            return result;
+        }catch(RuntimeException e){
+            if(recorder != null){
+                recorder.failed();
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Finds the token that selects a subcommand, the first one that is
+     * neither an option nor the value of one. Stops at tokens that the
+     * parse will reject anyway, unless unknown tokens are ignored, then
+     * they are skipped like the parse skips them and only a registered
+     * command is selected.
+     *
+     * @return The index of the subcommand or -1
+     * */
+    private int findCommand(String[] arguments, ArgumentTokenizer tokenizer){
+        for(int i = 0; i < arguments.length; i++){
+            String current = arguments[i];
+            if(argumentFiles && current.startsWith("@")){
+                continue;
+            }
+            int token = tokenizer.tokenize(current);
+            if(token == ArgumentTokenizer.NOT_OPTION){
+                if(ignoreUnknown && commands.find(current) == -1){
+                    continue;
+                }
+                return i;
+            }else if(token != ArgumentTokenizer.OPTION){
+                if(ignoreUnknown){
+                    continue;
+                }
+                return -1;
+            }
+            
+            int slot = find(current, tokenizer.getNameStart(), tokenizer.getNameEnd());
+            if(slot < 0){
+                if(ignoreUnknown){
+                    continue;
+                }
+                return -1;
+            }
+            if(kinds[slot] != KIND_FLAG && !tokenizer.hasEquals()){
+                i++;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Finds the slot of a name, or of the only name it is a prefix of
+     * if abbreviations are enabled.
+     *
+     * @return The slot, -1 or {@link NameTrie#AMBIGUOUS}
+     * */
+    private int find(CharSequence token, int start, int end){
+        int slot = index.find(token, start, end);
+        if(slot == -1 && abbreviations){
+            slot = getTrie().findPrefix(token, start, end);
+        }
+        return slot;
+    }
+    
+    /**
+     * Finds the slot of an option name the same way a parse does.
+     *
+     * @param token The characters to look up
+     * @param start The start of the name
+     * @param end The end of the name
+     *
+     * @return The slot, -1 or {@link NameTrie#AMBIGUOUS}
+     * */
+    int lookup(CharSequence token, int start, int end){
+        return find(token, start, end);
+    }
+    
+    private NameTrie getTrie(){
+        NameTrie trie = this.trie;
+        if(trie == null){
+            trie = new NameTrie(names);
+            this.trie = trie;
+        }
+        return trie;
+    }
+    
+    /**
+     * Creates the message for an unknown or ambiguous name, with the
+     * names that were probably meant.
+     * */
+    private static String unknown(String type, String name, boolean ambiguous, NameTrie trie){
+        if(ambiguous){
+            return String.format(
+                "Ambiguous %s \"%s\", could be %s",
+                type, name, String.join(", ", trie.withPrefix(name, 5))
+            );
+        }
+        
+        // Short names only get suggestions that are one edit away
+        List<String> suggestions = trie.suggest(name, name.length() > 3 ? 2 : 1, 3);
+        if(suggestions.isEmpty()){
+            return String.format("Unknown %s \"%s\"", type, name);
+        }
+        return String.format(
+            "Unknown %s \"%s\", did you mean %s?",
+            type, name, String.join(", ", suggestions)
+        );
+    }
+    
+    /**
+     * Creates the message for an unknown argument name.
+     *
+     * @param name The name as it was passed
+     *
+     * @return The message
+     * */
+    String describeUnknown(String name){
+        int slot = find(name, 0, name.length());
+        return unknown("argument", name, slot == NameTrie.AMBIGUOUS, getTrie());
+    }
+    
+    /**
+     * Creates the message for an unknown subcommand.
+     *
+     * @param name The subcommand as it was passed
+     *
+     * @return The message
+     * */
+    String describeUnknownCommand(String name){
+        return unknown("command", name, false, commands.getTrie());
+    }
+    
+    /**
+     * Checks if a name belongs to a flag.
+     *
+     * @param name The name
+     *
+     * @return True for a registered flag
+     * */
+    boolean isFlag(String name){
+        int slot = name == null ? -1 : index.find(name);
+        return slot != -1 && kinds[slot] == KIND_FLAG;
+    }
+    
+    /**
+     * Creates a subcommand parser with the settings of this one.
+     *
+     * @param arguments The arguments of this parser followed by the ones of the subcommand
+     * @param commandMap The subcommands of the subcommand
+     * @param command The word that selected the subcommand
+     *
+     * @return The compiled subcommand
+     * */
+    CompiledArgumentParser createCommand(Map<String, Argument<?>> arguments, Map<String, Supplier<ArgumentParser>> commandMap, String command){
+        return new CompiledArgumentParser(
+            arguments, compatibilityMode, argumentFiles, lazyConversion, abbreviations, ignoreUnknown, pathParallelism, listener,
+            commandMap, this.command == null ? command : this.command + ' ' + command
+        );
+    }
+    
+    /**
+     * Gets the registered arguments in slot order.
+     *
+     * @return A new mutable map of the arguments
+     * */
+    Map<String, Argument<?>> getArgumentMap(){
+        Map<String, Argument<?>> arguments = new LinkedHashMap<>();
+        for(int slot = 0; slot < names.length; slot++){
+            arguments.put(names[slot], argumentTable[slot]);
+        }
+        return arguments;
+    }
+    
+    /**
+     * Gets the names of the subcommands.
+     *
+     * @return The names or null if there are none
+     * */
+    String[] getCommandNames(){
+        return commands == null ? null : commands.names.clone();
+    }
+    
+    /**
+     * Gets the parser of a subcommand, creating it if needed.
+     *
+     * @param name The subcommand
+     *
+     * @return The parser or null if there is no such subcommand
+     * */
+    CompiledArgumentParser getCommandParser(String name){
+        int slot = commands == null ? -1 : commands.find(name);
+        return slot == -1 ? null : commands.get(slot);
+    }
+    
+    /**
+     * Gets the words that selected this parser.
+     *
+     * @return The subcommand or null for a top level parser
+     * */
+    String getCommand(){
+        return command;
+    }
+    
+    /**
+     * The dispatch table of the subcommands, parsers are created when
+     * their subcommand is first parsed.
+     * */
+    private final class Commands{
+        private final NameIndex index;
+        private final String[] names;
+        private final Supplier<ArgumentParser>[] suppliers;
+        private final AtomicReferenceArray<CompiledArgumentParser> parsers;
+        private volatile NameTrie trie;
+        
+        private Commands(Map<String, Supplier<ArgumentParser>> commandMap){
+            names = commandMap.keySet().toArray(new String[0]);
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Supplier<ArgumentParser>[] suppliers = commandMap.values().toArray(new Supplier[0]);
+            this.suppliers = suppliers;
+            index = new NameIndex(names);
+            parsers = new AtomicReferenceArray<>(names.length);
+        }
+        
+        private int find(String name){
+            return index.find(name);
+        }
+        
+        private NameTrie getTrie(){
+            NameTrie trie = this.trie;
+            if(trie == null){
+                trie = new NameTrie(names);
+                this.trie = trie;
+            }
+            return trie;
+        }
+        
+        private CompiledArgumentParser get(int slot){
+            CompiledArgumentParser parser = parsers.get(slot);
+            if(parser == null){
+                synchronized(this){
+                    parser = parsers.get(slot);
+                    if(parser == null){
+                        ArgumentParser registry = Objects.requireNonNull(
+                            suppliers[slot].get(),
+                            "Command parser supplier returned null"
+                        );
+                        parser = registry.compileCommand(names[slot], CompiledArgumentParser.this);
+                        parsers.set(slot, parser);
+                    }
+                }
+            }
+            return parser;
+        }
+    }
+    
+    /**
+     * Parses a command line into raw values instead of a result, for
+     * {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}.
+     * Required arguments are not checked, they could come from another
+     * layer.
+     *
+     * @param arguments The command line
+     *
+     * @return The raw value of every slot, "true" for flags and null for absent arguments
+     * */
+    String[] parseValues(String[] arguments){
+        String[] values = new String[names.length];
+        try(TokenStream tokens = new TokenStream(arguments, argumentFiles)){
+            parse(tokens, new ArgumentTokenizer(compatibilityMode), null, values, null);
+        }
+        return values;
+    }
+    
+    private ArgumentResult parse(TokenStream tokens, ArgumentTokenizer tokenizer, ParseRecorder recorder, String[] values, Diagnostics diagnostics){
+        Object[] objects = objectDefaults.clone();
+        long[] primitives = primitiveDefaults.clone();
+        long[] present = defaultMask.clone();
+        LazyValue[] lazy = lazyDefaults != null ? lazyDefaults.clone() :
+            lazyConversion ? new LazyValue[names.length] : null;
+        int problems = diagnostics == null ? 0 : diagnostics.size();
+        
+        // The index of the current token and of a token that is probably the value of an unknown option
+        int position = -1;
+        int orphan = -1;
+        for(CharSequence current = tokens.next(); current != null; current = tokens.next()){
+            position++;
+            if(recorder != null){
+                recorder.tokens++;
+            }
+            int token = tokenizer.tokenize(current);
+            if(token == ArgumentTokenizer.NOT_OPTION || token == ArgumentTokenizer.NO_NAME){
+                if(ignoreUnknown){
+                    continue;
+                }else if(diagnostics == null){
+                    throw fail(recorder, ParseFailure.ILLEGAL_TOKEN, (token == ArgumentTokenizer.NOT_OPTION ? "Illegal argument: " : "Illegal argument:") + current);
+                }
+                if(position != orphan){
+                    diagnostics.add(this, ParseFailure.ILLEGAL_TOKEN, null, position, null, current, 0, current.length());
+                }
+                continue;
+            }
+            
+            // Get the argument for the name
+            int slot = find(current, tokenizer.getNameStart(), tokenizer.getNameEnd());
+            if(slot < 0){
+                if(ignoreUnknown){
+                    continue;
+                }else if(diagnostics == null){
+                    throw fail(recorder, ParseFailure.UNKNOWN_ARGUMENT, unknown(
+                        "argument", tokenizer.getName(), slot == NameTrie.AMBIGUOUS, getTrie()
+                    ));
+                }
+                diagnostics.add(this, ParseFailure.UNKNOWN_ARGUMENT, null, position, null, current, tokenizer.getNameStart(), tokenizer.getNameEnd());
+                if(!tokenizer.hasEquals()){
+                    orphan = position + 1;
+                }
+                continue;
+            }
+            present[slot >>> 6] |= 1L << slot;
+            
+            // Check if the value is part of this argument or the next one
+            boolean valueIncluded = tokenizer.hasEquals();
+            byte kind = kinds[slot];
+            if(kind == KIND_FLAG){
+                // An empty argument should not have a value
+                if(valueIncluded){
+                    if(diagnostics == null){
+                        throw fail(recorder, ParseFailure.MALFORMED_VALUE, String.format(
+                            "%s can not have a value!",
+                            names[slot]
+                        ));
+                    }
+                    diagnostics.add(this, ParseFailure.MALFORMED_VALUE, null, position, names[slot], current, 0, current.length());
+                    continue;
+                }
+                
+                // It exists, flags only need the presence bit
+                if(values != null){
+                    values[slot] = "true";
+                }
+            }else{
+                CharSequence source;
+                int start;
+                int end;
+                
+                // Extract the value
+                if(valueIncluded){
+                    // Lists also take their separator after the equals sign
+                    if(!(kind == KIND_LIST ? tokenizer.hasValue(listArgumentOf(slot).getSeparator()) : tokenizer.hasValue())){
+                        if(diagnostics == null){
+                            throw fail(recorder, ParseFailure.MALFORMED_VALUE, "Malformed param: " + current);
+                        }
+                        diagnostics.add(this, ParseFailure.MALFORMED_VALUE, null, position, names[slot], current, 0, current.length());
+                        continue;
+                    }
+                    source = current;
+                    start = tokenizer.getValueStart();
+                    end = tokenizer.getValueEnd();
+                }else{
+                    source = tokens.next();
+                    if(source == null){
+                        if(diagnostics == null){
+                            throw fail(recorder, ParseFailure.MALFORMED_VALUE, "Malformed param: " + current);
+                        }
+                        diagnostics.add(this, ParseFailure.MALFORMED_VALUE, null, position, names[slot], current, 0, current.length());
+                        continue;
+                    }
+                    position++;
+                    if(recorder != null){
+                        recorder.tokens++;
+                    }
+                    start = 0;
+                    end = source.length();
+                }
+                
+                // Parse the value, or keep the raw slice until it is read
+                Argument<?> argument = argumentTable[slot];
+                if(diagnostics != null){
+                    ConversionError error = argument.check(source, start, end);
+                    if(error != null){
+                        diagnostics.add(this, ParseFailure.INVALID_VALUE, error, position, names[slot], source, start, end);
+                        continue;
+                    }
+                    if(diagnostics.size() != problems){
+                        // The result is thrown away, checking is enough
+                        continue;
+                    }
+                }
+                if(values != null){
+                    // Later layers replace a whole list, so the occurrences are joined
+                    String value = source.subSequence(start, end).toString();
+                    String previous = values[slot];
+                    values[slot] = kind == KIND_LIST && previous != null ?
+                        previous + listArgumentOf(slot).getSeparator() + value : value;
+                }else if(lazyConversion && kind != KIND_LIST && (pathMask[slot >>> 6] & (1L << slot)) == 0){
+                    lazy[slot] = new LazyValue(argument, kind, source, start, end);
+                }else{
+                    if(lazy != null){
+                        lazy[slot] = null;
+                    }
+                    
+                    // Converters get the slice, so only those that need a string create one
+                    if(recorder != null){
+                        recorder.beginConversion(names[slot]);
+                    }
+                    int index = storage[slot];
+                    switch(kind){
+                        case KIND_INT: primitives[index] = ((Argument.OfInt)argument).parseInt(source, start, end); break;
+                        case KIND_LONG: primitives[index] = ((Argument.OfLong)argument).parseLong(source, start, end); break;
+                        case KIND_DOUBLE: primitives[index] = Double.doubleToRawLongBits(((Argument.OfDouble)argument).parseDouble(source, start, end)); break;
+                        case KIND_LIST: {
+                            // Every occurrence adds to the same list
+                            Object list = objects[index];
+                            if(list == null){
+                                list = new ValueList(listArgumentOf(slot));
+                                objects[index] = list;
+                            }
+                            ((ValueList)list).add(source, start, end);
+                        } break;
+                        default: objects[index] = argument.getValue(source, start, end); break;
+                    }
+                    if(recorder != null){
+                        recorder.endConversion();
+                    }
+                }
+            }
+        }
+        
+        if(diagnostics != null){
+            for(int i = 0; i < requiredMask.length; i++){
+                long missing = requiredMask[i] & ~present[i];
+                for(; missing != 0; missing &= missing - 1){
+                    int slot = (i << 6) + Long.numberOfTrailingZeros(missing);
+                    diagnostics.add(this, ParseFailure.MISSING_REQUIRED, null, -1, names[slot], null, 0, 0);
+                }
+            }
+            if(diagnostics.size() != problems){
+                return null;
+            }
+        }
+        
+        if(values == null){
+            if(diagnostics == null){
+                checkRequired(recorder, present);
+            }
+            for(int slot : listSlots){
+                int index = storage[slot];
+                Object list = objects[index];
+                if(list != null){
+                    objects[index] = ((ValueList)list).toArray();
+                }
+            }
+            if(pathSlots.length != 0 && !checkPaths(recorder, diagnostics, objects, primitives, lazy, present)){
+                return null;
+            }
+        }
+        
+        return new ArgumentResult(this, objects, primitives, lazy, present);
+    }
+    
+    /**
+     * Runs the checks of all path values that were passed at the same
+     * time and replaces them with the checked paths, defaults are not
+     * checked. Every failed check is reported.
+     *
+     * @return False if a check failed and was added to the diagnostics
+     *
+     * @throws IllegalArgumentException If a check failed and there are no diagnostics
+     * */
+    private boolean checkPaths(ParseRecorder recorder, Diagnostics diagnostics, Object[] objects, long[] primitives, LazyValue[] lazy, long[] present){
+        int count = 0;
+        for(int slot : pathSlots){
+            if(!isDefault(slot, objects, primitives, lazy, present)){
+                Object value = objects[storage[slot]];
+                count += value instanceof Path[] ? ((Path[])value).length : 1;
+            }
+        }
+        if(count == 0){
+            return true;
+        }
+        
+        // Flatten the values, lists are checked element by element
+        PathArgument[] arguments = new PathArgument[count];
+        Path[] paths = new Path[count];
+        int[] owners = new int[count];
+        count = 0;
+        for(int slot : pathSlots){
+            if(isDefault(slot, objects, primitives, lazy, present)){
+                continue;
+            }
+            PathArgument argument = pathArgumentOf(argumentTable[slot]);
+            Object value = objects[storage[slot]];
+            if(value instanceof Path[]){
+                for(Path path : (Path[])value){
+                    arguments[count] = argument;
+                    owners[count] = slot;
+                    paths[count++] = path;
+                }
+            }else{
+                arguments[count] = argument;
+                owners[count] = slot;
+                paths[count++] = (Path)value;
+            }
+        }
+        
+        if(recorder != null){
+            recorder.beginConversion("paths");
+        }
+        Path[] results = new Path[count];
+        ConversionError[] errors = PathChecker.check(arguments, paths, results, pathParallelism);
+        if(recorder != null){
+            recorder.endConversion();
+        }
+        
+        Diagnostics failures = diagnostics;
+        int problems = diagnostics == null ? 0 : diagnostics.size();
+        for(int i = 0; i < count; i++){
+            if(errors[i] != null){
+                if(failures == null){
+                    failures = new Diagnostics();
+                }
+                String path = paths[i].toString();
+                failures.add(this, ParseFailure.INVALID_VALUE, errors[i], -1, names[owners[i]], path, 0, path.length());
+            }
+        }
+        if(failures != null && failures.size() != problems){
+            if(diagnostics == null){
+                throw fail(recorder, ParseFailure.INVALID_VALUE, failures.toString());
+            }
+            return false;
+        }
+        
+        // Lists are replaced, layered arguments share them with older results
+        count = 0;
+        for(int slot : pathSlots){
+            if(isDefault(slot, objects, primitives, lazy, present)){
+                continue;
+            }
+            int index = storage[slot];
+            Object value = objects[index];
+            if(value instanceof Path[]){
+                int length = ((Path[])value).length;
+                objects[index] = Arrays.copyOfRange(results, count, count + length);
+                count += length;
+            }else{
+                objects[index] = results[count++];
+            }
+        }
+        return true;
+    }
+    
+    private void checkRequired(ParseRecorder recorder, long[] present){
+        for(int i = 0; i < requiredMask.length; i++){
+            if((present[i] & requiredMask[i]) != requiredMask[i]){
+                throw fail(recorder, ParseFailure.MISSING_REQUIRED, "Required param is missing");
+            }
+        }
+    }
+    
+    /**
+     * Creates a result from storage that was filled with
+     * {@link #assign(int, String, Object[], long[], long[], LazyValue[]) assign},
+     * the storage has to start as a copy of the defaults.
+     *
+     * @return The result
+     *
+     * @throws IllegalArgumentException If a required argument is missing
+     * */
+    ArgumentResult createResult(Object[] objects, long[] primitives, long[] present, LazyValue[] lazy){
+        checkRequired(null, present);
+        if(pathSlots.length != 0){
+            checkPaths(null, null, objects, primitives, lazy, present);
+        }
+        return new ArgumentResult(this, objects, primitives, lazy, present);
+    }
+    
+    Object[] copyObjectDefaults(){
+        return objectDefaults.clone();
+    }
+    
+    long[] copyPrimitiveDefaults(){
+        return primitiveDefaults.clone();
+    }
+    
+    long[] copyDefaultMask(){
+        return defaultMask.clone();
+    }
+    
+    LazyValue[] copyLazyDefaults(){
+        return lazyDefaults == null ? null : lazyDefaults.clone();
+    }
+    
+    /**
+     * Converts the raw value of a slot into the storage of a result, or
+     * puts the default back if the value is null. Flags take "true" or
+     * "false" in any case.
+     *
+     * @param slot The slot
+     * @param value The raw value or null
+     *
+     * @throws IllegalArgumentException If the value can not be converted
+     * */
+    void assign(int slot, String value, Object[] objects, long[] primitives, long[] present, LazyValue[] lazy){
+        int index = storage[slot];
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        byte kind = kinds[slot];
+        if(value == null){
+            present[word] = (present[word] & ~bit) | (defaultMask[word] & bit);
+            if(lazy != null){
+                lazy[slot] = lazyDefaults[slot];
+            }
+            if(kind == KIND_OBJECT || kind == KIND_LIST){
+                objects[index] = objectDefaults[index];
+            }else if(kind != KIND_FLAG){
+                primitives[index] = primitiveDefaults[index];
+            }
+            return;
+        }
+        
+        Argument<?> argument = argumentTable[slot];
+        int end = value.length();
+        switch(kind){
+            case KIND_FLAG:
+                if("false".equalsIgnoreCase(value)){
+                    present[word] &= ~bit;
+                    return;
+                }else if(!"true".equalsIgnoreCase(value)){
+                    throw new IllegalArgumentException(String.format(
+                        "%s has to be true or false", names[slot]
+                    ));
+                }
+                break;
+            case KIND_INT: primitives[index] = ((Argument.OfInt)argument).parseInt(value, 0, end); break;
+            case KIND_LONG: primitives[index] = ((Argument.OfLong)argument).parseLong(value, 0, end); break;
+            case KIND_DOUBLE: primitives[index] = Double.doubleToRawLongBits(((Argument.OfDouble)argument).parseDouble(value, 0, end)); break;
+            default: objects[index] = argument.getValue(value, 0, end); break;
+        }
+        if(lazy != null){
+            lazy[slot] = null;
+        }
+        present[word] |= bit;
+    }
+    
+    /**
+     * Creates the exception for a failed parse and tells the recorder why.
+     * */
+    private static IllegalArgumentException fail(ParseRecorder recorder, ParseFailure failure, String message){
+        if(recorder != null){
+            recorder.failure = failure;
+        }
+        return new IllegalArgumentException(message);
+    }
+    
+    /**
+     * Creates the exception for an unknown command and reports the failed
+     * parse, the command is found before the tokens are parsed so there
+     * is no recorder running yet.
+     *
+     * @param name The unknown command
+     * @param tokens The number of tokens up to and including the command
+     * */
+    private IllegalArgumentException failUnknownCommand(String name, int tokens){
+        ParseRecorder recorder = ParseRecorder.begin(listener);
+        IllegalArgumentException exception = fail(recorder, ParseFailure.UNKNOWN_COMMAND, describeUnknownCommand(name));
+        if(recorder != null){
+            recorder.tokens = tokens;
+            recorder.failed();
+        }
+        return exception;
+    }
+    
+    /**
+     * Records a result that came from the result cache.
+     *
+     * @param tokens The number of tokens of the command line
+     * */
+    void recordCacheHit(int tokens){
+        ParseRecorder.cacheHit(listener, tokens);
+    }
+    
+    /**
+     * Parses many command lines in parallel on the common fork join pool.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     *
+     * @return The outcomes, in the same order as the command lines
+     * */
+    public List<ParseOutcome> parseAll(@NonNull List<String[]> commandLines){
+        return parseAll(commandLines, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Parses many command lines in parallel.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     * @param pool The pool to parse in
+     *
+     * @return The outcomes, in the same order as the command lines
+     * */
+    public List<ParseOutcome> parseAll(@NonNull List<String[]> commandLines, @NonNull ForkJoinPool pool){
+        Objects.requireNonNull(pool);
+        
+        // Copy to an array, the list could be slow to index
+        String[][] inputs = Objects.requireNonNull(commandLines).toArray(new String[0][]);
+        ParseOutcome[] outcomes = new ParseOutcome[inputs.length];
+        int threshold = Math.max(1, inputs.length / (pool.getParallelism() * 8));
+        pool.invoke(new BatchTask(inputs, outcomes, 0, inputs.length, threshold));
+        return Collections.unmodifiableList(Arrays.asList(outcomes));
+    }
+    
+    /**
+     * Parses a stream of command lines, the stream keeps its order and
+     * is parallel if the input is.
+     *
+     * A command line that fails to parse does not stop the others, its
+     * outcome holds the exception instead.
+     *
+     * @param commandLines The command lines to parse
+     *
+     * @return The outcomes
+     * */
+    public Stream<ParseOutcome> parseAll(@NonNull Stream<String[]> commandLines){
+        return Objects.requireNonNull(commandLines)
+            .map((arguments)->outcome(arguments, new ArgumentTokenizer(compatibilityMode)));
+    }
+    
+    /**
+     * Parses a range of a batch, splitting it while it is bigger than
+     * the threshold. Every leaf reuses one tokenizer for its range.
+     * */
+    private final class BatchTask extends RecursiveAction{
+        private static final long serialVersionUID = 1L;
+        
+        private final String[][] inputs;
+        private final ParseOutcome[] outcomes;
+        private final int start;
+        private final int end;
+        private final int threshold;
+        
+        private BatchTask(String[][] inputs, ParseOutcome[] outcomes, int start, int end, int threshold){
+            this.inputs = inputs;
+            this.outcomes = outcomes;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+        
+        @Override
+        protected void compute(){
+            if(end - start > threshold){
+                int middle = (start + end) >>> 1;
+                invokeAll(
+                    new BatchTask(inputs, outcomes, start, middle, threshold),
+                    new BatchTask(inputs, outcomes, middle, end, threshold)
+                );
+                return;
+            }
+            
+            ArgumentTokenizer tokenizer = new ArgumentTokenizer(compatibilityMode);
+            for(int i = start; i < end; i++){
+                outcomes[i] = outcome(inputs[i], tokenizer);
+            }
+        }
+    }
+    
+    /**
+     * Checks if the result of a command line only depends on the
+     * command line, argument files and checked paths could change
+     * between parses.
+     *
+     * @param arguments The command line
+     *
+     * @return True if the result can be cached
+     * */
+    boolean isCacheable(String[] arguments){
+        if(argumentFiles){
+            for(String argument : arguments){
+                if(argument.startsWith("@")){
+                    return false;
+                }
+            }
+        }
+        if(pathSlots.length == 0 && commands == null){
+            return true;
+        }
+        
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(compatibilityMode);
+        if(commands != null){
+            int position = findCommand(arguments, tokenizer);
+            if(position != -1){
+                int slot = commands.find(arguments[position]);
+                if(slot == -1){
+                    // Fails to parse, nothing is cached
+                    return true;
+                }
+                String[] remaining = new String[arguments.length - 1];
+                System.arraycopy(arguments, 0, remaining, 0, position);
+                System.arraycopy(arguments, position + 1, remaining, position, remaining.length - position);
+                return commands.get(slot).isCacheable(remaining);
+            }
+        }
+        
+        if(pathSlots.length != 0){
+            for(String argument : arguments){
+                if(tokenizer.tokenize(argument) != ArgumentTokenizer.OPTION){
+                    continue;
+                }
+                int slot = find(argument, tokenizer.getNameStart(), tokenizer.getNameEnd());
+                if(slot >= 0 && (pathMask[slot >>> 6] & (1L << slot)) != 0){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Checks if a slot of a result still has the value that every
+     * parse starts with.
+     *
+     * @param slot The slot
+     *
+     * @return True if the slot is untouched
+     * */
+    boolean isDefault(int slot, Object[] objects, long[] primitives, LazyValue[] lazy, long[] present){
+        int word = slot >>> 6;
+        long bit = 1L << slot;
+        if((present[word] & bit) != (defaultMask[word] & bit)){
+            return false;
+        }else if((present[word] & bit) == 0){
+            return true;
+        }
+        
+        if(lazyDefaults != null && lazyDefaults[slot] != null){
+            return lazy[slot] == lazyDefaults[slot];
+        }else if(lazy != null && lazy[slot] != null){
+            return false;
+        }
+        int index = storage[slot];
+        switch(kinds[slot]){
+            case KIND_FLAG: return true;
+            case KIND_OBJECT:
+            case KIND_LIST: return objects[index] == objectDefaults[index];
+            default: return primitives[index] == primitiveDefaults[index];
+        }
+    }
+    
+    /**
+     * Gets a hash of everything that changes the result of a parse:
+     * the options, the subcommands and for every registration its
+     * name, kind, argument type, required flag, default, list
+     * separator, enum values and matching, hex numbers and path checks.
+     * Snapshots of results are only read by parsers with the same hash.
+     *
+     * Object defaults are hashed by their string, list and supplied
+     * defaults are not hashed because a value from the command line is
+     * never the same instance. Other argument types are only hashed by
+     * their class, so the snapshot cache does not write their values.
+     *
+     * @return The hash, never 0
+     * */
+    long getSchemaHash(){
+        long hash = schemaHash;
+        if(hash == 0){
+            hash = 0xCBF29CE484222325L;
+            hash = hash(hash, command == null ? "" : command);
+            hash = hash(hash, (compatibilityMode ? 1 : 0) | (argumentFiles ? 2 : 0) | (abbreviations ? 4 : 0) | (ignoreUnknown ? 8 : 0));
+            if(commands != null){
+                for(String name : commands.names){
+                    hash = hash(hash, name);
+                }
+            }
+            hash = hash(hash, 0);
+            for(int slot = 0; slot < names.length; slot++){
+                int word = slot >>> 6;
+                long bit = 1L << slot;
+                hash = hash(hash, names[slot]);
+                hash = hash(hash, kinds[slot]);
+                hash = hash(hash, ((requiredMask[word] & bit) != 0 ? 1 : 0) | ((defaultMask[word] & bit) != 0 ? 2 : 0));
+                if(kinds[slot] == KIND_OBJECT){
+                    // Enums are singletons, a value that equals the default is not recorded
+                    Object value = objectDefaults[storage[slot]];
+                    hash = hash(hash, value == null ? "" : value.toString());
+                }else if(kinds[slot] != KIND_LIST && kinds[slot] != KIND_FLAG){
+                    long value = primitiveDefaults[storage[slot]];
+                    hash = hash(hash, (int)value);
+                    hash = hash(hash, (int)(value >>> 32));
+                }
+                Argument<?> argument = argumentTable[slot];
+                if(argument instanceof SuppliedDefaultArgument){
+                    argument = ((SuppliedDefaultArgument<?>)argument).getArgument();
+                }
+                if(argument instanceof ListArgument){
+                    ListArgument<?> list = (ListArgument<?>)argument;
+                    hash = hash(hash, list.getSeparator());
+                    hash = hash(hash, list.getElementType() == null ? "" : list.getElementType().getName());
+                    argument = list.getElement();
+                }
+                hash = hash(hash, argument.getClass().getName());
+                if(argument instanceof EnumArgumentImplementation){
+                    EnumArgumentImplementation<?> enumArgument = (EnumArgumentImplementation<?>)argument;
+                    hash = hash(hash, enumArgument.getMatching().ordinal());
+                    for(String value : enumArgument.getNames()){
+                        hash = hash(hash, value);
+                    }
+                }else if(argument instanceof IntegerArgument){
+                    hash = hash(hash, ((IntegerArgument)argument).isHex() ? 1 : 0);
+                }else if(argument instanceof LongArgument){
+                    hash = hash(hash, ((LongArgument)argument).isHex() ? 1 : 0);
+                }else if(argument instanceof PathArgument){
+                    for(PathCheck check : ((PathArgument)argument).getChecks()){
+                        hash = hash(hash, check.ordinal() + 1);
+                    }
+                    hash = hash(hash, 0);
+                }
+            }
+            if(hash == 0){
+                hash = 1;
+            }
+            schemaHash = hash;
+        }
+        return hash;
+    }
+    
+    /**
+     * Adds a string and a terminator to an FNV-1a hash.
+     * */
+    private static long hash(long hash, String string){
+        for(int i = 0; i < string.length(); i++){
+            hash = hash(hash, string.charAt(i));
+        }
+        return hash(hash, 0);
+    }
+    
+    private static long hash(long hash, int value){
+        return (hash ^ value) * 0x100000001B3L;
+    }
+    
+    /**
+     * Gets the slot of an argument.
+     *
+     * @param name The name of the argument
+     *
+     * @return The slot or -1 if the argument is unknown
+     * */
+    int slotOf(String name){
+        return index.find(name);
+    }
+    
+    /**
+     * Finds the slot of a name, only if it was registered with a
+     * specific argument.
+     *
+     * @param name The name
+     * @param argument The argument
+     *
+     * @return The slot or -1
+     * */
+    int slotOf(String name, Argument<?> argument){
+        int slot = index.find(name);
+        return slot != -1 && argumentTable[slot] == argument ? slot : -1;
+    }
+    
+    /**
+     * Checks if a key belongs to this parser.
+     *
+     * The slot of a key is right for the parser it was registered
+     * with. A subcommand lays out the arguments of its parents first,
+     * so keys of a subcommand are looked up by name there.
+     *
+     * @param key The key
+     *
+     * @return The slot of the key
+     * */
+    int slotOf(ArgumentKey<?> key){
+        int slot = key.getSlot();
+        if(slot < argumentTable.length && argumentTable[slot] == key.getArgument()){
+            return slot;
+        }
+        slot = slotOf(key.getName(), key.getArgument());
+        if(slot == -1){
+            throw new IllegalArgumentException(String.format(
+                "Key \"%s\" was not registered with this parser", key.getName()
+            ));
+        }
+        return slot;
+    }
+    
+    /**
+     * Gets the list argument of a list slot.
+     *
+     * @param slot The slot
+     *
+     * @return The list argument
+     * */
+    ListArgument<?> listArgumentOf(int slot){
+        return listArgumentOf(argumentTable[slot]);
+    }
+    
+    /**
+     * Gets the kind of a slot.
+     *
+     * @param slot The slot
+     *
+     * @return The kind
+     * */
+    byte kindOf(int slot){
+        return kinds[slot];
+    }
+    
+    /**
+     * Gets the index of a slot in the object or primitive storage.
+     *
+     * @param slot The slot
+     *
+     * @return The index
+     * */
+    int storageOf(int slot){
+        return storage[slot];
+    }
+    
+    /**
+     * Gets the argument of a slot.
+     *
+     * @param slot The slot
+     *
+     * @return The argument
+     * */
+    Argument<?> argumentOf(int slot){
+        return argumentTable[slot];
+    }
+    
+    /**
+     * Checks if the argument of a slot, or the element of its list, is
+     * a type from outside of this library. The schema hash only knows
+     * the class of those, not how they convert.
+     *
+     * @param slot The slot
+     *
+     * @return True for an argument type of the application
+     * */
+    boolean isCustom(int slot){
+        Argument<?> argument = argumentTable[slot];
+        if(argument instanceof SuppliedDefaultArgument){
+            argument = ((SuppliedDefaultArgument<?>)argument).getArgument();
+        }
+        if(argument instanceof ListArgument){
+            argument = ((ListArgument<?>)argument).getElement();
+        }
+        return argument.getClass().getPackage() != EmptyArgument.class.getPackage();
+    }
+    
+    /**
+     * Gets the name of a slot.
+     *
+     * @param slot The slot
+     *
+     * @return The name
+     * */
+    String nameOf(int slot){
+        return names[slot];
+    }
+    
+    /**
+     * Gets the number of registered arguments.
+     *
+     * @return The argument count
+     * */
+    public int getArgumentCount(){
+        return names.length;
+    }
+}
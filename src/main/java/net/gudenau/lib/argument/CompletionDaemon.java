@@ -0,0 +1,509 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.argument.implementation.UnixSockets;
+
+/**
+ * A long lived local server that answers shell completion requests, so
+ * pressing tab does not start a JVM.
+ *
+ * The daemon listens on a Unix domain socket when the runtime supports
+ * them (Java 16 and later). Otherwise it listens on an ephemeral
+ * loopback TCP port and writes the port and a random token to the file
+ * instead, only clients that can read the file can ask for
+ * completions. Either file is only accessible to its owner, the socket
+ * is bound in a private directory and moved to the path so it is never
+ * reachable with looser permissions.
+ *
+ * A request is a list of NUL terminated UTF-8 fields: the token (empty
+ * for Unix domain sockets), the working directory of the shell, the
+ * program name, the number of words and the words after the program
+ * name. The last word is the one being completed. The response is
+ * every candidate followed by a newline, then the connection is closed.
+ *
+ * {@link #bashScript(String)} and {@link #zshScript(String)} generate
+ * the shell functions that send the requests. The bash function needs
+ * socat for Unix domain sockets, zsh uses its own socket modules.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class CompletionDaemon implements AutoCloseable{
+    /**
+     * The largest request that is accepted.
+     * */
+    private static final int MAX_REQUEST = 64 * 1024;
+    /**
+     * The number of requests that are answered at the same time.
+     * */
+    private static final int HANDLERS = 4;
+    
+    private final Path path;
+    private final Map<String, CompletionIndex> programs = new ConcurrentHashMap<>();
+    private boolean unixDomain = UnixSockets.isSupported();
+    
+    // Guarded by this instance
+    private ServerSocketChannel server;
+    private ExecutorService handlers;
+    private Thread acceptThread;
+    private byte[] token;
+    
+    /**
+     * Creates a new completion daemon, it does not listen until it is
+     * started.
+     *
+     * @param path The socket file, or the file for the port and token
+     * */
+    public CompletionDaemon(@NonNull Path path){
+        this.path = path.toAbsolutePath();
+    }
+    
+    /**
+     * Answers completion requests for a program.
+     *
+     * @param program The name of the program in the shell
+     * @param parser The parser of the program
+     *
+     * @return This instance
+     * */
+    public CompletionDaemon register(@NonNull String program, @NonNull ArgumentParser parser){
+        return register(program, parser.createCompletionIndex());
+    }
+    
+    /**
+     * Answers completion requests for a program.
+     *
+     * @param program The name of the program in the shell
+     * @param index The completions of the program
+     *
+     * @return This instance
+     * */
+    public CompletionDaemon register(@NonNull String program, @NonNull CompletionIndex index){
+        programs.put(Objects.requireNonNull(program), Objects.requireNonNull(index));
+        return this;
+    }
+    
+    /**
+     * Sets if a Unix domain socket is used instead of loopback TCP,
+     * enabled by default when the runtime supports it. Takes effect the
+     * next time the daemon is started.
+     *
+     * @param unixDomain Pass true to use a Unix domain socket
+     *
+     * @return This instance
+     * */
+    public synchronized CompletionDaemon setUnixDomain(boolean unixDomain){
+        if(unixDomain && !UnixSockets.isSupported()){
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16");
+        }
+        this.unixDomain = unixDomain;
+        return this;
+    }
+    
+    /**
+     * Checks if a Unix domain socket is used.
+     *
+     * @return True for a Unix domain socket, false for loopback TCP
+     * */
+    public synchronized boolean isUnixDomain(){
+        return unixDomain;
+    }
+    
+    /**
+     * Gets the socket file, or the file for the port and token.
+     *
+     * @return The path
+     * */
+    public Path getPath(){
+        return path;
+    }
+    
+    /**
+     * Starts listening, an existing file at the path is replaced.
+     *
+     * @return This instance
+     *
+     * @throws IOException If the socket could not be bound
+     * */
+    public synchronized CompletionDaemon start() throws IOException{
+        if(server != null){
+            return this;
+        }
+        if(Files.isDirectory(path)){
+            throw new FileAlreadyExistsException(path.toString(), null, "Is a directory");
+        }
+        Path parent = path.getParent();
+        if(parent != null){
+            Files.createDirectories(parent);
+        }
+        
+        ServerSocketChannel server;
+        if(unixDomain){
+            server = bindUnixDomain();
+            token = new byte[0];
+        }else{
+            server = ServerSocketChannel.open();
+            try{
+                server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                token = newToken();
+                writePortFile(((InetSocketAddress)server.getLocalAddress()).getPort());
+            }catch(IOException e){
+                server.close();
+                throw e;
+            }
+        }
+        this.server = server;
+        
+        handlers = Executors.newFixedThreadPool(HANDLERS, (runnable)->{
+            Thread thread = new Thread(runnable, "CompletionDaemon handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ExecutorService handlers = this.handlers;
+        byte[] token = this.token;
+        acceptThread = new Thread(()->acceptLoop(server, handlers, token), "CompletionDaemon acceptor");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        return this;
+    }
+    
+    /**
+     * Waits until the daemon is closed, for programs that do nothing
+     * but answer completions.
+     *
+     * @throws InterruptedException If the thread was interrupted
+     * */
+    public void await() throws InterruptedException{
+        Thread thread;
+        synchronized(this){
+            thread = acceptThread;
+        }
+        if(thread != null){
+            thread.join();
+        }
+    }
+    
+    /**
+     * Stops listening and removes the file at the path.
+     * */
+    @Override
+    public synchronized void close(){
+        if(server == null){
+            return;
+        }
+        try{
+            server.close();
+        }catch(IOException ignored){}
+        handlers.shutdownNow();
+        try{
+            Files.deleteIfExists(path);
+        }catch(IOException ignored){}
+        server = null;
+        handlers = null;
+        acceptThread = null;
+        token = null;
+    }
+    
+    private static void restrict(Path path) throws IOException{
+        try{
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        }catch(UnsupportedOperationException ignored){
+            // Not a POSIX file system
+        }
+    }
+    
+    /**
+     * Binds the Unix domain socket in a new directory that only the
+     * owner can enter and moves it to the path once it is restricted,
+     * nobody else can connect while the socket still has the
+     * permissions of the umask.
+     * */
+    private ServerSocketChannel bindUnixDomain() throws IOException{
+        Path directory;
+        try{
+            directory = Files.createTempDirectory(
+                path.getParent(), ".completion",
+                PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"))
+            );
+        }catch(UnsupportedOperationException e){
+            // Not a POSIX file system, there are no permissions to restrict
+            Files.deleteIfExists(path);
+            return UnixSockets.bind(path);
+        }
+        
+        Path socket = directory.resolve("socket");
+        try{
+            ServerSocketChannel server = UnixSockets.bind(socket);
+            try{
+                restrict(socket);
+                Files.move(socket, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }catch(IOException e){
+                server.close();
+                Files.deleteIfExists(socket);
+                throw e;
+            }
+            return server;
+        }finally{
+            try{
+                Files.deleteIfExists(directory);
+            }catch(IOException ignored){}
+        }
+    }
+    
+    private static byte[] newToken(){
+        byte[] random = new byte[16];
+        new SecureRandom().nextBytes(random);
+        StringBuilder builder = new StringBuilder(random.length * 2);
+        for(byte b : random){
+            builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    /**
+     * Writes the port and the token, the file is created with owner
+     * only permissions and then moved over the path so a client never
+     * reads half of it.
+     * */
+    private void writePortFile(int port) throws IOException{
+        Path directory = path.getParent() == null ? Paths.get("") : path.getParent();
+        Path temporary = Files.createTempFile(directory, ".completion", ".tmp");
+        try{
+            restrict(temporary);
+            Files.write(temporary, (port + "\n" + new String(token, StandardCharsets.US_ASCII) + "\n").getBytes(StandardCharsets.US_ASCII));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(IOException e){
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+    
+    private void acceptLoop(ServerSocketChannel server, ExecutorService handlers, byte[] token){
+        while(true){
+            SocketChannel channel;
+            try{
+                channel = server.accept();
+            }catch(ClosedChannelException e){
+                return;
+            }catch(IOException e){
+                if(!server.isOpen()){
+                    return;
+                }
+                continue;
+            }
+            try{
+                handlers.execute(()->handle(channel, token));
+            }catch(RejectedExecutionException e){
+                close(channel);
+                return;
+            }
+        }
+    }
+    
+    private static void close(SocketChannel channel){
+        try{
+            channel.close();
+        }catch(IOException ignored){}
+    }
+    
+    /**
+     * Answers a single request, requests that are malformed, too large
+     * or have the wrong token are closed without a response.
+     * */
+    private void handle(SocketChannel channel, byte[] token){
+        try(channel){
+            ByteBuffer buffer = ByteBuffer.allocate(4096);
+            List<String> fields;
+            while((fields = parseRequest(buffer)) == null){
+                if(!buffer.hasRemaining()){
+                    if(buffer.capacity() == MAX_REQUEST){
+                        return;
+                    }
+                    buffer = ByteBuffer.allocate(Math.min(buffer.capacity() << 1, MAX_REQUEST)).put(buffer.flip());
+                }
+                if(channel.read(buffer) < 0){
+                    return;
+                }
+            }
+            if(!MessageDigest.isEqual(token, fields.get(0).getBytes(StandardCharsets.UTF_8))){
+                return;
+            }
+            
+            CompletionIndex index = programs.get(fields.get(2));
+            List<String> candidates = index == null ? List.of() : index.complete(fields.subList(4, fields.size()), Paths.get(fields.get(1)));
+            StringBuilder response = new StringBuilder();
+            for(String candidate : candidates){
+                response.append(candidate).append('\n');
+            }
+            ByteBuffer output = StandardCharsets.UTF_8.encode(response.toString());
+            while(output.hasRemaining()){
+                channel.write(output);
+            }
+        }catch(IOException | IllegalArgumentException ignored){
+            // The shell gave up or sent garbage, it gets no candidates
+        }
+    }
+    
+    /**
+     * Splits the fields of a request off the bytes read so far.
+     *
+     * @return The fields or null if the request is not complete
+     * */
+    private static List<String> parseRequest(ByteBuffer buffer){
+        byte[] bytes = buffer.array();
+        int limit = buffer.position();
+        List<String> fields = new ArrayList<>();
+        int words = -1;
+        int start = 0;
+        for(int i = 0; i < limit; i++){
+            if(bytes[i] != 0){
+                continue;
+            }
+            fields.add(new String(bytes, start, i - start, StandardCharsets.UTF_8));
+            start = i + 1;
+            if(fields.size() == 4){
+                try{
+                    words = Integer.parseInt(fields.get(3));
+                }catch(NumberFormatException e){
+                    words = -1;
+                }
+                if(words < 0){
+                    throw new IllegalArgumentException("Malformed completion request");
+                }
+            }
+            if(words != -1 && fields.size() == 4 + words){
+                return fields;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Quotes a string for a POSIX shell.
+     * */
+    private static String quote(String string){
+        return '\'' + string.replace("'", "'\\''") + '\'';
+    }
+    
+    /**
+     * Turns a program name into part of a shell function name.
+     * */
+    private static String functionName(String program){
+        return "_" + program.replaceAll("[^A-Za-z0-9_]", "_") + "_complete";
+    }
+    
+    /**
+     * Generates the bash function that completes a program with this
+     * daemon, to be sourced from .bashrc.
+     *
+     * Words are split on whitespace from the start of the line to the
+     * cursor, quotes are not interpreted.
+     *
+     * @param program The name of the program
+     *
+     * @return The script
+     * */
+    @NonNull
+    public String bashScript(@NonNull String program){
+        String function = functionName(program);
+        String path = quote(this.path.toString());
+        StringBuilder script = new StringBuilder();
+        script.append(function).append("(){\n");
+        script.append("    local line=\"${COMP_LINE:0:COMP_POINT}\" token= port= fd candidate\n");
+        script.append("    local -a words\n");
+        script.append("    read -ra words <<< \"$line\"\n");
+        script.append("    [[ -z \"$line\" || \"$line\" =~ [[:space:]]$ ]] && words+=(\"\")\n");
+        script.append("    (( ${#words[@]} > 1 )) || return 0\n");
+        script.append("    local full=\"${words[${#words[@]}-1]}\" cur=\"${COMP_WORDS[COMP_CWORD]}\"\n");
+        script.append("    COMPREPLY=()\n");
+        if(isUnixDomain()){
+            script.append("    [[ -S ").append(path).append(" ]] || return 0\n");
+            script.append("    while IFS= read -r candidate; do\n");
+            script.append("        COMPREPLY+=(\"${candidate:${#full}-${#cur}}\")\n");
+            script.append("    done < <(printf '%s\\0' \"\" \"$PWD\" ").append(quote(program)).append(" \"$(( ${#words[@]} - 1 ))\" \"${words[@]:1}\" | socat - UNIX-CONNECT:").append(path).append(" 2>/dev/null)\n");
+        }else{
+            script.append("    { IFS= read -r port && IFS= read -r token; } < ").append(path).append(" 2>/dev/null || return 0\n");
+            script.append("    exec {fd}<>\"/dev/tcp/127.0.0.1/$port\" 2>/dev/null || return 0\n");
+            script.append("    printf '%s\\0' \"$token\" \"$PWD\" ").append(quote(program)).append(" \"$(( ${#words[@]} - 1 ))\" \"${words[@]:1}\" >&$fd\n");
+            script.append("    while IFS= read -r candidate <&$fd; do\n");
+            script.append("        COMPREPLY+=(\"${candidate:${#full}-${#cur}}\")\n");
+            script.append("    done\n");
+            script.append("    exec {fd}>&-\n");
+        }
+        script.append("    if (( ${#COMPREPLY[@]} == 1 )) && [[ \"${COMPREPLY[0]}\" == */ || \"${COMPREPLY[0]}\" == *= ]]; then\n");
+        script.append("        compopt -o nospace 2>/dev/null\n");
+        script.append("    fi\n");
+        script.append("}\n");
+        script.append("complete -F ").append(function).append(' ').append(quote(program)).append('\n');
+        return script.toString();
+    }
+    
+    /**
+     * Generates the zsh function that completes a program with this
+     * daemon, to be sourced from .zshrc after compinit.
+     *
+     * @param program The name of the program
+     *
+     * @return The script
+     * */
+    @NonNull
+    public String zshScript(@NonNull String program){
+        String function = functionName(program);
+        String path = quote(this.path.toString());
+        StringBuilder script = new StringBuilder();
+        script.append(function).append("(){\n");
+        script.append("    local -a request candidates partial\n");
+        script.append("    local fd token= port= candidate\n");
+        if(isUnixDomain()){
+            script.append("    [[ -S ").append(path).append(" ]] || return 1\n");
+            script.append("    zmodload zsh/net/socket || return 1\n");
+            script.append("    zsocket ").append(path).append(" 2>/dev/null || return 1\n");
+        }else{
+            script.append("    { IFS= read -r port && IFS= read -r token } < ").append(path).append(" 2>/dev/null || return 1\n");
+            script.append("    zmodload zsh/net/tcp || return 1\n");
+            script.append("    ztcp 127.0.0.1 \"$port\" 2>/dev/null || return 1\n");
+        }
+        script.append("    fd=$REPLY\n");
+        script.append("    request=(\"$token\" \"$PWD\" ").append(quote(program)).append(" $(( CURRENT - 1 )) \"${(Q@)words[2,CURRENT]}\")\n");
+        script.append("    print -rn -- \"${(pj:\\0:)request}\"$'\\0' >&$fd\n");
+        script.append("    while IFS= read -r candidate <&$fd; do\n");
+        script.append("        if [[ \"$candidate\" == */ || \"$candidate\" == *= ]]; then\n");
+        script.append("            partial+=(\"$candidate\")\n");
+        script.append("        else\n");
+        script.append("            candidates+=(\"$candidate\")\n");
+        script.append("        fi\n");
+        script.append("    done\n");
+        if(isUnixDomain()){
+            script.append("    exec {fd}>&-\n");
+        }else{
+            script.append("    ztcp -c $fd\n");
+        }
+        script.append("    compadd -S '' -- \"${partial[@]}\"\n");
+        script.append("    compadd -- \"${candidates[@]}\"\n");
+        script.append("}\n");
+        script.append("compdef ").append(function).append(' ').append(quote(program)).append('\n');
+        return script.toString();
+    }
+}
@@ -0,0 +1,295 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Nullable;
+import net.gudenau.lib.argument.implementation.ArgumentTokenizer;
+import net.gudenau.lib.argument.implementation.EnumArgumentImplementation;
+import net.gudenau.lib.argument.implementation.FileArgument;
+import net.gudenau.lib.argument.implementation.ListArgument;
+import net.gudenau.lib.argument.implementation.NameTrie;
+import net.gudenau.lib.argument.implementation.PathArgument;
+import net.gudenau.lib.argument.implementation.SuppliedDefaultArgument;
+
+/**
+ * Shell completion candidates for the arguments of a compiled parser.
+ *
+ * Everything that does not depend on the file system is computed once,
+ * a prefix trie of the option names and of the subcommands and the
+ * sorted names of every enum argument. Completing a word walks the
+ * words before it to find the parser and the option that it belongs
+ * to, looks the prefix up and lists a directory if the option takes a
+ * file. The index of a subcommand is built the first time it is
+ * completed.
+ *
+ * Options are completed with the dashes that were typed, or with a
+ * single dash for an empty word. Values can be completed after an
+ * option or after "-name=", list values after their last separator.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class CompletionIndex{
+    /**
+     * The maximum number of candidates for a single word.
+     * */
+    private static final int LIMIT = 1000;
+    
+    private final CompiledArgumentParser parser;
+    private final NameTrie options;
+    private final boolean[] flags;
+    private final boolean[] files;
+    private final char[] separators;
+    /**
+     * The sorted enum names of every slot, null for other arguments.
+     * */
+    private final String[][] values;
+    private final NameTrie commands;
+    private final Map<String, CompletionIndex> commandIndexes;
+    
+    /**
+     * Creates the completion index of a compiled parser.
+     *
+     * @param parser The parser
+     * */
+    public CompletionIndex(@NonNull CompiledArgumentParser parser){
+        this.parser = Objects.requireNonNull(parser);
+        
+        int count = parser.getArgumentCount();
+        String[] names = new String[count];
+        flags = new boolean[count];
+        files = new boolean[count];
+        separators = new char[count];
+        values = new String[count][];
+        for(int slot = 0; slot < count; slot++){
+            names[slot] = parser.nameOf(slot);
+            flags[slot] = parser.kindOf(slot) == CompiledArgumentParser.KIND_FLAG;
+            
+            Argument<?> argument = parser.argumentOf(slot);
+            while(true){
+                if(argument instanceof SuppliedDefaultArgument){
+                    argument = ((SuppliedDefaultArgument<?>)argument).getArgument();
+                }else if(argument instanceof ListArgument){
+                    separators[slot] = ((ListArgument<?>)argument).getSeparator();
+                    argument = ((ListArgument<?>)argument).getElement();
+                }else{
+                    break;
+                }
+            }
+            if(argument instanceof EnumArgumentImplementation){
+                values[slot] = ((EnumArgumentImplementation<?>)argument).getNames();
+            }
+            files[slot] = argument instanceof FileArgument || argument instanceof PathArgument;
+        }
+        options = new NameTrie(names);
+        
+        String[] commandNames = parser.getCommandNames();
+        if(commandNames != null){
+            commands = new NameTrie(commandNames);
+            commandIndexes = new ConcurrentHashMap<>();
+        }else{
+            commands = null;
+            commandIndexes = null;
+        }
+    }
+    
+    /**
+     * Completes the last word of a command line, files are relative to
+     * the working directory.
+     *
+     * @param words The words after the program name, the last one is completed
+     *
+     * @return The candidates for the last word
+     * */
+    @NonNull
+    public List<String> complete(@NonNull List<String> words){
+        return complete(words, Paths.get("").toAbsolutePath());
+    }
+    
+    /**
+     * Completes the last word of a command line.
+     *
+     * @param words The words after the program name, the last one is completed
+     * @param directory The directory that relative files are completed in
+     *
+     * @return The candidates for the last word
+     * */
+    @NonNull
+    public List<String> complete(@NonNull List<String> words, @NonNull Path directory){
+        Objects.requireNonNull(directory);
+        if(words.isEmpty()){
+            return Collections.emptyList();
+        }
+        
+        // Find the parser of the last word and the option that is waiting for a value
+        CompletionIndex index = this;
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(false);
+        int last = words.size() - 1;
+        int pending = -1;
+        for(int i = 0; i < last; i++){
+            String word = words.get(i);
+            if(pending != -1){
+                pending = -1;
+                continue;
+            }
+            int token = tokenizer.tokenize(word);
+            if(token == ArgumentTokenizer.NOT_OPTION){
+                CompletionIndex command = index.command(word);
+                if(command != null){
+                    index = command;
+                }
+            }else if(token == ArgumentTokenizer.OPTION){
+                int slot = index.parser.lookup(word, tokenizer.getNameStart(), tokenizer.getNameEnd());
+                if(slot >= 0 && !index.flags[slot] && !tokenizer.hasEquals()){
+                    pending = slot;
+                }
+            }
+        }
+        
+        String word = words.get(last);
+        List<String> result = new ArrayList<>();
+        if(pending != -1){
+            index.values(pending, "", word, directory, result);
+        }else{
+            index.word(word, tokenizer, directory, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the index of a subcommand.
+     *
+     * @return The index or null if there is no such subcommand
+     * */
+    @Nullable
+    private CompletionIndex command(String name){
+        if(commandIndexes == null){
+            return null;
+        }
+        return commandIndexes.computeIfAbsent(name, (key)->{
+            CompiledArgumentParser command = parser.getCommandParser(key);
+            return command == null ? null : new CompletionIndex(command);
+        });
+    }
+    
+    /**
+     * Completes a word that is not the value of the option before it.
+     * */
+    private void word(String word, ArgumentTokenizer tokenizer, Path directory, List<String> result){
+        if(word.isEmpty()){
+            if(commands != null){
+                result.addAll(commands.withPrefix("", LIMIT));
+            }
+            prefixed("-", options.withPrefix("", LIMIT - result.size()), result);
+            return;
+        }
+        
+        int token = tokenizer.tokenize(word);
+        if(token == ArgumentTokenizer.NOT_OPTION){
+            if(commands != null){
+                result.addAll(commands.withPrefix(word, LIMIT));
+            }
+            return;
+        }
+        
+        // A name that is still being typed, with or without its dashes
+        int nameStart = tokenizer.getNameStart();
+        int nameEnd = tokenizer.getNameEnd();
+        if(token == ArgumentTokenizer.NO_NAME){
+            while(nameStart < word.length() && word.charAt(nameStart) == '-'){
+                nameStart++;
+            }
+            nameEnd = nameStart;
+        }
+        if(nameEnd == word.length()){
+            prefixed(word.substring(0, nameStart), options.withPrefix(word.substring(nameStart), LIMIT), result);
+        }else if(token == ArgumentTokenizer.OPTION && word.charAt(nameEnd) == '='){
+            int slot = parser.lookup(word, nameStart, nameEnd);
+            if(slot >= 0 && !flags[slot]){
+                values(slot, word.substring(0, nameEnd + 1), word.substring(nameEnd + 1), directory, result);
+            }
+        }
+    }
+    
+    private static void prefixed(String prefix, List<String> names, List<String> result){
+        for(String name : names){
+            result.add(prefix + name);
+        }
+    }
+    
+    /**
+     * Completes the value of an option, every candidate starts with the
+     * part of the word before the value.
+     * */
+    private void values(int slot, String lead, String value, Path directory, List<String> result){
+        // Only the last element of a list is completed
+        if(separators[slot] != 0){
+            int separator = value.lastIndexOf(separators[slot]) + 1;
+            lead += value.substring(0, separator);
+            value = value.substring(separator);
+        }
+        
+        String[] names = values[slot];
+        if(names != null){
+            int first = Arrays.binarySearch(names, value, String.CASE_INSENSITIVE_ORDER);
+            if(first < 0){
+                first = -first - 1;
+            }
+            for(int i = first; i < names.length && result.size() < LIMIT; i++){
+                String name = names[i];
+                if(!name.regionMatches(true, 0, value, 0, value.length())){
+                    break;
+                }
+                result.add(lead + name);
+            }
+        }else if(files[slot]){
+            files(lead, value, directory, result);
+        }
+    }
+    
+    /**
+     * Lists the files of a directory that start with the last part of a
+     * path. Directories end with a slash, hidden files are only listed
+     * if the part starts with a dot.
+     * */
+    private static void files(String lead, String value, Path directory, List<String> result){
+        int slash = value.lastIndexOf('/') + 1;
+        String parent = value.substring(0, slash);
+        String prefix = value.substring(slash);
+        
+        int start = result.size();
+        try{
+            Path path;
+            if(parent.startsWith("~/")){
+                path = Paths.get(System.getProperty("user.home")).resolve(parent.substring(2));
+            }else{
+                path = directory.resolve(parent);
+            }
+            try(DirectoryStream<Path> stream = Files.newDirectoryStream(path)){
+                for(Path file : stream){
+                    String name = file.getFileName().toString();
+                    if(!name.startsWith(prefix) || (name.startsWith(".") && !prefix.startsWith(".")) || name.indexOf('\n') != -1){
+                        continue;
+                    }
+                    result.add(lead + parent + name + (Files.isDirectory(file) ? "/" : ""));
+                    if(result.size() == LIMIT){
+                        break;
+                    }
+                }
+            }
+        }catch(IOException | InvalidPathException ignored){
+            // Nothing to complete
+        }
+        result.subList(start, result.size()).sort(null);
+    }
+}
@@ -0,0 +1,43 @@
+package net.gudenau.lib.argument;
+
+/**
+ * Why an argument could not convert a value, returned by
+ * {@link net.gudenau.lib.argument.Argument#check(CharSequence, int, int) Argument.check}
+ * instead of throwing an exception, or why a path failed one of its
+ * {@link net.gudenau.lib.argument.PathCheck checks}.
+ * */
+public enum ConversionError{
+    /**
+     * The value was not in the format the argument expects, like a
+     * number with letters in it.
+     * */
+    FORMAT,
+    /**
+     * The value was well formed but too large or too small.
+     * */
+    RANGE,
+    /**
+     * The value did not match any of the allowed values.
+     * */
+    UNKNOWN_VALUE,
+    /**
+     * The value matched more than one of the allowed values.
+     * */
+    AMBIGUOUS_VALUE,
+    /**
+     * A path did not exist.
+     * */
+    NOT_FOUND,
+    /**
+     * A path was not a directory.
+     * */
+    NOT_DIRECTORY,
+    /**
+     * A path could not be read.
+     * */
+    NOT_READABLE,
+    /**
+     * The converter failed for another reason.
+     * */
+    OTHER
+}
@@ -0,0 +1,259 @@
+package net.gudenau.lib.argument;
+
+import java.util.Arrays;
+import java.util.StringJoiner;
+import net.gudenau.lib.annotation.Nullable;
+
+/**
+ * The problems that
+ * {@link net.gudenau.lib.argument.CompiledArgumentParser#tryParse(String[], Diagnostics) tryParse}
+ * found in a command line.
+ *
+ * Every problem has a kind, the index of the token it is about and the
+ * name of the argument if there is one. Problems are stored in arrays
+ * that are reused by the next parse, the names and messages are only
+ * created when they are asked for, so validating many command lines
+ * with one instance allocates next to nothing.
+ *
+ * Instances are not thread safe, use one per thread.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class Diagnostics{
+    private int count;
+    private ParseFailure[] failures = new ParseFailure[4];
+    private ConversionError[] errors = new ConversionError[4];
+    private int[] tokens = new int[4];
+    /**
+     * The registered names, null for unknown names.
+     * */
+    private String[] names = new String[4];
+    /**
+     * The tokens or values the problems are about and the range of the
+     * interesting part.
+     * */
+    private CharSequence[] sources = new CharSequence[4];
+    private int[] starts = new int[4];
+    private int[] ends = new int[4];
+    /**
+     * The parsers that found the problems, for the messages.
+     * */
+    private CompiledArgumentParser[] parsers = new CompiledArgumentParser[4];
+    
+    /**
+     * The positions of the subcommand tokens that were removed before a
+     * subcommand parsed the rest, outermost first.
+     * */
+    private int[] commands = new int[2];
+    private int commandCount;
+    
+    /**
+     * Creates empty diagnostics.
+     * */
+    public Diagnostics(){}
+    
+    /**
+     * Removes all problems, the storage is kept.
+     * */
+    public void clear(){
+        Arrays.fill(names, 0, count, null);
+        Arrays.fill(sources, 0, count, null);
+        Arrays.fill(parsers, 0, count, null);
+        count = 0;
+        commandCount = 0;
+    }
+    
+    /**
+     * Gets the number of problems.
+     *
+     * @return The problem count
+     * */
+    public int size(){
+        return count;
+    }
+    
+    /**
+     * Checks if there are no problems.
+     *
+     * @return True if the command line was valid
+     * */
+    public boolean isEmpty(){
+        return count == 0;
+    }
+    
+    /**
+     * Gets the kind of a problem.
+     *
+     * @param index The index of the problem
+     *
+     * @return The kind
+     * */
+    public ParseFailure getFailure(int index){
+        return failures[check(index)];
+    }
+    
+    /**
+     * Gets why a value could not be converted.
+     *
+     * @param index The index of the problem
+     *
+     * @return The error for {@link ParseFailure#INVALID_VALUE} problems, null for the others
+     * */
+    @Nullable
+    public ConversionError getError(int index){
+        return errors[check(index)];
+    }
+    
+    /**
+     * Gets the index of the token a problem is about, in the command
+     * line after argument files were expanded.
+     *
+     * @param index The index of the problem
+     *
+     * @return The token index or -1 for missing required arguments
+     * */
+    public int getTokenIndex(int index){
+        return tokens[check(index)];
+    }
+    
+    /**
+     * Gets the name of the argument or subcommand a problem is about,
+     * as it was passed for unknown ones.
+     *
+     * @param index The index of the problem
+     *
+     * @return The name or null for tokens that are not options
+     * */
+    @Nullable
+    public String getName(int index){
+        check(index);
+        if(names[index] != null){
+            return names[index];
+        }
+        ParseFailure failure = failures[index];
+        if(failure == ParseFailure.UNKNOWN_ARGUMENT || failure == ParseFailure.UNKNOWN_COMMAND){
+            return sources[index].subSequence(starts[index], ends[index]).toString();
+        }
+        return null;
+    }
+    
+    /**
+     * Gets the message that parsing would have thrown for a problem.
+     *
+     * @param index The index of the problem
+     *
+     * @return The message
+     * */
+    public String getMessage(int index){
+        check(index);
+        CharSequence source = sources[index];
+        switch(failures[index]){
+            case ILLEGAL_TOKEN:
+                // Like parse, a token of only dashes has no space after the colon
+                return (source.length() != 0 && source.charAt(0) == '-' ? "Illegal argument:" : "Illegal argument: ") + source;
+            case UNKNOWN_ARGUMENT: return parsers[index].describeUnknown(getName(index));
+            case UNKNOWN_COMMAND: return parsers[index].describeUnknownCommand(getName(index));
+            case MALFORMED_VALUE:
+                if(parsers[index].isFlag(names[index])){
+                    return String.format("%s can not have a value!", names[index]);
+                }
+                return "Malformed param: " + source;
+            case INVALID_VALUE: return String.format(
+                "Invalid value \"%s\" for %s: %s",
+                source.subSequence(starts[index], ends[index]), names[index], describe(errors[index])
+            );
+            case MISSING_REQUIRED: return "Required param is missing";
+            default: return String.valueOf(source);
+        }
+    }
+    
+    private static String describe(ConversionError error){
+        switch(error){
+            case FORMAT: return "malformed";
+            case RANGE: return "out of range";
+            case UNKNOWN_VALUE: return "unknown value";
+            case AMBIGUOUS_VALUE: return "ambiguous value";
+            case NOT_FOUND: return "does not exist";
+            case NOT_DIRECTORY: return "not a directory";
+            case NOT_READABLE: return "not readable";
+            default: return "conversion failed";
+        }
+    }
+    
+    private int check(int index){
+        if(index < 0 || index >= count){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+        }
+        return index;
+    }
+    
+    /**
+     * Records a problem.
+     *
+     * @param parser The parser that found it
+     * @param failure The kind
+     * @param error The conversion error or null
+     * @param token The token index in the command line of the parser or -1
+     * @param name The registered name or null
+     * @param source The token or value
+     * @param start The start of the unknown name or the value
+     * @param end The end of the unknown name or the value
+     * */
+    void add(CompiledArgumentParser parser, ParseFailure failure, ConversionError error, int token, String name, CharSequence source, int start, int end){
+        if(count == failures.length){
+            int capacity = count << 1;
+            failures = Arrays.copyOf(failures, capacity);
+            errors = Arrays.copyOf(errors, capacity);
+            tokens = Arrays.copyOf(tokens, capacity);
+            names = Arrays.copyOf(names, capacity);
+            sources = Arrays.copyOf(sources, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            parsers = Arrays.copyOf(parsers, capacity);
+        }
+        
+        // Subcommands parse the command line without their token, put it back
+        if(token >= 0){
+            for(int i = commandCount - 1; i >= 0; i--){
+                if(token >= commands[i]){
+                    token++;
+                }
+            }
+        }
+        
+        failures[count] = failure;
+        errors[count] = error;
+        tokens[count] = token;
+        names[count] = name;
+        sources[count] = source;
+        starts[count] = start;
+        ends[count] = end;
+        parsers[count] = parser;
+        count++;
+    }
+    
+    /**
+     * Records that a subcommand parses the rest of the command line.
+     *
+     * @param token The index of the subcommand token in the command line of the parser
+     * */
+    void enterCommand(int token){
+        if(commandCount == commands.length){
+            commands = Arrays.copyOf(commands, commandCount << 1);
+        }
+        commands[commandCount++] = token;
+    }
+    
+    /**
+     * Joins the messages of all problems, one per line.
+     *
+     * @return The messages
+     * */
+    @Override
+    public String toString(){
+        StringJoiner joiner = new StringJoiner(System.lineSeparator());
+        for(int i = 0; i < count; i++){
+            joiner.add(getMessage(i));
+        }
+        return joiner.toString();
+    }
+}
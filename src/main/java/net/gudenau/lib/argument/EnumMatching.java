@@ -0,0 +1,23 @@
+package net.gudenau.lib.argument;
+
+/**
+ * How an enum argument matches values to the
+ * {@link net.gudenau.lib.argument.EnumArgument#getArgumentName() argument names}
+ * of the constants.
+ * */
+public enum EnumMatching{
+    /**
+     * The value has to equal the name.
+     * */
+    EXACT,
+    /**
+     * The value has to equal the name, ignoring case.
+     * */
+    IGNORE_CASE,
+    /**
+     * The value has to start the name of exactly one constant, ignoring
+     * case. A value that equals a name always matches it, even if it
+     * also starts longer names.
+     * */
+    UNIQUE_PREFIX
+}
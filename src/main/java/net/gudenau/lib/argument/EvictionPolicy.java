@@ -0,0 +1,16 @@
+package net.gudenau.lib.argument;
+
+/**
+ * How the result cache of an {@link net.gudenau.lib.argument.ArgumentParser ArgumentParser}
+ * picks the entry to remove when it is full.
+ * */
+public enum EvictionPolicy{
+    /**
+     * Removes the entry that was used least recently.
+     * */
+    LEAST_RECENTLY_USED,
+    /**
+     * Removes the entry that was added first.
+     * */
+    FIRST_IN_FIRST_OUT
+}
@@ -0,0 +1,546 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import net.gudenau.lib.annotation.NonNull;
+import net.gudenau.lib.annotation.Nullable;
+
+/**
+ * Merges the arguments of a parser from several sources, like
+ * environment variables, system properties, properties files and the
+ * command line.
+ *
+ * Sources are layers, a layer that is added later overrides the layers
+ * before it. Every source has its own naming convention for the
+ * registered names, "maxThreads" is read from:
+ * <ul>
+ *     <li>The environment variable "PREFIX_MAX_THREADS"</li>
+ *     <li>The system property "prefix.maxThreads" or "prefix.max-threads"</li>
+ *     <li>The property "maxThreads" or "max-threads" of a properties file</li>
+ *     <li>The command line option "-maxThreads"</li>
+ * </ul>
+ * The mapping from the keys of a source to the registered names is
+ * computed once per compiled parser, keys that do not map to a
+ * registered name are ignored. Flags take "true" or "false" outside
+ * of the command line.
+ *
+ * After {@link #watch()} properties files are reloaded when they
+ * change. Only the values that changed are converted again, the new
+ * result is swapped in atomically and passed to the subscribers, so
+ * readers never wait for a reload. A reload that fails keeps the old
+ * result and is reported to the failure handler.
+ *
+ * Values are always converted eagerly, lazy conversion of the parser
+ * does not apply.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class LayeredArguments implements AutoCloseable{
+    private final ArgumentParser parser;
+    private final List<Layer> layers = new ArrayList<>();
+    private final AtomicReference<ArgumentResult> current = new AtomicReference<>();
+    private final List<Consumer<? super ArgumentResult>> subscribers = new CopyOnWriteArrayList<>();
+    private volatile Consumer<? super RuntimeException> failureHandler;
+    
+    /**
+     * The state the current result was built from, guarded by this
+     * instance.
+     * */
+    private CompiledArgumentParser compiled;
+    private String[] values;
+    private Object[] objects;
+    private long[] primitives;
+    private long[] present;
+    private LazyValue[] lazy;
+    
+    private WatchService watchService;
+    private Thread watchThread;
+    
+    /**
+     * Creates layered sources for the arguments of a parser, with no
+     * layers.
+     *
+     * @param parser The parser with the registered arguments
+     * */
+    public LayeredArguments(@NonNull ArgumentParser parser){
+        this.parser = Objects.requireNonNull(parser);
+    }
+    
+    /**
+     * Adds the environment variables as a layer.
+     *
+     * @param prefix The prefix of the variables, like "MYAPP_"
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public synchronized LayeredArguments addEnvironment(@NonNull String prefix){
+        layers.add(new Layer(Layer.ENVIRONMENT, Objects.requireNonNull(prefix), null, null));
+        return this;
+    }
+    
+    /**
+     * Adds the system properties as a layer.
+     *
+     * @param prefix The prefix of the properties, like "myapp."
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public synchronized LayeredArguments addSystemProperties(@NonNull String prefix){
+        layers.add(new Layer(Layer.SYSTEM_PROPERTIES, Objects.requireNonNull(prefix), null, null));
+        return this;
+    }
+    
+    /**
+     * Adds a properties file as a layer, a missing file is an empty
+     * layer. The file is read as UTF-8.
+     *
+     * @param file The properties file
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public synchronized LayeredArguments addPropertiesFile(@NonNull Path file){
+        layers.add(new Layer(Layer.FILE, "", Objects.requireNonNull(file).toAbsolutePath().normalize(), null));
+        return this;
+    }
+    
+    /**
+     * Adds a command line as a layer, required arguments are only
+     * checked after all layers are merged.
+     *
+     * @param arguments The command line
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public synchronized LayeredArguments addCommandLine(@NonNull String[] arguments){
+        layers.add(new Layer(Layer.COMMAND_LINE, "", null, Objects.requireNonNull(arguments).clone()));
+        return this;
+    }
+    
+    /**
+     * Registers a consumer for every new result, called on the thread
+     * that loaded it.
+     *
+     * @param subscriber The consumer
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public LayeredArguments subscribe(@NonNull Consumer<? super ArgumentResult> subscriber){
+        subscribers.add(Objects.requireNonNull(subscriber));
+        return this;
+    }
+    
+    /**
+     * Removes a consumer that was registered with {@link #subscribe(Consumer)}.
+     *
+     * @param subscriber The consumer
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public LayeredArguments unsubscribe(@NonNull Consumer<? super ArgumentResult> subscriber){
+        subscribers.remove(Objects.requireNonNull(subscriber));
+        return this;
+    }
+    
+    /**
+     * Sets the consumer for reloads that fail while watching, or
+     * removes it if null. Without one failures are ignored.
+     *
+     * @param handler The consumer or null
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     * */
+    public LayeredArguments setFailureHandler(@Nullable Consumer<? super RuntimeException> handler){
+        failureHandler = handler;
+        return this;
+    }
+    
+    /**
+     * Reads every layer and merges them into a new result.
+     *
+     * @return The new result
+     *
+     * @throws IllegalArgumentException If a value is invalid or a required argument is missing
+     * @throws UncheckedIOException If a properties file can not be read
+     * */
+    @NonNull
+    public synchronized ArgumentResult load(){
+        CompiledArgumentParser compiled = parser.compile();
+        for(Layer layer : layers){
+            layer.values = layer.read(compiled);
+        }
+        return update(compiled);
+    }
+    
+    /**
+     * Gets the current result, loading it if nothing was loaded yet.
+     *
+     * @return The current result
+     * */
+    @NonNull
+    public ArgumentResult get(){
+        ArgumentResult result = current.get();
+        return result != null ? result : load();
+    }
+    
+    /**
+     * Starts watching the properties files, the result is reloaded on
+     * a daemon thread when one of them changes. Loads the layers first
+     * if nothing was loaded yet.
+     *
+     * @return The current {@link net.gudenau.lib.argument.LayeredArguments LayeredArguments}
+     *          for chaining
+     *
+     * @throws UncheckedIOException If the files can not be watched
+     * */
+    public synchronized LayeredArguments watch(){
+        if(watchService != null){
+            return this;
+        }
+        if(current.get() == null){
+            load();
+        }
+        
+        Set<Path> directories = new HashSet<>();
+        for(Layer layer : layers){
+            if(layer.type == Layer.FILE){
+                directories.add(layer.file.getParent());
+            }
+        }
+        if(directories.isEmpty()){
+            return this;
+        }
+        
+        try{
+            WatchService watchService = directories.iterator().next().getFileSystem().newWatchService();
+            try{
+                for(Path directory : directories){
+                    directory.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                    );
+                }
+            }catch(IOException e){
+                watchService.close();
+                throw e;
+            }
+            this.watchService = watchService;
+        }catch(IOException e){
+            throw new UncheckedIOException(e);
+        }
+        
+        watchThread = new Thread(()->watchLoop(watchService), "LayeredArguments watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+        return this;
+    }
+    
+    /**
+     * Stops watching the properties files, the current result stays.
+     * */
+    @Override
+    public synchronized void close(){
+        if(watchService == null){
+            return;
+        }
+        try{
+            watchService.close();
+        }catch(IOException ignored){}
+        watchService = null;
+        watchThread = null;
+    }
+    
+    private void watchLoop(WatchService watchService){
+        try{
+            while(true){
+                WatchKey key = watchService.take();
+                Path directory = (Path)key.watchable();
+                Set<Path> changed = new HashSet<>();
+                for(WatchEvent<?> event : key.pollEvents()){
+                    if(event.kind() == StandardWatchEventKinds.OVERFLOW){
+                        changed = null;
+                        break;
+                    }
+                    changed.add(directory.resolve((Path)event.context()));
+                }
+                key.reset();
+                reload(changed);
+            }
+        }catch(InterruptedException | ClosedWatchServiceException ignored){}
+    }
+    
+    /**
+     * Reads the file layers again and publishes a new result if any
+     * value changed.
+     *
+     * @param changed The changed files or null to read all of them
+     * */
+    private void reload(Set<Path> changed){
+        try{
+            synchronized(this){
+                if(watchService == null){
+                    return;
+                }
+                
+                boolean read = false;
+                for(Layer layer : layers){
+                    // Layers that were added after the last load are read as well
+                    if(layer.values == null || (layer.type == Layer.FILE && (changed == null || changed.contains(layer.file)))){
+                        layer.values = layer.read(compiled);
+                        read = true;
+                    }
+                }
+                if(read){
+                    update(compiled);
+                }
+            }
+        }catch(RuntimeException e){
+            Consumer<? super RuntimeException> handler = failureHandler;
+            if(handler != null){
+                handler.accept(e);
+            }
+        }
+    }
+    
+    /**
+     * Merges the values of the layers and converts the values that
+     * differ from the current result. Has to hold the lock.
+     * */
+    private ArgumentResult update(CompiledArgumentParser compiled){
+        int count = compiled.getArgumentCount();
+        String[] values = new String[count];
+        for(Layer layer : layers){
+            String[] layerValues = layer.values;
+            for(int slot = 0; slot < count; slot++){
+                if(layerValues[slot] != null){
+                    values[slot] = layerValues[slot];
+                }
+            }
+        }
+        
+        // Start from the published storage and only touch what changed
+        boolean fresh = this.compiled != compiled || this.values == null;
+        Object[] objects = fresh ? compiled.copyObjectDefaults() : this.objects.clone();
+        long[] primitives = fresh ? compiled.copyPrimitiveDefaults() : this.primitives.clone();
+        long[] present = fresh ? compiled.copyDefaultMask() : this.present.clone();
+        LazyValue[] lazy = fresh ? compiled.copyLazyDefaults() : this.lazy == null ? null : this.lazy.clone();
+        boolean changed = fresh;
+        for(int slot = 0; slot < count; slot++){
+            String value = values[slot];
+            if(fresh ? value == null : Objects.equals(value, this.values[slot])){
+                continue;
+            }
+            
+            try{
+                compiled.assign(slot, value, objects, primitives, present, lazy);
+            }catch(IllegalArgumentException e){
+                throw new IllegalArgumentException(String.format(
+                    "Invalid value \"%s\" for %s from %s: %s",
+                    value, compiled.nameOf(slot), sourceOf(slot), e.getMessage()
+                ), e);
+            }
+            changed = true;
+        }
+        if(!changed){
+            return current.get();
+        }
+        
+        ArgumentResult result = compiled.createResult(objects, primitives, present, lazy);
+        this.compiled = compiled;
+        this.values = values;
+        this.objects = objects;
+        this.primitives = primitives;
+        this.present = present;
+        this.lazy = lazy;
+        current.set(result);
+        for(Consumer<? super ArgumentResult> subscriber : subscribers){
+            subscriber.accept(result);
+        }
+        return result;
+    }
+    
+    /**
+     * Finds the layer a merged value came from, for error messages.
+     * */
+    private String sourceOf(int slot){
+        for(int i = layers.size() - 1; i >= 0; i--){
+            Layer layer = layers.get(i);
+            if(layer.values[slot] != null){
+                return layer.toString();
+            }
+        }
+        return "nowhere";
+    }
+    
+    /**
+     * Converts a camel case name to upper snake case, "maxThreads" to
+     * "MAX_THREADS".
+     * */
+    static String toUpperSnakeCase(String name){
+        return separate(name, '_').toUpperCase(Locale.ROOT);
+    }
+    
+    /**
+     * Converts a camel case name to kebab case, "maxThreads" to
+     * "max-threads".
+     * */
+    static String toKebabCase(String name){
+        return separate(name, '-').toLowerCase(Locale.ROOT);
+    }
+    
+    private static String separate(String name, char separator){
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for(int i = 0; i < name.length(); i++){
+            char c = name.charAt(i);
+            if(i > 0 && c >= 'A' && c <= 'Z'){
+                char previous = name.charAt(i - 1);
+                if((previous >= 'a' && previous <= 'z') || (previous >= '0' && previous <= '9')){
+                    builder.append(separator);
+                }
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+    
+    /**
+     * A single source and the values it had when it was last read.
+     * */
+    private static final class Layer{
+        private static final int ENVIRONMENT = 0;
+        private static final int SYSTEM_PROPERTIES = 1;
+        private static final int FILE = 2;
+        private static final int COMMAND_LINE = 3;
+        
+        private final int type;
+        private final String prefix;
+        private final Path file;
+        private final String[] arguments;
+        
+        /**
+         * The keys of this source to slots and the parser they are for.
+         * */
+        private Map<String, Integer> keys;
+        private CompiledArgumentParser keysParser;
+        /**
+         * The raw value of every slot, null where this layer has none.
+         * */
+        private String[] values;
+        
+        private Layer(int type, String prefix, Path file, String[] arguments){
+            this.type = type;
+            this.prefix = prefix;
+            this.file = file;
+            this.arguments = arguments;
+        }
+        
+        private String[] read(CompiledArgumentParser parser){
+            if(type == COMMAND_LINE){
+                return parser.parseValues(arguments);
+            }
+            
+            Map<String, Integer> keys = this.keys;
+            if(keysParser != parser){
+                keys = keysOf(parser);
+                this.keys = keys;
+                keysParser = parser;
+            }
+            
+            String[] values = new String[parser.getArgumentCount()];
+            switch(type){
+                case ENVIRONMENT: {
+                    Map<String, String> environment = System.getenv();
+                    for(Map.Entry<String, Integer> entry : keys.entrySet()){
+                        String value = environment.get(entry.getKey());
+                        if(value != null){
+                            values[entry.getValue()] = value;
+                        }
+                    }
+                } break;
+                case SYSTEM_PROPERTIES: {
+                    Properties properties = System.getProperties();
+                    for(Map.Entry<String, Integer> entry : keys.entrySet()){
+                        String value = properties.getProperty(entry.getKey());
+                        if(value != null){
+                            values[entry.getValue()] = value;
+                        }
+                    }
+                } break;
+                default: {
+                    Properties properties = new Properties();
+                    try(Reader reader = Files.newBufferedReader(file)){
+                        properties.load(reader);
+                    }catch(NoSuchFileException e){
+                        return values;
+                    }catch(IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                    for(String key : properties.stringPropertyNames()){
+                        Integer slot = keys.get(key);
+                        if(slot != null){
+                            values[slot] = properties.getProperty(key);
+                        }
+                    }
+                } break;
+            }
+            return values;
+        }
+        
+        /**
+         * Computes the keys of every registered name in the naming
+         * convention of this source.
+         * */
+        private Map<String, Integer> keysOf(CompiledArgumentParser parser){
+            int count = parser.getArgumentCount();
+            Map<String, Integer> keys = new HashMap<>(count * 4);
+            for(int slot = 0; slot < count; slot++){
+                String name = parser.nameOf(slot);
+                if(type == ENVIRONMENT){
+                    keys.put(prefix + toUpperSnakeCase(name), slot);
+                }else{
+                    keys.put(prefix + toKebabCase(name), slot);
+                    keys.put(prefix + name, slot);
+                }
+            }
+            return keys;
+        }
+        
+        @Override
+        public String toString(){
+            switch(type){
+                case ENVIRONMENT: return "environment variables " + prefix + "*";
+                case SYSTEM_PROPERTIES: return "system properties " + prefix + "*";
+                case FILE: return file.toString();
+                default: return "the command line";
+            }
+        }
+    }
+}
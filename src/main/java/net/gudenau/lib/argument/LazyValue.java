@@ -0,0 +1,86 @@
+package net.gudenau.lib.argument;
+
+import java.util.function.Supplier;
+
+/**
+ * A value that is converted the first time it is read.
+ *
+ * Holds either the raw slice of a token and the argument that converts
+ * it, or a supplier for a default value. The converted value is cached,
+ * concurrent first reads convert it only once. A failed conversion is
+ * not cached and throws again on the next read.
+ * */
+final class LazyValue{
+    private final Argument<?> argument;
+    private final byte kind;
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+    private final Supplier<?> supplier;
+    
+    private volatile boolean converted;
+    private Object value;
+    private long bits;
+    
+    /**
+     * Creates a value that converts a range of a token.
+     * */
+    LazyValue(Argument<?> argument, byte kind, CharSequence source, int start, int end){
+        this.argument = argument;
+        this.kind = kind;
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        supplier = null;
+    }
+    
+    /**
+     * Creates a value that is computed by a supplier.
+     * */
+    LazyValue(Supplier<?> supplier){
+        argument = null;
+        kind = CompiledArgumentParser.KIND_OBJECT;
+        source = null;
+        start = 0;
+        end = 0;
+        this.supplier = supplier;
+    }
+    
+    private void convert(){
+        if(converted){
+            return;
+        }
+        synchronized(this){
+            if(converted){
+                return;
+            }
+            if(supplier != null){
+                value = supplier.get();
+            }else{
+                switch(kind){
+                    case CompiledArgumentParser.KIND_INT: bits = ((Argument.OfInt)argument).parseInt(source, start, end); break;
+                    case CompiledArgumentParser.KIND_LONG: bits = ((Argument.OfLong)argument).parseLong(source, start, end); break;
+                    case CompiledArgumentParser.KIND_DOUBLE: bits = Double.doubleToRawLongBits(((Argument.OfDouble)argument).parseDouble(source, start, end)); break;
+                    default: value = argument.getValue(source, start, end); break;
+                }
+            }
+            converted = true;
+        }
+    }
+    
+    /**
+     * Gets the value of an object slot.
+     * */
+    Object get(){
+        convert();
+        return value;
+    }
+    
+    /**
+     * Gets the value of a primitive slot, doubles are raw bits.
+     * */
+    long getBits(){
+        convert();
+        return bits;
+    }
+}
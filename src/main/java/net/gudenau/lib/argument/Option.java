@@ -0,0 +1,34 @@
+package net.gudenau.lib.argument;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a field that is bound to an argument by an
+ * {@link net.gudenau.lib.argument.ArgumentBinder ArgumentBinder}.
+ *
+ * The argument type is picked from the type of the field, see
+ * {@link net.gudenau.lib.argument.ArgumentBinder ArgumentBinder} for
+ * the supported types.
+ * */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Option{
+    /**
+     * The name of the argument, defaults to the name of the field.
+     *
+     * @return The name
+     * */
+    String name() default "";
+    
+    /**
+     * Checks if the argument is required.
+     *
+     * @return Is the argument required?
+     * */
+    boolean required() default false;
+}
@@ -0,0 +1,38 @@
+package net.gudenau.lib.argument;
+
+/**
+ * Why a parse failed, as reported to a
+ * {@link net.gudenau.lib.argument.ParseListener ParseListener} and in
+ * flight recorder events.
+ * */
+public enum ParseFailure{
+    /**
+     * A token was not an option, like a positional argument or a lone dash.
+     * */
+    ILLEGAL_TOKEN,
+    /**
+     * An option was not registered.
+     * */
+    UNKNOWN_ARGUMENT,
+    /**
+     * A subcommand was not registered.
+     * */
+    UNKNOWN_COMMAND,
+    /**
+     * A value was missing, had characters that are not allowed or was
+     * passed to a flag.
+     * */
+    MALFORMED_VALUE,
+    /**
+     * An argument could not convert its value.
+     * */
+    INVALID_VALUE,
+    /**
+     * A required argument was not passed.
+     * */
+    MISSING_REQUIRED,
+    /**
+     * Anything else, like an argument file that could not be read.
+     * */
+    OTHER
+}
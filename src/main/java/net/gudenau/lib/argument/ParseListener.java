@@ -0,0 +1,41 @@
+package net.gudenau.lib.argument;
+
+import net.gudenau.lib.annotation.NonNull;
+
+/**
+ * Receives measurements from a parser, for feeding counters and
+ * histograms of a metrics system.
+ *
+ * Set with {@link net.gudenau.lib.argument.ArgumentParser#setParseListener(ParseListener) ArgumentParser.setParseListener}.
+ * Without a listener the parser does not measure anything. The methods
+ * are called on the parsing thread, so they should be quick and have
+ * to be thread safe if the parser is shared.
+ * */
+public interface ParseListener{
+    /**
+     * Called after a command line was parsed.
+     *
+     * @param tokens The number of tokens that were read
+     * @param nanos The time the parse took in nanoseconds, 0 for cached results
+     * @param cached True if the result came from the result cache
+     * */
+    default void parsed(int tokens, long nanos, boolean cached){}
+    
+    /**
+     * Called after a value was converted while parsing. Values that are
+     * converted lazily are not reported.
+     *
+     * @param name The name of the argument
+     * @param nanos The time the conversion took in nanoseconds
+     * */
+    default void converted(@NonNull String name, long nanos){}
+    
+    /**
+     * Called when a parse failed, before the exception is thrown.
+     *
+     * @param failure Why the parse failed
+     * @param tokens The number of tokens that were read
+     * @param nanos The time until the failure in nanoseconds
+     * */
+    default void failed(@NonNull ParseFailure failure, int tokens, long nanos){}
+}
@@ -0,0 +1,59 @@
+package net.gudenau.lib.argument;
+
+import net.gudenau.lib.annotation.Nullable;
+
+/**
+ * The outcome of parsing a single command line in a batch, either a
+ * result or the exception that the parse threw.
+ * */
+@SuppressWarnings({"WeakerAccess", "unused"})
+public final class ParseOutcome{
+    private final ArgumentResult result;
+    private final RuntimeException error;
+    
+    ParseOutcome(ArgumentResult result, RuntimeException error){
+        this.result = result;
+        this.error = error;
+    }
+    
+    /**
+     * Checks if the command line was parsed successfully.
+     *
+     * @return True if there is a result
+     * */
+    public boolean isSuccess(){
+        return error == null;
+    }
+    
+    /**
+     * Gets the result of the parse.
+     *
+     * @return The result or null if the parse failed
+     * */
+    @Nullable
+    public ArgumentResult getResult(){
+        return result;
+    }
+    
+    /**
+     * Gets the exception the parse threw.
+     *
+     * @return The exception or null if the parse was successful
+     * */
+    @Nullable
+    public RuntimeException getError(){
+        return error;
+    }
+    
+    /**
+     * Gets the result of the parse or throws the exception it failed with.
+     *
+     * @return The result
+     * */
+    public ArgumentResult get(){
+        if(error != null){
+            throw error;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package net.gudenau.lib.argument;
+
+import net.gudenau.lib.argument.implementation.JfrEvents;
+
+/**
+ * Measures a single parse for a {@link ParseListener} and the flight
+ * recorder.
+ *
+ * Only created when there is a listener or the parse event is enabled,
+ * the parser checks for null everywhere else.
+ * */
+final class ParseRecorder{
+    private final ParseListener listener;
+    private final Object parseEvent;
+    private final long start;
+    
+    /**
+     * The number of tokens read so far.
+     * */
+    int tokens;
+    /**
+     * Why the parse is failing, set before the exception is thrown.
+     * */
+    ParseFailure failure;
+    
+    private String conversion;
+    private Object conversionEvent;
+    private long conversionStart;
+    
+    private ParseRecorder(ParseListener listener, Object parseEvent){
+        this.listener = listener;
+        this.parseEvent = parseEvent;
+        start = listener == null ? 0 : System.nanoTime();
+    }
+    
+    /**
+     * Starts measuring a parse.
+     *
+     * @return The recorder or null if nothing is listening
+     * */
+    static ParseRecorder begin(ParseListener listener){
+        Object event = JfrEvents.beginParse();
+        if(listener == null && event == null){
+            return null;
+        }
+        return new ParseRecorder(listener, event);
+    }
+    
+    /**
+     * Records a result that came from the cache.
+     * */
+    static void cacheHit(ParseListener listener, int tokens){
+        JfrEvents.endParse(JfrEvents.beginParse(), tokens, true, null);
+        if(listener != null){
+            listener.parsed(tokens, 0, true);
+        }
+    }
+    
+    /**
+     * Starts measuring a conversion, if it throws the parse fails with
+     * {@link ParseFailure#INVALID_VALUE}.
+     * */
+    void beginConversion(String name){
+        conversion = name;
+        failure = ParseFailure.INVALID_VALUE;
+        conversionEvent = JfrEvents.beginConversion();
+        if(listener != null){
+            conversionStart = System.nanoTime();
+        }
+    }
+    
+    void endConversion(){
+        failure = null;
+        JfrEvents.endConversion(conversionEvent, conversion, false);
+        conversionEvent = null;
+        if(listener != null){
+            listener.converted(conversion, System.nanoTime() - conversionStart);
+        }
+    }
+    
+    void parsed(){
+        JfrEvents.endParse(parseEvent, tokens, false, null);
+        if(listener != null){
+            listener.parsed(tokens, System.nanoTime() - start, false);
+        }
+    }
+    
+    void failed(){
+        ParseFailure failure = this.failure == null ? ParseFailure.OTHER : this.failure;
+        if(conversionEvent != null){
+            JfrEvents.endConversion(conversionEvent, conversion, true);
+        }
+        JfrEvents.endParse(parseEvent, tokens, false, failure);
+        if(listener != null){
+            listener.failed(failure, tokens, System.nanoTime() - start);
+        }
+    }
+}
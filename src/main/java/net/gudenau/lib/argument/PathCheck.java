@@ -0,0 +1,25 @@
+package net.gudenau.lib.argument;
+
+/**
+ * A check that a path argument runs on the file system after the
+ * command line was tokenized, see
+ * {@link net.gudenau.lib.argument.Arguments#path(java.nio.file.Path, boolean, PathCheck...) Arguments.path}.
+ * */
+public enum PathCheck{
+    /**
+     * The path has to exist.
+     * */
+    EXISTS,
+    /**
+     * The path has to be a directory.
+     * */
+    DIRECTORY,
+    /**
+     * The path has to be readable.
+     * */
+    READABLE,
+    /**
+     * The path is replaced by its real path, it has to exist.
+     * */
+    CANONICALIZE
+}
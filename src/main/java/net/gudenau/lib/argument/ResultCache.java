@@ -0,0 +1,104 @@
+package net.gudenau.lib.argument;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of parse results keyed by the contents of the
+ * command line.
+ *
+ * Entries belong to the compiled parser that created them, when the
+ * registrations change the whole cache is dropped. Failed parses are
+ * not cached.
+ * */
+final class ResultCache{
+    private final int maximumSize;
+    private final Map<Key, ArgumentResult> entries;
+    
+    // Guarded by this instance
+    private CompiledArgumentParser parser;
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    ResultCache(int maximumSize, EvictionPolicy policy){
+        this.maximumSize = maximumSize;
+        entries = new LinkedHashMap<Key, ArgumentResult>(16, 0.75F, policy == EvictionPolicy.LEAST_RECENTLY_USED){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ArgumentResult> eldest){
+                if(size() > ResultCache.this.maximumSize){
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Parses a command line or gets its cached result.
+     *
+     * @param snapshots The cache on disk that misses go to, or null
+     * */
+    ArgumentResult parse(CompiledArgumentParser parser, String[] arguments, SnapshotCache snapshots){
+        if(!parser.isCacheable(arguments)){
+            return parser.parse(arguments);
+        }
+        
+        // Copy the arguments, the caller could change the array later
+        Key key = new Key(arguments.clone());
+        ArgumentResult cached;
+        synchronized(this){
+            if(this.parser != parser){
+                this.parser = parser;
+                entries.clear();
+            }
+            cached = entries.get(key);
+            if(cached == null){
+                misses++;
+            }else{
+                hits++;
+            }
+        }
+        if(cached != null){
+            parser.recordCacheHit(arguments.length);
+            return cached;
+        }
+        
+        // Don't hold the lock while parsing
+        ArgumentResult result = snapshots == null ? parser.parse(key.arguments) : snapshots.parse(parser, key.arguments);
+        synchronized(this){
+            if(this.parser == parser){
+                entries.put(key, result);
+            }
+        }
+        return result;
+    }
+    
+    synchronized CacheStatistics getStatistics(){
+        return new CacheStatistics(hits, misses, evictions, entries.size());
+    }
+    
+    private static final class Key{
+        private final String[] arguments;
+        private final int hash;
+        
+        private Key(String[] arguments){
+            this.arguments = arguments;
+            hash = Arrays.hashCode(arguments);
+        }
+        
+        @Override
+        public boolean equals(Object other){
+            return other instanceof Key &&
+                hash == ((Key)other).hash &&
+                Arrays.equals(arguments, ((Key)other).arguments);
+        }
+        
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A cache of parse results on disk that outlives the process, every
+ * entry is a snapshot file named after the hash of the registrations
+ * and of the command line.
+ *
+ * The command line itself is never written, only its SHA-256 digest.
+ * The digest is stored in the snapshot and compared on a hit, so a
+ * collision of the file names is only a miss. Entries that can not be
+ * read or were written by other registrations are parsed again and
+ * replaced. Failed parses, command lines with argument files or
+ * checked paths and results that can not be written to a snapshot are
+ * not cached. Neither are results with values of argument types from
+ * outside of the library, the registrations only know their class.
+ *
+ * When a new entry makes the directory hold more than the maximum
+ * number of snapshots the ones that were written first are removed,
+ * this includes the entries of old registrations that are never read
+ * again.
+ * */
+final class SnapshotCache{
+    private static final String SUFFIX = ".snapshot";
+    
+    private final Path directory;
+    private final int maximumFiles;
+    
+    SnapshotCache(Path directory, int maximumFiles){
+        this.directory = directory;
+        this.maximumFiles = maximumFiles;
+    }
+    
+    ArgumentResult parse(CompiledArgumentParser parser, String[] arguments){
+        if(!parser.isCacheable(arguments)){
+            return parser.parse(arguments);
+        }
+        
+        // Copy the arguments, the caller could change the array later
+        arguments = arguments.clone();
+        byte[] digest = digest(arguments);
+        Path path = directory.resolve(String.format(
+            "%016x-%016x" + SUFFIX, parser.getSchemaHash(), ByteBuffer.wrap(digest).getLong()
+        ));
+        try{
+            ArgumentResult cached = ArgumentSnapshot.decode(parser, ArgumentSnapshot.load(path), digest);
+            if(cached != null){
+                parser.recordCacheHit(arguments.length);
+                return cached;
+            }
+        }catch(NoSuchFileException ignored){
+            // Not cached yet
+        }catch(IOException | IllegalArgumentException ignored){
+            // Unreadable or stale, it is replaced below
+        }
+        
+        ArgumentResult result = parser.parse(arguments);
+        try{
+            ByteBuffer snapshot = ArgumentSnapshot.encode(result, digest);
+            ArgumentSnapshot.write(snapshot, path);
+            trim();
+        }catch(IOException | IllegalArgumentException ignored){
+            // The result is still good, it is just not cached
+        }
+        return result;
+    }
+    
+    /**
+     * Removes the oldest snapshots until there are no more than the
+     * maximum, files that vanish in the meantime are skipped.
+     * */
+    private void trim() throws IOException{
+        List<Path> files = new ArrayList<>();
+        try(DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)){
+            for(Path file : stream){
+                files.add(file);
+            }
+        }
+        int excess = files.size() - maximumFiles;
+        if(excess <= 0){
+            return;
+        }
+        
+        List<Entry> entries = new ArrayList<>(files.size());
+        for(Path file : files){
+            try{
+                entries.add(new Entry(file, Files.getLastModifiedTime(file)));
+            }catch(NoSuchFileException ignored){
+                excess--;
+            }
+        }
+        entries.sort((a, b)->a.modified.compareTo(b.modified));
+        for(int i = 0; i < excess && i < entries.size(); i++){
+            Files.deleteIfExists(entries.get(i).path);
+        }
+    }
+    
+    /**
+     * Hashes a command line with SHA-256 over the length and the UTF-8
+     * bytes of every argument.
+     * */
+    static byte[] digest(String[] arguments){
+        MessageDigest digest;
+        try{
+            digest = MessageDigest.getInstance("SHA-256");
+        }catch(NoSuchAlgorithmException e){
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer length = ByteBuffer.allocate(4);
+        for(String argument : arguments){
+            byte[] bytes = argument.getBytes(StandardCharsets.UTF_8);
+            length.clear();
+            digest.update(length.putInt(bytes.length).array());
+            digest.update(bytes);
+        }
+        return digest.digest();
+    }
+    
+    private static final class Entry{
+        private final Path path;
+        private final FileTime modified;
+        
+        private Entry(Path path, FileTime modified){
+            this.path = path;
+            this.modified = modified;
+        }
+    }
+}
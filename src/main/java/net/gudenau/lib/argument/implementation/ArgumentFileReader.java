@@ -0,0 +1,157 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * @hidden
+ *
+ * Reads tokens from an argument file one at a time.
+ *
+ * The file is memory mapped in windows and only the current token is
+ * ever decoded, so the memory use does not depend on the size of the
+ * file. The syntax follows the java launcher: tokens are separated by
+ * whitespace, single or double quotes group whitespace into a token,
+ * backslash escapes are allowed inside of quotes and a '#' at the
+ * start of a token comments out the rest of the line.
+ * */
+final class ArgumentFileReader implements Closeable{
+    private static final long WINDOW_SIZE = 64 * 1024 * 1024;
+    
+    private final Path path;
+    private final long windowSize;
+    private final FileChannel channel;
+    private final long size;
+    private long windowStart;
+    private MappedByteBuffer window;
+    
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    
+    ArgumentFileReader(Path path) throws IOException{
+        this(path, WINDOW_SIZE);
+    }
+    
+    /**
+     * Opens an argument file with a custom window size, for tests.
+     * */
+    ArgumentFileReader(Path path, long windowSize) throws IOException{
+        this.path = path;
+        this.windowSize = windowSize;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        size = channel.size();
+        windowStart = 0;
+        window = map(0);
+    }
+    
+    private MappedByteBuffer map(long start) throws IOException{
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    }
+    
+    /**
+     * Gets the next byte or -1 at the end of the file.
+     * */
+    private int read() throws IOException{
+        if(!window.hasRemaining()){
+            long next = windowStart + window.capacity();
+            if(next >= size){
+                return -1;
+            }
+            windowStart = next;
+            window = map(next);
+        }
+        return window.get() & 0xFF;
+    }
+    
+    /**
+     * Puts a byte back, only valid right after a read that did not
+     * return -1.
+     * */
+    private void unread(){
+        window.position(window.position() - 1);
+    }
+    
+    private void append(int value){
+        if(tokenLength == token.length){
+            token = Arrays.copyOf(token, token.length << 1);
+        }
+        token[tokenLength++] = (byte)value;
+    }
+    
+    private static boolean isWhitespace(int value){
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r' || value == '\f';
+    }
+    
+    /**
+     * Reads the next token.
+     *
+     * @return The token or null at the end of the file
+     * */
+    String next() throws IOException{
+        int value;
+        
+        // Skip whitespace and comments
+        while(true){
+            value = read();
+            if(value == -1){
+                return null;
+            }else if(value == '#'){
+                do{
+                    value = read();
+                }while(value != -1 && value != '\n' && value != '\r');
+            }else if(!isWhitespace(value)){
+                break;
+            }
+        }
+        
+        tokenLength = 0;
+        int quote = 0;
+        while(value != -1){
+            if(quote != 0){
+                if(value == quote){
+                    quote = 0;
+                }else if(value == '\\'){
+                    value = read();
+                    switch(value){
+                        case -1: throw new IOException("Unterminated escape in " + path);
+                        case 'n': append('\n'); break;
+                        case 'r': append('\r'); break;
+                        case 't': append('\t'); break;
+                        case 'f': append('\f'); break;
+                        default: append(value); break;
+                    }
+                }else{
+                    append(value);
+                }
+            }else if(value == '"' || value == '\''){
+                quote = value;
+            }else if(isWhitespace(value)){
+                unread();
+                break;
+            }else{
+                append(value);
+            }
+            value = read();
+        }
+        if(quote != 0){
+            throw new IOException("Unterminated quote in " + path);
+        }
+        
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+    
+    Path getPath(){
+        return path;
+    }
+    
+    @Override
+    public void close() throws IOException{
+        channel.close();
+    }
+}
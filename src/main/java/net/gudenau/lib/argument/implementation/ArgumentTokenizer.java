@@ -0,0 +1,311 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * @hidden
+ *
+ * A single pass tokenizer for command line arguments.
+ *
+ * Accepts exactly what the old regular expressions accepted, a run
+ * of dashes followed by an alphanumeric name and optionally an
+ * equals sign and a value. The tokenizer is reusable and keeps the
+ * bounds of the last token it scanned, so one instance should be
+ * used per parse. The part after the name is only scanned when it is
+ * asked for, so options that are skipped cost no more than their name.
+ * */
+public final class ArgumentTokenizer{
+    /**
+     * The token is a valid option.
+     * */
+    public static final int OPTION = 0;
+    /**
+     * The token does not start with a dash.
+     * */
+    public static final int NOT_OPTION = 1;
+    /**
+     * The token starts with a dash but has no name.
+     * */
+    public static final int NO_NAME = 2;
+    
+    /**
+     * The old regex pattern for param names, only used in compatibility mode.
+     * */
+    private static final Pattern PATTERN_NAME = Pattern.compile("^-+([A-Za-z0-9]+)");
+    /**
+     * The old regex pattern for param values, only used in compatibility mode.
+     * */
+    private static final Pattern PATTERN_VALUE = Pattern.compile("^-+[A-Za-z0-9]+=([A-Za-z0-9 /\\\\_\"'.]+)$");
+    
+    private final boolean compatibility;
+    
+    private CharSequence token;
+    private int nameStart;
+    private int nameEnd;
+    private boolean scanned;
+    private boolean equals;
+    private int valueStart;
+    private int valueEnd;
+    
+    /**
+     * Creates a new tokenizer.
+     *
+     * @param compatibility Pass true to check every token against the old regular expressions
+     * */
+    public ArgumentTokenizer(boolean compatibility){
+        this.compatibility = compatibility;
+    }
+    
+    /**
+     * Scans a single token.
+     *
+     * @param token The token to scan
+     *
+     * @return {@link #OPTION}, {@link #NOT_OPTION} or {@link #NO_NAME}
+     * */
+    public int tokenize(CharSequence token){
+        int result = scan(token);
+        if(compatibility){
+            verify(token, result);
+        }
+        return result;
+    }
+    
+    private int scan(CharSequence token){
+        this.token = token;
+        nameStart = nameEnd = 0;
+        scanned = true;
+        equals = false;
+        valueStart = valueEnd = -1;
+        
+        int length = token.length();
+        int index = 0;
+        while(index < length && token.charAt(index) == '-'){
+            index++;
+        }
+        if(index == 0){
+            return NOT_OPTION;
+        }
+        
+        nameStart = index;
+        while(index < length && isNameChar(token.charAt(index))){
+            index++;
+        }
+        nameEnd = index;
+        if(nameStart == nameEnd){
+            return NO_NAME;
+        }
+        scanned = false;
+        return OPTION;
+    }
+    
+    /**
+     * Scans the part of an option after its name.
+     * */
+    private void scanValue(){
+        scanned = true;
+        CharSequence token = this.token;
+        int length = token.length();
+        int index = nameEnd;
+        
+        // The value is only valid if it directly follows the name, but
+        // any equals sign means the option carries a value.
+        boolean valid = index < length && token.charAt(index) == '=';
+        int end = valueEnd(token);
+        for(int i = index; i < length; i++){
+            char c = token.charAt(i);
+            if(c == '='){
+                equals = true;
+            }
+            if(valid && i > index && i < end && !isValueChar(c)){
+                valid = false;
+            }
+        }
+        if(valid && index + 1 < end){
+            valueStart = index + 1;
+            valueEnd = end;
+        }
+    }
+    
+    /**
+     * Finds where a value ends, a '$' in a regular expression
+     * also matches right before a final line terminator.
+     * */
+    private static int valueEnd(CharSequence token){
+        int length = token.length();
+        if(length == 0){
+            return 0;
+        }
+        char last = token.charAt(length - 1);
+        if(last == '\n'){
+            return length > 1 && token.charAt(length - 2) == '\r' ? length - 2 : length - 1;
+        }
+        if(last == '\r' || last == '\u0085' || last == '\u2028' || last == '\u2029'){
+            return length - 1;
+        }
+        return length;
+    }
+    
+    private static boolean isNameChar(char c){
+        return (c >= 'A' && c <= 'Z') ||
+            (c >= 'a' && c <= 'z') ||
+            (c >= '0' && c <= '9');
+    }
+    
+    private static boolean isValueChar(char c){
+        return isNameChar(c) ||
+            c == ' ' || c == '/' || c == '\\' || c == '_' ||
+            c == '"' || c == '\'' || c == '.';
+    }
+    
+    private void verify(CharSequence token, int result){
+        int expected;
+        String name = null;
+        String value = null;
+        if(token.length() == 0 || token.charAt(0) != '-'){
+            expected = NOT_OPTION;
+        }else{
+            Matcher matcher = PATTERN_NAME.matcher(token);
+            if(!matcher.find()){
+                expected = NO_NAME;
+            }else{
+                expected = OPTION;
+                name = matcher.group(1);
+                Matcher valueMatcher = PATTERN_VALUE.matcher(token);
+                if(valueMatcher.find()){
+                    value = valueMatcher.group(1);
+                }
+            }
+        }
+        
+        boolean matches = expected == result;
+        if(matches && result == OPTION){
+            matches = name.equals(getName()) &&
+                token.toString().contains("=") == hasEquals() &&
+                (value == null ? !hasValue() : value.equals(getValue()));
+        }
+        if(!matches){
+            throw new IllegalStateException(String.format(
+                "Tokenizer mismatch for \"%s\"", token
+            ));
+        }
+    }
+    
+    /**
+     * Gets the name of the last option.
+     *
+     * @return The name
+     * */
+    public String getName(){
+        return token.subSequence(nameStart, nameEnd).toString();
+    }
+    
+    /**
+     * Gets the start of the name in the last token.
+     *
+     * @return The start index
+     * */
+    public int getNameStart(){
+        return nameStart;
+    }
+    
+    /**
+     * Gets the end of the name in the last token.
+     *
+     * @return The end index
+     * */
+    public int getNameEnd(){
+        return nameEnd;
+    }
+    
+    /**
+     * Checks if the last option contained an equals sign.
+     *
+     * @return True if a value was included
+     * */
+    public boolean hasEquals(){
+        if(!scanned){
+            scanValue();
+        }
+        return equals;
+    }
+    
+    /**
+     * Checks if the last option had a well formed value.
+     *
+     * @return True if there is a value
+     * */
+    public boolean hasValue(){
+        if(!scanned){
+            scanValue();
+        }
+        return valueStart >= 0;
+    }
+    
+    /**
+     * Checks if the last option had a well formed value when one more
+     * character is allowed in it, like the separator of a list.
+     *
+     * @param allowed The extra character
+     *
+     * @return True if there is a value
+     * */
+    public boolean hasValue(char allowed){
+        if(hasValue()){
+            return true;
+        }
+        
+        CharSequence token = this.token;
+        int index = nameEnd;
+        int end = valueEnd(token);
+        if(index + 1 >= end || token.charAt(index) != '='){
+            return false;
+        }
+        for(int i = index + 1; i < end; i++){
+            char c = token.charAt(i);
+            if(c != allowed && !isValueChar(c)){
+                return false;
+            }
+        }
+        valueStart = index + 1;
+        valueEnd = end;
+        return true;
+    }
+    
+    /**
+     * Gets the value of the last option.
+     *
+     * @return The value
+     * */
+    public String getValue(){
+        if(!scanned){
+            scanValue();
+        }
+        return token.subSequence(valueStart, valueEnd).toString();
+    }
+    
+    /**
+     * Gets the start of the value in the last token.
+     *
+     * @return The start index
+     * */
+    public int getValueStart(){
+        if(!scanned){
+            scanValue();
+        }
+        return valueStart;
+    }
+    
+    /**
+     * Gets the end of the value in the last token.
+     *
+     * @return The end index
+     * */
+    public int getValueEnd(){
+        if(!scanned){
+            scanValue();
+        }
+        return valueEnd;
+    }
+}
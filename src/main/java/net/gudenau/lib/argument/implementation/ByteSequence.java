@@ -0,0 +1,59 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @hidden
+ *
+ * A view of ASCII bytes as characters, every byte is one character.
+ *
+ * Lets the tokenizer, the name index and the range converters read a
+ * token straight out of a byte buffer. Nothing is decoded until
+ * {@link #toString()} is called, which only happens when a converter
+ * needs a string. The bytes are not copied, so they must not change
+ * while the view is in use.
+ * */
+public final class ByteSequence implements CharSequence{
+    private final byte[] bytes;
+    private final int start;
+    private final int end;
+    
+    /**
+     * Creates a view of a range of an array, the range has to be ASCII.
+     *
+     * @param bytes The array
+     * @param start The index of the first byte
+     * @param end The index after the last byte
+     * */
+    public ByteSequence(byte[] bytes, int start, int end){
+        this.bytes = bytes;
+        this.start = start;
+        this.end = end;
+    }
+    
+    @Override
+    public int length(){
+        return end - start;
+    }
+    
+    @Override
+    public char charAt(int index){
+        return (char)bytes[start + index];
+    }
+    
+    @Override
+    public CharSequence subSequence(int start, int end){
+        if(start < 0 || end > length() || start > end){
+            throw new IndexOutOfBoundsException("Range [" + start + ", " + end + ") of length " + length());
+        }
+        return new ByteSequence(bytes, this.start + start, this.start + end);
+    }
+    
+    /**
+     * Decodes the bytes, a single copy since they are all ASCII.
+     * */
+    @Override
+    public String toString(){
+        return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,29 @@
+package net.gudenau.lib.argument.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @hidden
+ *
+ * A flight recorder event for the conversion of a single value. There
+ * is one of these per option, so they are disabled by default.
+ * */
+@Name("net.gudenau.lib.argument.Conversion")
+@Label("Argument Conversion")
+@Description("A value converted by an Argument while parsing")
+@Category("Argument Parser")
+@Enabled(false)
+final class ConversionEvent extends Event{
+    @Label("Argument")
+    @Description("The name of the argument")
+    String argument;
+    
+    @Label("Failed")
+    @Description("The argument could not convert the value")
+    boolean failed;
+}
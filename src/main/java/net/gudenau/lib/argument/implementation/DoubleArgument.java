@@ -1,13 +1,22 @@
 package net.gudenau.lib.argument.implementation;
 
 import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
 
 /**
  * @hidden
  *
  * A simple floating point argument.
  * */
-public class DoubleArgument implements Argument<Double>{
+public class DoubleArgument implements Argument.OfDouble{
+    /**
+     * Powers of ten that are exact as doubles.
+     * */
+    private static final double[] POWERS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15
+    };
+    
     private final double defaultValue;
     private final boolean required;
     
@@ -22,12 +31,131 @@ public class DoubleArgument implements Argument<Double>{
     }
     
     @Override
-    public Double getValue(String argument){
+    public double parseDouble(String argument){
         return Double.parseDouble(argument);
     }
     
+    /**
+     * Plain decimals with at most 15 digits are converted directly, the
+     * digits and the power of ten are both exact so a single division
+     * is correctly rounded. Anything else, like exponents, hex or NaN,
+     * goes through {@link Double#parseDouble(String)}.
+     * */
+    @Override
+    public double parseDouble(CharSequence source, int start, int end){
+        int index = start;
+        boolean negative = false;
+        if(index < end){
+            char sign = source.charAt(index);
+            if(sign == '-' || sign == '+'){
+                negative = sign == '-';
+                index++;
+            }
+        }
+        
+        long mantissa = 0;
+        int digits = 0;
+        int fraction = -1;
+        for(; index < end; index++){
+            char c = source.charAt(index);
+            if(c >= '0' && c <= '9'){
+                if(++digits > 15){
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if(fraction >= 0){
+                    fraction++;
+                }
+            }else if(c == '.' && fraction < 0){
+                fraction = 0;
+            }else{
+                break;
+            }
+        }
+        
+        if(index != end || digits == 0){
+            return Double.parseDouble(source.subSequence(start, end).toString());
+        }
+        double value = fraction > 0 ? mantissa / POWERS[fraction] : mantissa;
+        return negative ? -value : value;
+    }
+    
+    /**
+     * Checks the decimal forms that {@link Double#parseDouble(String)}
+     * accepts without converting them. Doubles can not be out of range,
+     * too large values become infinite. Hex values are converted.
+     * */
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        // Like parseDouble surrounding whitespace is ignored
+        while(start < end && source.charAt(start) <= ' '){
+            start++;
+        }
+        while(end > start && source.charAt(end - 1) <= ' '){
+            end--;
+        }
+        
+        int index = start;
+        if(index < end && (source.charAt(index) == '-' || source.charAt(index) == '+')){
+            index++;
+        }
+        if(matches(source, index, end, "NaN") || matches(source, index, end, "Infinity")){
+            return null;
+        }
+        if(end - index > 1 && source.charAt(index) == '0' && (source.charAt(index + 1) | 0x20) == 'x'){
+            return Argument.OfDouble.super.check(source, start, end);
+        }
+        
+        int digits = 0;
+        for(; index < end && isDigit(source.charAt(index)); index++){
+            digits++;
+        }
+        if(index < end && source.charAt(index) == '.'){
+            for(index++; index < end && isDigit(source.charAt(index)); index++){
+                digits++;
+            }
+        }
+        if(digits == 0){
+            return ConversionError.FORMAT;
+        }
+        
+        if(index < end && (source.charAt(index) | 0x20) == 'e'){
+            index++;
+            if(index < end && (source.charAt(index) == '-' || source.charAt(index) == '+')){
+                index++;
+            }
+            int exponentStart = index;
+            while(index < end && isDigit(source.charAt(index))){
+                index++;
+            }
+            if(index == exponentStart){
+                return ConversionError.FORMAT;
+            }
+        }
+        if(index < end && "fFdD".indexOf(source.charAt(index)) != -1){
+            index++;
+        }
+        return index == end ? null : ConversionError.FORMAT;
+    }
+    
+    private static boolean matches(CharSequence source, int start, int end, String word){
+        if(end - start != word.length()){
+            return false;
+        }
+        for(int i = 0; i < word.length(); i++){
+            if(source.charAt(start + i) != word.charAt(i)){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+    
     @Override
-    public Double getDefault(){
+    public double getDoubleDefault(){
         return defaultValue;
     }
     
@@ -0,0 +1,49 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * A duration in nanoseconds, like "250ms", "2h" or "1h30m".
+ * */
+public class DurationArgument implements Argument.OfLong{
+    private final long defaultValue;
+    private final boolean required;
+    
+    public DurationArgument(long defaultValue, boolean required){
+        this.defaultValue = defaultValue;
+        this.required = required;
+    }
+    
+    @Override
+    public boolean isRequired(){
+        return required;
+    }
+    
+    @Override
+    public long parseLong(String argument){
+        return parseLong(argument, 0, argument.length());
+    }
+    
+    @Override
+    public long parseLong(CharSequence source, int start, int end){
+        return NumberParser.parseDuration(source, start, end);
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return NumberParser.checkDuration(source, start, end);
+    }
+    
+    @Override
+    public long getLongDefault(){
+        return defaultValue;
+    }
+    
+    @Override
+    public boolean hasDefault(){
+        return defaultValue != 0;
+    }
+}
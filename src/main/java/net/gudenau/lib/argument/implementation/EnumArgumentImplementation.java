@@ -1,9 +1,8 @@
 package net.gudenau.lib.argument.implementation;
 
-import java.util.HashMap;
-import java.util.Map;
-
+import net.gudenau.lib.argument.ConversionError;
 import net.gudenau.lib.argument.EnumArgument;
+import net.gudenau.lib.argument.EnumMatching;
 
 /**
  * @hidden
@@ -13,19 +12,52 @@ import net.gudenau.lib.argument.EnumArgument;
  * @param <T> The enum type, must implement {@link net.gudenau.lib.argument.EnumArgument EnumArgument}
  * */
 public class EnumArgumentImplementation<T extends Enum<?> & EnumArgument> extends AbstractArgument<T>{
-    private Map<String, T> valueMap = new HashMap<>();
+    private final EnumTable table;
+    private final EnumMatching matching;
     
     public EnumArgumentImplementation(T defaultValue, boolean required, Class<T> type){
+        this(defaultValue, required, type, EnumMatching.EXACT);
+    }
+    
+    public EnumArgumentImplementation(T defaultValue, boolean required, Class<T> type, EnumMatching matching){
         super(defaultValue, required);
         
-        T[] constants = type.getEnumConstants();
-        for(T constant : constants){
-            valueMap.put(constant.getArgumentName(), constant);
-        }
+        table = EnumTable.of(type);
+        this.matching = matching;
     }
     
     @Override
     public T getValue(String argument){
-        return valueMap.get(argument);
+        return getValue(argument, 0, argument.length());
+    }
+    
+    @Override
+    public T getValue(CharSequence source, int start, int end){
+        @SuppressWarnings("unchecked")
+        T value = (T)table.find(source, start, end, matching);
+        return value;
+    }
+    
+    /**
+     * Gets the names of the values this argument accepts.
+     *
+     * @return The names, sorted without case
+     * */
+    public String[] getNames(){
+        return table.getNames();
+    }
+    
+    /**
+     * Gets how values are matched against the names.
+     *
+     * @return The matching mode
+     * */
+    public EnumMatching getMatching(){
+        return matching;
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return table.check(source, start, end, matching);
     }
 }
@@ -0,0 +1,225 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import net.gudenau.lib.argument.ConversionError;
+import net.gudenau.lib.argument.EnumArgument;
+import net.gudenau.lib.argument.EnumMatching;
+
+/**
+ * @hidden
+ *
+ * The lookup table for the constants of an enum, keyed on their
+ * {@link net.gudenau.lib.argument.EnumArgument#getArgumentName() argument names}.
+ *
+ * Tables are built once per enum and shared by every argument that
+ * uses it. Exact lookups go through a {@link NameIndex}, lookups that
+ * ignore case or match prefixes do a binary search over the names
+ * sorted without case. No lookup allocates unless it fails.
+ * */
+final class EnumTable{
+    private static final ClassValue<EnumTable> TABLES = new ClassValue<EnumTable>(){
+        @Override
+        protected EnumTable computeValue(Class<?> type){
+            return new EnumTable((EnumArgument[])type.getEnumConstants());
+        }
+    };
+    
+    private final NameIndex index;
+    private final EnumArgument[] values;
+    private final String[] sortedNames;
+    private final EnumArgument[] sortedValues;
+    
+    private EnumTable(EnumArgument[] constants){
+        // Like the old map a later constant wins over an earlier one with the same name
+        Map<String, EnumArgument> valueMap = new LinkedHashMap<>();
+        for(EnumArgument constant : constants){
+            valueMap.put(constant.getArgumentName(), constant);
+        }
+        String[] names = valueMap.keySet().toArray(new String[0]);
+        index = new NameIndex(names);
+        values = valueMap.values().toArray(new EnumArgument[0]);
+        
+        Integer[] order = new Integer[names.length];
+        for(int i = 0; i < order.length; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b)->String.CASE_INSENSITIVE_ORDER.compare(names[a], names[b]));
+        sortedNames = new String[names.length];
+        sortedValues = new EnumArgument[names.length];
+        for(int i = 0; i < order.length; i++){
+            sortedNames[i] = names[order[i]];
+            sortedValues[i] = values[order[i]];
+        }
+    }
+    
+    /**
+     * Gets the shared table of an enum.
+     *
+     * @param type The enum
+     *
+     * @return The table
+     * */
+    static EnumTable of(Class<?> type){
+        return TABLES.get(type);
+    }
+    
+    /**
+     * Gets the argument names of the constants.
+     *
+     * @return The names, sorted without case
+     * */
+    String[] getNames(){
+        return sortedNames.clone();
+    }
+    
+    /**
+     * Finds the constant for a value.
+     *
+     * @param source The sequence containing the value
+     * @param start The start of the value
+     * @param end The end of the value
+     * @param matching How the value is matched
+     *
+     * @return The constant
+     *
+     * @throws IllegalArgumentException If no constant or more than one matches
+     * */
+    EnumArgument find(CharSequence source, int start, int end, EnumMatching matching){
+        int slot = index.find(source, start, end);
+        if(slot != -1){
+            return values[slot];
+        }
+        if(matching == EnumMatching.EXACT){
+            throw unknown(source, start, end);
+        }
+        
+        int first = lowerBound(source, start, end);
+        int last = matchEnd(source, start, end, matching, first);
+        switch(last - first){
+            case 0: throw unknown(source, start, end);
+            case 1: return sortedValues[first];
+            default: throw ambiguous(source, start, end, first, last);
+        }
+    }
+    
+    /**
+     * Checks if exactly one constant matches a value, without creating
+     * an exception.
+     *
+     * @param source The sequence containing the value
+     * @param start The start of the value
+     * @param end The end of the value
+     * @param matching How the value is matched
+     *
+     * @return The error or null if the value is valid
+     * */
+    ConversionError check(CharSequence source, int start, int end, EnumMatching matching){
+        if(index.find(source, start, end) != -1){
+            return null;
+        }else if(matching == EnumMatching.EXACT){
+            return ConversionError.UNKNOWN_VALUE;
+        }
+        
+        int first = lowerBound(source, start, end);
+        switch(matchEnd(source, start, end, matching, first) - first){
+            case 0: return ConversionError.UNKNOWN_VALUE;
+            case 1: return null;
+            default: return ConversionError.AMBIGUOUS_VALUE;
+        }
+    }
+    
+    /**
+     * Finds the end of the sorted names that match a value, starting at
+     * its lower bound.
+     * */
+    private int matchEnd(CharSequence source, int start, int end, EnumMatching matching, int first){
+        int last = first;
+        if(matching == EnumMatching.IGNORE_CASE || (first < sortedNames.length && compare(sortedNames[first], source, start, end) == 0)){
+            while(last < sortedNames.length && compare(sortedNames[last], source, start, end) == 0){
+                last++;
+            }
+        }else if(start != end){
+            // Every name with the prefix sorts right after it
+            while(last < sortedNames.length && startsWith(sortedNames[last], source, start, end)){
+                last++;
+            }
+        }
+        return last;
+    }
+    
+    /**
+     * Finds the first sorted name that is not less than a value.
+     * */
+    private int lowerBound(CharSequence source, int start, int end){
+        int low = 0;
+        int high = sortedNames.length;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(compare(sortedNames[middle], source, start, end) < 0){
+                low = middle + 1;
+            }else{
+                high = middle;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Compares like {@link String#CASE_INSENSITIVE_ORDER}.
+     * */
+    private static int compare(String name, CharSequence source, int start, int end){
+        int length = Math.min(name.length(), end - start);
+        for(int i = 0; i < length; i++){
+            int difference = compare(name.charAt(i), source.charAt(start + i));
+            if(difference != 0){
+                return difference;
+            }
+        }
+        return name.length() - (end - start);
+    }
+    
+    private static int compare(char a, char b){
+        if(a == b){
+            return 0;
+        }
+        a = Character.toLowerCase(Character.toUpperCase(a));
+        b = Character.toLowerCase(Character.toUpperCase(b));
+        return a - b;
+    }
+    
+    private static boolean startsWith(String name, CharSequence source, int start, int end){
+        int length = end - start;
+        if(name.length() < length){
+            return false;
+        }
+        for(int i = 0; i < length; i++){
+            if(compare(name.charAt(i), source.charAt(start + i)) != 0){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private IllegalArgumentException unknown(CharSequence source, int start, int end){
+        return new IllegalArgumentException(String.format(
+            "Unknown value \"%s\", expected one of %s",
+            source.subSequence(start, end),
+            String.join(", ", sortedNames)
+        ));
+    }
+    
+    private IllegalArgumentException ambiguous(CharSequence source, int start, int end, int first, int last){
+        StringJoiner candidates = new StringJoiner(", ");
+        for(int i = first; i < last; i++){
+            candidates.add(sortedNames[i]);
+        }
+        return new IllegalArgumentException(String.format(
+            "Ambiguous value \"%s\", could be %s",
+            source.subSequence(start, end),
+            candidates
+        ));
+    }
+}
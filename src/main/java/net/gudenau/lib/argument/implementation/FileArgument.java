@@ -1,6 +1,7 @@
 package net.gudenau.lib.argument.implementation;
 
 import java.io.File;
+import net.gudenau.lib.argument.ConversionError;
 
 /**
  * @hidden
@@ -16,4 +17,15 @@ public final class FileArgument extends AbstractArgument<File>{
     public final File getValue(String argument){
         return new File(argument);
     }
+    
+    @Override
+    public final File getValue(CharSequence source, int start, int end){
+        // File needs a string, but only the value itself is copied
+        return new File(source.subSequence(start, end).toString());
+    }
+    
+    @Override
+    public final ConversionError check(CharSequence source, int start, int end){
+        return null;
+    }
 }
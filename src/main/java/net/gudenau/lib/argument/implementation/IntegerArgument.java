@@ -1,19 +1,36 @@
 package net.gudenau.lib.argument.implementation;
 
 import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
 
 /**
  * @hidden
  *
- * A simple integer based argument.
+ * A simple integer based argument, in decimal or also in hex with a
+ * "0x" prefix when enabled.
  * */
-public class IntegerArgument implements Argument<Integer>{
+public class IntegerArgument implements Argument.OfInt{
     private final int defaultValue;
     private final boolean required;
+    private final boolean hex;
     
     public IntegerArgument(int defaultValue, boolean required){
+        this(defaultValue, required, false);
+    }
+    
+    public IntegerArgument(int defaultValue, boolean required, boolean hex){
         this.defaultValue = defaultValue;
         this.required = required;
+        this.hex = hex;
+    }
+    
+    /**
+     * Checks if this argument also accepts hex values.
+     *
+     * @return True if "0x" values are accepted
+     * */
+    public boolean isHex(){
+        return hex;
     }
     
     @Override
@@ -22,12 +39,22 @@ public class IntegerArgument implements Argument<Integer>{
     }
     
     @Override
-    public Integer getValue(String argument){
-        return Integer.parseInt(argument);
+    public int parseInt(String argument){
+        return parseInt(argument, 0, argument.length());
+    }
+    
+    @Override
+    public int parseInt(CharSequence source, int start, int end){
+        return NumberParser.parseInt(source, start, end, hex);
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return NumberParser.checkLong(source, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, hex);
     }
     
     @Override
-    public Integer getDefault(){
+    public int getIntDefault(){
         return defaultValue;
     }
     
@@ -0,0 +1,117 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.Optional;
+import net.gudenau.lib.argument.ParseFailure;
+
+/**
+ * @hidden
+ *
+ * Emits the flight recorder events of the parser.
+ *
+ * The jdk.jfr module is optional, without it every method does nothing
+ * and the event classes are never loaded. Events are passed around as
+ * plain objects for the same reason. A begin method returns null when
+ * its event is disabled, so callers only have to check for null.
+ * */
+public final class JfrEvents{
+    private static final boolean AVAILABLE = isAvailable();
+    
+    private JfrEvents(){}
+    
+    private static boolean isAvailable(){
+        Optional<Module> jfr = ModuleLayer.boot().findModule("jdk.jfr");
+        if(jfr.isEmpty()){
+            return false;
+        }
+        
+        // An optional dependency is only read if something else needed it
+        Module module = JfrEvents.class.getModule();
+        if(!module.canRead(jfr.get())){
+            module.addReads(jfr.get());
+        }
+        return true;
+    }
+    
+    /**
+     * Starts a parse event.
+     *
+     * @return The event or null if it is disabled
+     * */
+    public static Object beginParse(){
+        return AVAILABLE ? Events.beginParse() : null;
+    }
+    
+    /**
+     * Commits a parse event.
+     *
+     * @param event The event from {@link #beginParse()}, may be null
+     * @param tokens The number of tokens that were read
+     * @param cacheHit True if the result came from the cache
+     * @param failure Why the parse failed or null
+     * */
+    public static void endParse(Object event, int tokens, boolean cacheHit, ParseFailure failure){
+        if(event != null){
+            Events.endParse(event, tokens, cacheHit, failure);
+        }
+    }
+    
+    /**
+     * Starts a conversion event.
+     *
+     * @return The event or null if it is disabled
+     * */
+    public static Object beginConversion(){
+        return AVAILABLE ? Events.beginConversion() : null;
+    }
+    
+    /**
+     * Commits a conversion event.
+     *
+     * @param event The event from {@link #beginConversion()}, may be null
+     * @param argument The name of the argument
+     * @param failed True if the conversion failed
+     * */
+    public static void endConversion(Object event, String argument, boolean failed){
+        if(event != null){
+            Events.endConversion(event, argument, failed);
+        }
+    }
+    
+    /**
+     * The only class that touches the event classes.
+     * */
+    private static final class Events{
+        private static Object beginParse(){
+            ParseEvent event = new ParseEvent();
+            if(!event.isEnabled()){
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+        
+        private static void endParse(Object object, int tokens, boolean cacheHit, ParseFailure failure){
+            ParseEvent event = (ParseEvent)object;
+            event.tokens = tokens;
+            event.cacheHit = cacheHit;
+            event.failure = failure == null ? null : failure.name();
+            event.commit();
+        }
+        
+        private static Object beginConversion(){
+            ConversionEvent event = new ConversionEvent();
+            if(!event.isEnabled()){
+                return null;
+            }
+            event.begin();
+            return event;
+        }
+        
+        private static void endConversion(Object object, String argument, boolean failed){
+            ConversionEvent event = (ConversionEvent)object;
+            event.argument = argument;
+            event.failed = failed;
+            event.commit();
+        }
+    }
+}
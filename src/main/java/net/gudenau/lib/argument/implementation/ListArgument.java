@@ -0,0 +1,106 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * An argument that can be passed more than once and whose values are
+ * lists split on a separator, every element is converted by another
+ * argument. The values of all occurrences are collected into one
+ * array, an int[], long[] or double[] for primitive elements and an
+ * array of the element type otherwise.
+ *
+ * @param <A> The array type
+ * */
+public final class ListArgument<A> implements Argument<A>{
+    private final Argument<?> element;
+    private final Class<?> elementType;
+    private final char separator;
+    private final boolean required;
+    
+    public ListArgument(Argument<?> element, Class<?> elementType, char separator, boolean required){
+        if(element instanceof EmptyArgument || element instanceof ListArgument){
+            throw new IllegalArgumentException("List elements can not be flags or lists");
+        }
+        this.element = element;
+        this.elementType = elementType;
+        this.separator = separator;
+        this.required = required;
+    }
+    
+    /**
+     * Gets the argument that converts the elements.
+     *
+     * @return The element argument
+     * */
+    public Argument<?> getElement(){
+        return element;
+    }
+    
+    /**
+     * Gets the class of the elements, only used for object elements.
+     *
+     * @return The element class
+     * */
+    public Class<?> getElementType(){
+        return elementType;
+    }
+    
+    /**
+     * Gets the character between the elements of a single value.
+     *
+     * @return The separator
+     * */
+    public char getSeparator(){
+        return separator;
+    }
+    
+    @Override
+    public boolean isRequired(){
+        return required;
+    }
+    
+    @Override
+    public A getValue(String argument){
+        return getValue(argument, 0, argument.length());
+    }
+    
+    @Override
+    public A getValue(CharSequence source, int start, int end){
+        ValueList list = new ValueList(this);
+        list.add(source, start, end);
+        @SuppressWarnings("unchecked")
+        A value = (A)list.toArray();
+        return value;
+    }
+    
+    /**
+     * Checks every element, the first error wins.
+     * */
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        int from = start;
+        for(int i = start; i <= end; i++){
+            if(i == end || source.charAt(i) == separator){
+                ConversionError error = element.check(source, from, i);
+                if(error != null){
+                    return error;
+                }
+                from = i + 1;
+            }
+        }
+        return null;
+    }
+    
+    @Override
+    public A getDefault(){
+        return null;
+    }
+    
+    @Override
+    public boolean hasDefault(){
+        return false;
+    }
+}
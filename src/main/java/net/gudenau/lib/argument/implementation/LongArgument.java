@@ -0,0 +1,65 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * A simple long integer based argument, in decimal or also in hex with a
+ * "0x" prefix when enabled.
+ * */
+public class LongArgument implements Argument.OfLong{
+    private final long defaultValue;
+    private final boolean required;
+    private final boolean hex;
+    
+    public LongArgument(long defaultValue, boolean required){
+        this(defaultValue, required, false);
+    }
+    
+    public LongArgument(long defaultValue, boolean required, boolean hex){
+        this.defaultValue = defaultValue;
+        this.required = required;
+        this.hex = hex;
+    }
+    
+    /**
+     * Checks if this argument also accepts hex values.
+     *
+     * @return True if "0x" values are accepted
+     * */
+    public boolean isHex(){
+        return hex;
+    }
+    
+    @Override
+    public boolean isRequired(){
+        return required;
+    }
+    
+    @Override
+    public long parseLong(String argument){
+        return parseLong(argument, 0, argument.length());
+    }
+    
+    @Override
+    public long parseLong(CharSequence source, int start, int end){
+        return NumberParser.parseLong(source, start, end, hex);
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return NumberParser.checkLong(source, start, end, Long.MIN_VALUE, Long.MAX_VALUE, hex);
+    }
+    
+    @Override
+    public long getLongDefault(){
+        return defaultValue;
+    }
+    
+    @Override
+    public boolean hasDefault(){
+        return defaultValue != 0;
+    }
+}
@@ -0,0 +1,211 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @hidden
+ *
+ * An immutable lookup table from argument names to slots.
+ *
+ * This is a hash and displace perfect hash table, names are grouped
+ * into buckets and every bucket gets a displacement that moves all of
+ * its names into free entries of the table. A lookup is a single hash
+ * of the name and at most one comparison. Names can be looked up from
+ * a range of any {@link java.lang.CharSequence CharSequence} without
+ * creating a substring.
+ *
+ * Should no displacement be found for a bucket, which would require
+ * two names with the same 64 bit hash, the table falls back to linear
+ * probing.
+ * */
+public final class NameIndex{
+    private static final int MAX_DISPLACEMENT = 1 << 16;
+    
+    private final String[] names;
+    private final int[] table;
+    private final int[] displacements;
+    private final int tableMask;
+    private final int bucketShift;
+    private final boolean perfect;
+    
+    /**
+     * Creates a new index, the slot of a name is its index in the array.
+     *
+     * @param names The names to index
+     * */
+    public NameIndex(String[] names){
+        this.names = names.clone();
+        int count = names.length;
+        
+        long[] hashes = new long[count];
+        for(int i = 0; i < count; i++){
+            hashes[i] = hash(names[i], 0, names[i].length());
+        }
+        
+        int bucketBits = bits(Math.max(1, count / 2));
+        int tableBits = bits(Math.max(1, count)) + 1;
+        bucketShift = 64 - bucketBits;
+        tableMask = (1 << tableBits) - 1;
+        table = new int[1 << tableBits];
+        displacements = new int[1 << bucketBits];
+        Arrays.fill(table, -1);
+        
+        // Place the largest buckets first, they are the hardest to fit
+        List<List<Integer>> buckets = new ArrayList<>(displacements.length);
+        for(int i = 0; i < displacements.length; i++){
+            buckets.add(new ArrayList<>());
+        }
+        for(int i = 0; i < count; i++){
+            buckets.get(bucket(hashes[i])).add(i);
+        }
+        Integer[] order = new Integer[displacements.length];
+        for(int i = 0; i < order.length; i++){
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b)->buckets.get(b).size() - buckets.get(a).size());
+        
+        boolean perfect = true;
+        int[] positions = new int[0];
+        for(int bucket : order){
+            List<Integer> members = buckets.get(bucket);
+            if(members.isEmpty()){
+                break;
+            }
+            if(positions.length < members.size()){
+                positions = new int[members.size()];
+            }
+            int displacement = place(members, hashes, positions);
+            if(displacement < 0){
+                perfect = false;
+                break;
+            }
+            displacements[bucket] = displacement;
+        }
+        
+        if(!perfect){
+            Arrays.fill(table, -1);
+            Arrays.fill(displacements, 0);
+            for(int i = 0; i < count; i++){
+                int position = position(hashes[i], 0);
+                while(table[position] != -1){
+                    position = (position + 1) & tableMask;
+                }
+                table[position] = i;
+            }
+        }
+        this.perfect = perfect;
+    }
+    
+    private int place(List<Integer> members, long[] hashes, int[] positions){
+        int size = members.size();
+        search:
+        for(int displacement = 0; displacement < MAX_DISPLACEMENT; displacement++){
+            for(int i = 0; i < size; i++){
+                int position = position(hashes[members.get(i)], displacement);
+                if(table[position] != -1){
+                    continue search;
+                }
+                for(int j = 0; j < i; j++){
+                    if(positions[j] == position){
+                        continue search;
+                    }
+                }
+                positions[i] = position;
+            }
+            for(int i = 0; i < size; i++){
+                table[positions[i]] = members.get(i);
+            }
+            return displacement;
+        }
+        return -1;
+    }
+    
+    private static int bits(int value){
+        return 32 - Integer.numberOfLeadingZeros(value);
+    }
+    
+    private int bucket(long hash){
+        return (int)(hash >>> bucketShift) & (displacements.length - 1);
+    }
+    
+    private int position(long hash, int displacement){
+        long mixed = hash + displacement * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return (int)(mixed ^ (mixed >>> 31)) & tableMask;
+    }
+    
+    /**
+     * Hashes a range of characters with 64 bit FNV-1a.
+     * */
+    private static long hash(CharSequence source, int start, int end){
+        long hash = 0xCBF29CE484222325L;
+        for(int i = start; i < end; i++){
+            hash ^= source.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+    
+    /**
+     * Finds the slot of a name.
+     *
+     * @param name The name
+     *
+     * @return The slot or -1 if the name is unknown
+     * */
+    public int find(String name){
+        return find(name, 0, name.length());
+    }
+    
+    /**
+     * Finds the slot of a name that is part of a larger sequence.
+     *
+     * @param source The sequence containing the name
+     * @param start The start of the name
+     * @param end The end of the name
+     *
+     * @return The slot or -1 if the name is unknown
+     * */
+    public int find(CharSequence source, int start, int end){
+        long hash = hash(source, start, end);
+        int position = position(hash, displacements[bucket(hash)]);
+        while(true){
+            int slot = table[position];
+            if(slot == -1){
+                return -1;
+            }
+            if(matches(names[slot], source, start, end)){
+                return slot;
+            }
+            if(perfect){
+                return -1;
+            }
+            position = (position + 1) & tableMask;
+        }
+    }
+    
+    private static boolean matches(String name, CharSequence source, int start, int end){
+        int length = name.length();
+        if(length != end - start){
+            return false;
+        }
+        for(int i = 0; i < length; i++){
+            if(name.charAt(i) != source.charAt(start + i)){
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Gets the number of names in this index.
+     *
+     * @return The name count
+     * */
+    public int size(){
+        return names.length;
+    }
+}
@@ -0,0 +1,276 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @hidden
+ *
+ * An immutable character trie of argument names, for the lookups that
+ * the {@link NameIndex} can not do.
+ *
+ * Resolves unique prefixes like GNU getopt_long does and finds the
+ * names that are closest to a misspelled one. Nodes are numbered in
+ * breadth first order and the edges of every node are stored next to
+ * each other sorted by character, so the whole trie is a handful of
+ * flat arrays and following an edge is a binary search over at most
+ * the alphabet.
+ *
+ * Close names are found by walking the trie with one row of the edit
+ * distance matrix per node. A branch is left as soon as every entry
+ * of its row is over the limit, so only the names near the misspelled
+ * one are visited no matter how many names there are.
+ * */
+public final class NameTrie{
+    /**
+     * Returned by {@link #findPrefix(CharSequence, int, int)} for a
+     * prefix of more than one name.
+     * */
+    public static final int AMBIGUOUS = -2;
+    
+    private final String[] names;
+    /**
+     * The slot of the name that ends at a node or -1.
+     * */
+    private final int[] terminal;
+    /**
+     * The slot of the only name below a node, -1 if there are more.
+     * */
+    private final int[] only;
+    /**
+     * The first edge of every node, the edges of node n end at the
+     * first edge of node n + 1.
+     * */
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    
+    /**
+     * Creates a new trie, the slot of a name is its index in the array.
+     *
+     * @param names The names to index
+     * */
+    public NameTrie(String[] names){
+        this.names = names.clone();
+        Integer[] sorted = new Integer[names.length];
+        int capacity = 1;
+        for(int i = 0; i < names.length; i++){
+            sorted[i] = i;
+            capacity += names[i].length();
+        }
+        Arrays.sort(sorted, (a, b)->names[a].compareTo(names[b]));
+        
+        int[] terminal = new int[capacity];
+        int[] only = new int[capacity];
+        int[] edgeStart = new int[capacity + 1];
+        char[] edgeChars = new char[capacity];
+        int[] edgeTargets = new int[capacity];
+        
+        // Every queued node is a range of sorted names that share a prefix
+        int[] rangeStart = new int[capacity];
+        int[] rangeEnd = new int[capacity];
+        int[] depth = new int[capacity];
+        rangeEnd[0] = names.length;
+        int nodes = 1;
+        int edges = 0;
+        for(int node = 0; node < nodes; node++){
+            int start = rangeStart[node];
+            int end = rangeEnd[node];
+            int length = depth[node];
+            edgeStart[node] = edges;
+            only[node] = end - start == 1 ? sorted[start] : -1;
+            terminal[node] = -1;
+            
+            // The name that ends here sorts before the longer ones
+            if(start < end && names[sorted[start]].length() == length){
+                terminal[node] = sorted[start];
+                start++;
+            }
+            
+            while(start < end){
+                char c = names[sorted[start]].charAt(length);
+                int groupEnd = start + 1;
+                while(groupEnd < end && names[sorted[groupEnd]].charAt(length) == c){
+                    groupEnd++;
+                }
+                edgeChars[edges] = c;
+                edgeTargets[edges] = nodes;
+                edges++;
+                rangeStart[nodes] = start;
+                rangeEnd[nodes] = groupEnd;
+                depth[nodes] = length + 1;
+                nodes++;
+                start = groupEnd;
+            }
+        }
+        edgeStart[nodes] = edges;
+        
+        this.terminal = Arrays.copyOf(terminal, nodes);
+        this.only = Arrays.copyOf(only, nodes);
+        this.edgeStart = Arrays.copyOf(edgeStart, nodes + 1);
+        this.edgeChars = Arrays.copyOf(edgeChars, edges);
+        this.edgeTargets = Arrays.copyOf(edgeTargets, edges);
+    }
+    
+    /**
+     * Follows the edges of a range of characters.
+     *
+     * @return The node or -1 if no name starts with the range
+     * */
+    private int walk(CharSequence source, int start, int end){
+        int node = 0;
+        for(int i = start; i < end && node != -1; i++){
+            node = child(node, source.charAt(i));
+        }
+        return node;
+    }
+    
+    private int child(int node, char c){
+        int edge = Arrays.binarySearch(edgeChars, edgeStart[node], edgeStart[node + 1], c);
+        return edge < 0 ? -1 : edgeTargets[edge];
+    }
+    
+    /**
+     * Finds the slot of a name or of the only name it is a prefix of.
+     *
+     * @param source The characters to look up
+     * @param start The start of the name
+     * @param end The end of the name
+     *
+     * @return The slot, -1 if no name starts with it or {@link #AMBIGUOUS}
+     * */
+    public int findPrefix(CharSequence source, int start, int end){
+        int node = walk(source, start, end);
+        if(node == -1){
+            return -1;
+        }else if(terminal[node] != -1){
+            return terminal[node];
+        }
+        return only[node] != -1 ? only[node] : AMBIGUOUS;
+    }
+    
+    /**
+     * Gets the names that start with a prefix.
+     *
+     * @param prefix The prefix
+     * @param limit The maximum number of names
+     *
+     * @return The names in sorted order
+     * */
+    public List<String> withPrefix(CharSequence prefix, int limit){
+        List<String> result = new ArrayList<>();
+        int node = walk(prefix, 0, prefix.length());
+        if(node != -1){
+            collect(node, limit, result);
+        }
+        return result;
+    }
+    
+    private void collect(int node, int limit, List<String> result){
+        if(terminal[node] != -1){
+            result.add(names[terminal[node]]);
+        }
+        for(int edge = edgeStart[node]; edge < edgeStart[node + 1] && result.size() < limit; edge++){
+            collect(edgeTargets[edge], limit, result);
+        }
+    }
+    
+    /**
+     * Finds the names that are the fewest single character insertions,
+     * deletions and replacements away from a name.
+     *
+     * @param name The misspelled name
+     * @param maxDistance The largest distance to consider
+     * @param limit The maximum number of names
+     *
+     * @return The names with the smallest distance, sorted
+     * */
+    public List<String> suggest(CharSequence name, int maxDistance, int limit){
+        // A name can only be suggested if it is at most the limit longer
+        int length = name.length();
+        int[][] rows = new int[length + maxDistance + 1][length + 1];
+        for(int[] row : rows){
+            Arrays.fill(row, Integer.MAX_VALUE >>> 1);
+        }
+        for(int i = 0; i <= length; i++){
+            rows[0][i] = i;
+        }
+        
+        Suggestions suggestions = new Suggestions(maxDistance);
+        if(terminal[0] != -1 && length <= maxDistance){
+            suggestions.offer(terminal[0], length);
+        }
+        suggest(0, 0, name, rows, suggestions);
+        
+        List<String> result = new ArrayList<>();
+        for(int i = 0; i < suggestions.count && result.size() < limit; i++){
+            result.add(names[suggestions.slots[i]]);
+        }
+        result.sort(null);
+        return result;
+    }
+    
+    /**
+     * Visits the children of a node at a depth, rows[depth] is the row
+     * of the node. Only the cells within the initial limit of the
+     * diagonal are computed, the others can not lead to a suggestion
+     * and keep the value they were filled with.
+     * */
+    private void suggest(int node, int depth, CharSequence name, int[][] rows, Suggestions suggestions){
+        int length = name.length();
+        int band = suggestions.band;
+        int[] previous = rows[depth];
+        int[] row = rows[depth + 1];
+        int from = Math.max(1, depth + 1 - band);
+        int to = Math.min(length, depth + 1 + band);
+        for(int edge = edgeStart[node]; edge < edgeStart[node + 1]; edge++){
+            char c = edgeChars[edge];
+            row[0] = previous[0] + 1;
+            int smallest = row[0];
+            for(int i = from; i <= to; i++){
+                int replace = previous[i - 1] + (name.charAt(i - 1) == c ? 0 : 1);
+                row[i] = Math.min(replace, Math.min(row[i - 1], previous[i]) + 1);
+                smallest = Math.min(smallest, row[i]);
+            }
+            
+            int child = edgeTargets[edge];
+            if(terminal[child] != -1){
+                suggestions.offer(terminal[child], row[length]);
+            }
+            if(smallest <= suggestions.maxDistance && depth + 1 < rows.length - 1){
+                suggest(child, depth + 1, name, rows, suggestions);
+            }
+        }
+    }
+    
+    /**
+     * The closest names found so far, the limit shrinks to the best
+     * distance so worse branches are left earlier.
+     * */
+    private static final class Suggestions{
+        private final int band;
+        private int maxDistance;
+        private int[] slots = new int[4];
+        private int count;
+        
+        private Suggestions(int maxDistance){
+            band = maxDistance;
+            this.maxDistance = maxDistance;
+        }
+        
+        private void offer(int slot, int distance){
+            if(distance > maxDistance){
+                return;
+            }
+            if(distance < maxDistance){
+                maxDistance = distance;
+                count = 0;
+            }
+            if(count == slots.length){
+                slots = Arrays.copyOf(slots, count << 1);
+            }
+            slots[count++] = slot;
+        }
+    }
+}
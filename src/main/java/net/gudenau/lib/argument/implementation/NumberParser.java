@@ -0,0 +1,364 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * Converts numbers straight from a range of characters.
+ *
+ * Nothing is allocated unless the input is invalid, in which case a
+ * {@link java.lang.NumberFormatException NumberFormatException} is
+ * thrown. Only ASCII digits are accepted and every operation checks
+ * for overflow. Every parser has a check that never allocates.
+ * */
+final class NumberParser{
+    /**
+     * The size units, each one is 1024 times the previous one.
+     * */
+    private static final String SIZE_UNITS = "bkmgtpe";
+    
+    private static final long NANOS_PER_MICRO = 1_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MINUTE = 60 * NANOS_PER_SECOND;
+    private static final long NANOS_PER_HOUR = 60 * NANOS_PER_MINUTE;
+    private static final long NANOS_PER_DAY = 24 * NANOS_PER_HOUR;
+    
+    /**
+     * Returned instead of a size or duration, which are never negative.
+     * */
+    private static final long FORMAT_ERROR = -1;
+    private static final long RANGE_ERROR = -2;
+    
+    private NumberParser(){}
+    
+    /**
+     * Parses an int, see {@link #parseLong(CharSequence, int, int, boolean)}.
+     * */
+    static int parseInt(CharSequence source, int start, int end, boolean hex){
+        long value = parseLong(source, start, end, hex);
+        if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE){
+            throw error(source, start, end);
+        }
+        return (int)value;
+    }
+    
+    /**
+     * Parses a long with an optional sign in decimal, or in hex when it
+     * is prefixed with "0x" and hex is allowed.
+     * */
+    static long parseLong(CharSequence source, int start, int end, boolean hex){
+        int index = start;
+        boolean negative = false;
+        if(index < end){
+            char sign = source.charAt(index);
+            if(sign == '-' || sign == '+'){
+                negative = sign == '-';
+                index++;
+            }
+        }
+        
+        int radix = 10;
+        if(hex && end - index > 2 && source.charAt(index) == '0' && (source.charAt(index + 1) | 0x20) == 'x'){
+            radix = 16;
+            index += 2;
+        }
+        if(index == end){
+            throw error(source, start, end);
+        }
+        
+        // Accumulate negatively, the negative range is one larger
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / radix;
+        long result = 0;
+        for(; index < end; index++){
+            int digit = digit(source.charAt(index), radix);
+            if(digit < 0 || result < multiplyLimit){
+                throw error(source, start, end);
+            }
+            result *= radix;
+            if(result < limit + digit){
+                throw error(source, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+    
+    /**
+     * Checks a long the way {@link #parseLong(CharSequence, int, int, boolean)}
+     * parses it.
+     *
+     * @param min The smallest allowed value
+     * @param max The largest allowed value
+     *
+     * @return The error or null if the value is valid
+     * */
+    static ConversionError checkLong(CharSequence source, int start, int end, long min, long max, boolean hex){
+        int index = start;
+        boolean negative = false;
+        if(index < end){
+            char sign = source.charAt(index);
+            if(sign == '-' || sign == '+'){
+                negative = sign == '-';
+                index++;
+            }
+        }
+        
+        int radix = 10;
+        if(hex && end - index > 2 && source.charAt(index) == '0' && (source.charAt(index + 1) | 0x20) == 'x'){
+            radix = 16;
+            index += 2;
+        }
+        if(index == end){
+            return ConversionError.FORMAT;
+        }
+        
+        // Keep going after an overflow, a bad digit is a format error
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / radix;
+        long result = 0;
+        boolean overflow = false;
+        for(; index < end; index++){
+            int digit = digit(source.charAt(index), radix);
+            if(digit < 0){
+                return ConversionError.FORMAT;
+            }else if(overflow || result < multiplyLimit || result * radix < limit + digit){
+                overflow = true;
+            }else{
+                result = result * radix - digit;
+            }
+        }
+        long value = negative ? result : -result;
+        return overflow || value < min || value > max ? ConversionError.RANGE : null;
+    }
+    
+    /**
+     * Parses a size in bytes, a non-negative decimal number followed by
+     * an optional unit. The units are b, k, m, g, t, p and e, ignoring
+     * case and optionally followed by "ib" or "b", and are all powers of
+     * 1024 like the JVM memory options. Fractions are rounded down to
+     * whole bytes.
+     * */
+    static long parseSize(CharSequence source, int start, int end){
+        return checked(size(source, start, end), source, start, end);
+    }
+    
+    /**
+     * Checks a size, see {@link #parseSize(CharSequence, int, int)}.
+     * */
+    static ConversionError checkSize(CharSequence source, int start, int end){
+        return errorOf(size(source, start, end));
+    }
+    
+    private static long size(CharSequence source, int start, int end){
+        int unitStart = numberEnd(source, start, end);
+        int shift = sizeShift(source, unitStart, end);
+        if(shift < 0){
+            return FORMAT_ERROR;
+        }
+        return scale(source, start, unitStart, 1L << shift);
+    }
+    
+    private static int sizeShift(CharSequence source, int start, int end){
+        if(start == end){
+            return 0;
+        }
+        int unit = SIZE_UNITS.indexOf(source.charAt(start) | 0x20);
+        if(unit < 0){
+            return -1;
+        }
+        int index = start + 1;
+        if(unit != 0){
+            if(index < end && (source.charAt(index) | 0x20) == 'i'){
+                index++;
+                if(index == end){
+                    return -1;
+                }
+            }
+            if(index < end && (source.charAt(index) | 0x20) == 'b'){
+                index++;
+            }
+        }
+        return index == end ? unit * 10 : -1;
+    }
+    
+    /**
+     * Parses a duration in nanoseconds. A duration is one or more
+     * non-negative decimal numbers that are each followed by a unit,
+     * "1h30m" or "1.5s" for example. The units are ns, us, ms, s, m or
+     * min, h and d, ignoring case.
+     * */
+    static long parseDuration(CharSequence source, int start, int end){
+        return checked(duration(source, start, end), source, start, end);
+    }
+    
+    /**
+     * Checks a duration, see {@link #parseDuration(CharSequence, int, int)}.
+     * */
+    static ConversionError checkDuration(CharSequence source, int start, int end){
+        return errorOf(duration(source, start, end));
+    }
+    
+    private static long duration(CharSequence source, int start, int end){
+        if(start == end){
+            return FORMAT_ERROR;
+        }
+        
+        long total = 0;
+        int index = start;
+        while(index < end){
+            int unitStart = numberEnd(source, index, end);
+            int unitEnd = unitStart;
+            while(unitEnd < end && isLetter(source.charAt(unitEnd))){
+                unitEnd++;
+            }
+            long unit = durationUnit(source, unitStart, unitEnd);
+            if(unit == 0){
+                return FORMAT_ERROR;
+            }
+            
+            long value = scale(source, index, unitStart, unit);
+            if(value < 0){
+                return value;
+            }
+            total += value;
+            if(total < 0){
+                return RANGE_ERROR;
+            }
+            index = unitEnd;
+        }
+        return total;
+    }
+    
+    private static long durationUnit(CharSequence source, int start, int end){
+        switch(end - start){
+            case 1:
+                switch(source.charAt(start) | 0x20){
+                    case 's': return NANOS_PER_SECOND;
+                    case 'm': return NANOS_PER_MINUTE;
+                    case 'h': return NANOS_PER_HOUR;
+                    case 'd': return NANOS_PER_DAY;
+                    default: return 0;
+                }
+            case 2:
+                if((source.charAt(start + 1) | 0x20) != 's'){
+                    return 0;
+                }
+                switch(source.charAt(start) | 0x20){
+                    case 'n': return 1;
+                    case 'u': return NANOS_PER_MICRO;
+                    case 'm': return NANOS_PER_MILLI;
+                    default: return 0;
+                }
+            case 3:
+                return (source.charAt(start) | 0x20) == 'm' &&
+                    (source.charAt(start + 1) | 0x20) == 'i' &&
+                    (source.charAt(start + 2) | 0x20) == 'n' ? NANOS_PER_MINUTE : 0;
+            default:
+                return 0;
+        }
+    }
+    
+    /**
+     * Finds the end of a decimal number with an optional fraction.
+     * */
+    private static int numberEnd(CharSequence source, int start, int end){
+        int index = start;
+        while(index < end && isDigit(source.charAt(index))){
+            index++;
+        }
+        if(index < end && source.charAt(index) == '.'){
+            index++;
+            while(index < end && isDigit(source.charAt(index))){
+                index++;
+            }
+        }
+        return index;
+    }
+    
+    /**
+     * Multiplies a decimal number by a unit, rounding the fraction down.
+     *
+     * @return The result, {@link #FORMAT_ERROR} or {@link #RANGE_ERROR}
+     * */
+    private static long scale(CharSequence source, int start, int end, long unit){
+        long whole = 0;
+        int digits = 0;
+        int index = start;
+        for(; index < end && source.charAt(index) != '.'; index++){
+            int digit = source.charAt(index) - '0';
+            if(whole > (Long.MAX_VALUE - digit) / 10){
+                return RANGE_ERROR;
+            }
+            whole = whole * 10 + digit;
+            digits++;
+        }
+        
+        // Only the first 18 digits of a fraction matter, more would not
+        // fit in a long and could not change the result noticeably
+        long fraction = 0;
+        double divisor = 1;
+        if(index < end){
+            for(index++; index < end; index++){
+                if(divisor < 1e18){
+                    fraction = fraction * 10 + (source.charAt(index) - '0');
+                    divisor *= 10;
+                }
+                digits++;
+            }
+        }
+        if(digits == 0){
+            return FORMAT_ERROR;
+        }else if(whole > Long.MAX_VALUE / unit){
+            return RANGE_ERROR;
+        }
+        
+        // Multiplying first keeps common fractions like 0.001s exact
+        long result = whole * unit + (long)(fraction * (double)unit / divisor);
+        return result < 0 ? RANGE_ERROR : result;
+    }
+    
+    private static long checked(long value, CharSequence source, int start, int end){
+        if(value < 0){
+            throw error(source, start, end);
+        }
+        return value;
+    }
+    
+    private static ConversionError errorOf(long value){
+        if(value == FORMAT_ERROR){
+            return ConversionError.FORMAT;
+        }
+        return value == RANGE_ERROR ? ConversionError.RANGE : null;
+    }
+    
+    private static int digit(char c, int radix){
+        if(c >= '0' && c <= '9'){
+            return c - '0';
+        }
+        if(radix == 16){
+            char lower = (char)(c | 0x20);
+            if(lower >= 'a' && lower <= 'f'){
+                return lower - 'a' + 10;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isDigit(char c){
+        return c >= '0' && c <= '9';
+    }
+    
+    private static boolean isLetter(char c){
+        char lower = (char)(c | 0x20);
+        return lower >= 'a' && lower <= 'z';
+    }
+    
+    private static NumberFormatException error(CharSequence source, int start, int end){
+        return new NumberFormatException(
+            "For input string: \"" + source.subSequence(start, end) + "\""
+        );
+    }
+}
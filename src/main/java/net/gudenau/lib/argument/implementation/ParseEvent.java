@@ -0,0 +1,30 @@
+package net.gudenau.lib.argument.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * @hidden
+ *
+ * A flight recorder event for a single parse.
+ * */
+@Name("net.gudenau.lib.argument.Parse")
+@Label("Argument Parse")
+@Description("A command line parsed by an ArgumentParser")
+@Category("Argument Parser")
+final class ParseEvent extends Event{
+    @Label("Tokens")
+    @Description("The number of tokens that were read")
+    int tokens;
+    
+    @Label("Cache Hit")
+    @Description("The result came from the result cache")
+    boolean cacheHit;
+    
+    @Label("Failure")
+    @Description("Why the parse failed, if it did")
+    String failure;
+}
@@ -0,0 +1,115 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import net.gudenau.lib.argument.ConversionError;
+import net.gudenau.lib.argument.PathCheck;
+
+/**
+ * @hidden
+ *
+ * A path based argument with checks that run on the file system.
+ *
+ * Converting a value only creates the path, the checks are run by the
+ * parser for all paths of a command line at once with
+ * {@link PathChecker}.
+ * */
+public final class PathArgument extends AbstractArgument<Path>{
+    private final Set<PathCheck> checks;
+    
+    public PathArgument(Path defaultValue, boolean required, PathCheck... checks){
+        super(defaultValue, required);
+        
+        Set<PathCheck> set = EnumSet.noneOf(PathCheck.class);
+        Collections.addAll(set, checks);
+        this.checks = Collections.unmodifiableSet(set);
+    }
+    
+    /**
+     * Gets the checks of this argument.
+     *
+     * @return The checks
+     * */
+    public Set<PathCheck> getChecks(){
+        return checks;
+    }
+    
+    /**
+     * Checks if this argument has to touch the file system.
+     *
+     * @return True if there are checks
+     * */
+    public boolean hasChecks(){
+        return !checks.isEmpty();
+    }
+    
+    @Override
+    public Path getValue(String argument){
+        return Paths.get(argument);
+    }
+    
+    @Override
+    public Path getValue(CharSequence source, int start, int end){
+        return Paths.get(source.subSequence(start, end).toString());
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        try{
+            getValue(source, start, end);
+            return null;
+        }catch(InvalidPathException e){
+            return ConversionError.FORMAT;
+        }
+    }
+    
+    /**
+     * Runs the checks on a path, this blocks on the file system.
+     *
+     * @param path The path
+     * @param result Receives the path, the real path if it is canonicalized
+     * @param index The index in the result
+     *
+     * @return The failed check or null
+     * */
+    ConversionError verify(Path path, Path[] result, int index){
+        if(checks.contains(PathCheck.CANONICALIZE)){
+            try{
+                path = path.toRealPath();
+            }catch(NoSuchFileException e){
+                return ConversionError.NOT_FOUND;
+            }catch(IOException | SecurityException e){
+                return ConversionError.OTHER;
+            }
+        }else if(checks.contains(PathCheck.EXISTS) && !checks.contains(PathCheck.DIRECTORY) && !Files.exists(path)){
+            return ConversionError.NOT_FOUND;
+        }
+        
+        // One stat answers both existence and type
+        if(checks.contains(PathCheck.DIRECTORY)){
+            try{
+                if(!Files.readAttributes(path, BasicFileAttributes.class).isDirectory()){
+                    return ConversionError.NOT_DIRECTORY;
+                }
+            }catch(NoSuchFileException e){
+                return ConversionError.NOT_FOUND;
+            }catch(IOException | SecurityException e){
+                return ConversionError.OTHER;
+            }
+        }
+        if(checks.contains(PathCheck.READABLE) && !Files.isReadable(path)){
+            return Files.notExists(path) ? ConversionError.NOT_FOUND : ConversionError.NOT_READABLE;
+        }
+        
+        result[index] = path;
+        return null;
+    }
+}
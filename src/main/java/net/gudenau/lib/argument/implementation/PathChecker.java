@@ -0,0 +1,153 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * Runs the checks of many path arguments at the same time.
+ *
+ * File system checks spend their time waiting, on a network file
+ * system thousands of them in a row take seconds. A batch is split
+ * over workers that take the next path from a shared counter, the
+ * calling thread is one of them. The workers are virtual threads when
+ * the runtime has them (Java 21 and later), they are found through
+ * reflection. Older runtimes share a bounded pool of daemon threads
+ * whose idle threads exit after a minute.
+ * */
+public final class PathChecker{
+    /**
+     * The size of the shared pool on runtimes without virtual threads.
+     * */
+    private static final int POOL_SIZE = 64;
+    private static final Method NEW_VIRTUAL_EXECUTOR;
+    
+    static{
+        Method method;
+        try{
+            method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        }catch(NoSuchMethodException e){
+            method = null;
+        }
+        NEW_VIRTUAL_EXECUTOR = method;
+    }
+    
+    private static volatile ExecutorService pool;
+    
+    private PathChecker(){}
+    
+    /**
+     * Checks paths, blocking until all of them are done.
+     *
+     * @param arguments The argument of every path
+     * @param paths The paths
+     * @param results Receives the path of every check that passed
+     * @param parallelism The largest number of paths that are checked at the same time
+     *
+     * @return The failed check of every path, null for the paths that passed
+     * */
+    public static ConversionError[] check(PathArgument[] arguments, Path[] paths, Path[] results, int parallelism){
+        int count = paths.length;
+        ConversionError[] errors = new ConversionError[count];
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = ()->{
+            for(int i; (i = next.getAndIncrement()) < count;){
+                try{
+                    errors[i] = arguments[i].verify(paths[i], results, i);
+                }catch(RuntimeException e){
+                    errors[i] = ConversionError.OTHER;
+                }
+            }
+        };
+        
+        int workers = Math.min(parallelism, count);
+        if(workers <= 1){
+            worker.run();
+            return errors;
+        }
+        
+        ExecutorService virtual = newVirtualExecutor();
+        ExecutorService executor = virtual != null ? virtual : getPool();
+        CountDownLatch done = new CountDownLatch(workers - 1);
+        try{
+            for(int i = 1; i < workers; i++){
+                executor.execute(()->{
+                    try{
+                        worker.run();
+                    }finally{
+                        done.countDown();
+                    }
+                });
+            }
+            worker.run();
+            awaitUninterruptibly(done);
+        }finally{
+            if(virtual != null){
+                virtual.shutdown();
+            }
+        }
+        return errors;
+    }
+    
+    private static ExecutorService newVirtualExecutor(){
+        if(NEW_VIRTUAL_EXECUTOR == null){
+            return null;
+        }
+        try{
+            return (ExecutorService)NEW_VIRTUAL_EXECUTOR.invoke(null);
+        }catch(IllegalAccessException | InvocationTargetException e){
+            return null;
+        }
+    }
+    
+    private static ExecutorService getPool(){
+        ExecutorService pool = PathChecker.pool;
+        if(pool == null){
+            synchronized(PathChecker.class){
+                pool = PathChecker.pool;
+                if(pool == null){
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                        POOL_SIZE, POOL_SIZE, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), (runnable)->{
+                            Thread thread = new Thread(runnable, "PathChecker worker");
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    );
+                    executor.allowCoreThreadTimeOut(true);
+                    pool = executor;
+                    PathChecker.pool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+    
+    /**
+     * Waits for the workers, the checks are short so an interrupt is
+     * kept for later instead of leaving them running.
+     * */
+    private static void awaitUninterruptibly(CountDownLatch latch){
+        boolean interrupted = false;
+        while(true){
+            try{
+                latch.await();
+                break;
+            }catch(InterruptedException e){
+                interrupted = true;
+            }
+        }
+        if(interrupted){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
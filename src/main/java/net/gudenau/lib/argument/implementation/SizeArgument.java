@@ -0,0 +1,50 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * A size in bytes with an optional unit, like "512m" or "4GiB". The
+ * units are powers of 1024 like the JVM memory options.
+ * */
+public class SizeArgument implements Argument.OfLong{
+    private final long defaultValue;
+    private final boolean required;
+    
+    public SizeArgument(long defaultValue, boolean required){
+        this.defaultValue = defaultValue;
+        this.required = required;
+    }
+    
+    @Override
+    public boolean isRequired(){
+        return required;
+    }
+    
+    @Override
+    public long parseLong(String argument){
+        return parseLong(argument, 0, argument.length());
+    }
+    
+    @Override
+    public long parseLong(CharSequence source, int start, int end){
+        return NumberParser.parseSize(source, start, end);
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return NumberParser.checkSize(source, start, end);
+    }
+    
+    @Override
+    public long getLongDefault(){
+        return defaultValue;
+    }
+    
+    @Override
+    public boolean hasDefault(){
+        return defaultValue != 0;
+    }
+}
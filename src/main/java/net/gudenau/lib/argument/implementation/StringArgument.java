@@ -1,5 +1,7 @@
 package net.gudenau.lib.argument.implementation;
 
+import net.gudenau.lib.argument.ConversionError;
+
 /**
  * @hidden
  *
@@ -14,4 +16,24 @@ public final class StringArgument extends AbstractArgument<String>{
     public String getValue(String argument){
         return argument.trim();
     }
+    
+    @Override
+    public String getValue(CharSequence source, int start, int end){
+        // Trim the range first so only one string is created
+        while(start < end && source.charAt(start) <= ' '){
+            start++;
+        }
+        while(end > start && source.charAt(end - 1) <= ' '){
+            end--;
+        }
+        if(start == 0 && end == source.length() && source instanceof String){
+            return (String)source;
+        }
+        return source.subSequence(start, end).toString();
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return null;
+    }
 }
@@ -0,0 +1,61 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.function.Supplier;
+import net.gudenau.lib.argument.Argument;
+import net.gudenau.lib.argument.ConversionError;
+
+/**
+ * @hidden
+ *
+ * Wraps an argument to give it a default that is computed when it is
+ * first needed. The parser computes the default at most once.
+ *
+ * @param <T> The object this represents
+ * */
+public final class SuppliedDefaultArgument<T> implements Argument<T>{
+    private final Argument<T> argument;
+    private final Supplier<? extends T> defaultValue;
+    
+    public SuppliedDefaultArgument(Argument<T> argument, Supplier<? extends T> defaultValue){
+        this.argument = argument;
+        this.defaultValue = defaultValue;
+    }
+    
+    @Override
+    public boolean isRequired(){
+        return argument.isRequired();
+    }
+    
+    @Override
+    public T getValue(String argument){
+        return this.argument.getValue(argument);
+    }
+    
+    @Override
+    public T getValue(CharSequence source, int start, int end){
+        return argument.getValue(source, start, end);
+    }
+    
+    @Override
+    public ConversionError check(CharSequence source, int start, int end){
+        return argument.check(source, start, end);
+    }
+    
+    @Override
+    public T getDefault(){
+        return defaultValue.get();
+    }
+    
+    @Override
+    public boolean hasDefault(){
+        return true;
+    }
+    
+    public Supplier<? extends T> getDefaultSupplier(){
+        return defaultValue;
+    }
+    
+    public Argument<T> getArgument(){
+        return argument;
+    }
+}
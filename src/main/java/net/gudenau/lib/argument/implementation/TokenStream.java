@@ -0,0 +1,209 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * @hidden
+ *
+ * The tokens of a command line, with optional argument file expansion.
+ *
+ * When argument files are enabled a token starting with '@' is replaced
+ * by the tokens of the file it names, the same way javac and java
+ * handle them. Argument files can name other argument files. The
+ * tokens are read as they are needed, the expanded command line is
+ * never held in memory.
+ *
+ * A command line can also be a buffer of bytes, like the contents of
+ * /proc/self/cmdline. Tokens are separated by NUL bytes if there are
+ * any and by whitespace otherwise. ASCII tokens are returned as a
+ * {@link ByteSequence} view of the buffer and are never decoded unless
+ * something asks for a string, other tokens are decoded as UTF-8.
+ * */
+public final class TokenStream implements AutoCloseable{
+    private final String[] arguments;
+    private final boolean argumentFiles;
+    private int index;
+    
+    private final byte[] bytes;
+    private final int limit;
+    private final boolean nulSeparated;
+    
+    /**
+     * The open argument files, the innermost one first.
+     * */
+    private Deque<ArgumentFileReader> readers;
+    
+    /**
+     * Creates a new token stream.
+     *
+     * @param arguments The arguments passed to the program
+     * @param argumentFiles Pass true to expand argument files
+     * */
+    public TokenStream(String[] arguments, boolean argumentFiles){
+        this.arguments = arguments;
+        this.argumentFiles = argumentFiles;
+        bytes = null;
+        limit = 0;
+        nulSeparated = false;
+    }
+    
+    /**
+     * Creates a new token stream over the remaining bytes of a buffer,
+     * the position of the buffer is not changed. The array of a heap
+     * buffer is used as is, direct buffers are copied once.
+     *
+     * @param buffer The command line
+     * @param argumentFiles Pass true to expand argument files
+     * */
+    public TokenStream(ByteBuffer buffer, boolean argumentFiles){
+        arguments = null;
+        this.argumentFiles = argumentFiles;
+        if(buffer.hasArray()){
+            bytes = buffer.array();
+            index = buffer.arrayOffset() + buffer.position();
+            limit = buffer.arrayOffset() + buffer.limit();
+        }else{
+            bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            index = 0;
+            limit = bytes.length;
+        }
+        
+        boolean nulSeparated = false;
+        for(int i = index; i < limit && !nulSeparated; i++){
+            nulSeparated = bytes[i] == 0;
+        }
+        this.nulSeparated = nulSeparated;
+    }
+    
+    /**
+     * Gets the next token.
+     *
+     * @return The next token or null at the end
+     * */
+    public CharSequence next(){
+        while(true){
+            CharSequence token;
+            if(readers == null || readers.isEmpty()){
+                if(bytes != null){
+                    token = nextBytes();
+                    if(token == null){
+                        return null;
+                    }
+                }else if(index == arguments.length){
+                    return null;
+                }else{
+                    token = arguments[index++];
+                }
+            }else{
+                ArgumentFileReader reader = readers.peekFirst();
+                try{
+                    token = reader.next();
+                }catch(IOException e){
+                    throw new IllegalArgumentException(String.format(
+                        "Could not read argument file \"%s\"", reader.getPath()
+                    ), e);
+                }
+                if(token == null){
+                    readers.removeFirst();
+                    close(reader);
+                    continue;
+                }
+            }
+            
+            if(argumentFiles && token.length() > 1 && token.charAt(0) == '@'){
+                open(Paths.get(token.subSequence(1, token.length()).toString()).toAbsolutePath().normalize());
+                continue;
+            }
+            return token;
+        }
+    }
+    
+    /**
+     * Splits the next token off the byte buffer.
+     *
+     * @return The token or null at the end of the buffer
+     * */
+    private CharSequence nextBytes(){
+        byte[] bytes = this.bytes;
+        int limit = this.limit;
+        int index = this.index;
+        if(!nulSeparated){
+            while(index < limit && isWhitespace(bytes[index])){
+                index++;
+            }
+        }
+        if(index == limit){
+            this.index = index;
+            return null;
+        }
+        
+        // Bytes outside of ASCII are negative, or them all to find one
+        int start = index;
+        int bits = 0;
+        if(nulSeparated){
+            for(byte b; index < limit && (b = bytes[index]) != 0; index++){
+                bits |= b;
+            }
+        }else{
+            for(byte b; index < limit && !isWhitespace(b = bytes[index]); index++){
+                bits |= b;
+            }
+        }
+        
+        // Skip the separator, a NUL after the last token does not start another one
+        this.index = index < limit ? index + 1 : index;
+        if(bits >= 0){
+            return new ByteSequence(bytes, start, index);
+        }
+        return new String(bytes, start, index - start, StandardCharsets.UTF_8);
+    }
+    
+    private static boolean isWhitespace(byte b){
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+    
+    private void open(Path path){
+        if(readers == null){
+            readers = new ArrayDeque<>();
+        }
+        for(ArgumentFileReader reader : readers){
+            if(reader.getPath().equals(path)){
+                throw new IllegalArgumentException(String.format(
+                    "Argument file \"%s\" includes itself", path
+                ));
+            }
+        }
+        try{
+            readers.addFirst(new ArgumentFileReader(path));
+        }catch(IOException e){
+            throw new IllegalArgumentException(String.format(
+                "Could not read argument file \"%s\"", path
+            ), e);
+        }
+    }
+    
+    private static void close(ArgumentFileReader reader){
+        try{
+            reader.close();
+        }catch(IOException ignored){}
+    }
+    
+    /**
+     * Closes all argument files that are still open.
+     * */
+    @Override
+    public void close(){
+        if(readers != null){
+            while(!readers.isEmpty()){
+                close(readers.removeFirst());
+            }
+        }
+    }
+}
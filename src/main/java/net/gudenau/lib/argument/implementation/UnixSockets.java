@@ -0,0 +1,121 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * @hidden
+ *
+ * Unix domain socket channels, which were added in Java 16.
+ *
+ * The library targets an older release, so the new methods are found
+ * through reflection once. On older runtimes {@link #isSupported()}
+ * is false and callers fall back to loopback TCP.
+ * */
+public final class UnixSockets{
+    private static final ProtocolFamily UNIX;
+    private static final Method ADDRESS;
+    private static final Method OPEN_SERVER;
+    private static final Method OPEN_CLIENT;
+    
+    static{
+        ProtocolFamily family = null;
+        Method address = null;
+        Method openServer = null;
+        Method openClient = null;
+        try{
+            family = StandardProtocolFamily.valueOf("UNIX");
+            address = Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class);
+            openServer = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+            openClient = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+        }catch(IllegalArgumentException | ReflectiveOperationException ignored){
+            family = null;
+        }
+        UNIX = family;
+        ADDRESS = address;
+        OPEN_SERVER = openServer;
+        OPEN_CLIENT = openClient;
+    }
+    
+    private UnixSockets(){}
+    
+    /**
+     * Checks if the runtime has Unix domain socket channels.
+     *
+     * @return True if they are supported
+     * */
+    public static boolean isSupported(){
+        return UNIX != null;
+    }
+    
+    /**
+     * Creates a server channel that listens on a socket file, the file
+     * must not exist.
+     *
+     * @param path The socket file
+     *
+     * @return The bound channel
+     *
+     * @throws IOException If the channel could not be bound
+     * */
+    public static ServerSocketChannel bind(Path path) throws IOException{
+        ServerSocketChannel channel = (ServerSocketChannel)invoke(OPEN_SERVER, UNIX);
+        try{
+            channel.bind(address(path));
+        }catch(IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+    
+    /**
+     * Connects to a socket file.
+     *
+     * @param path The socket file
+     *
+     * @return The connected channel
+     *
+     * @throws IOException If the channel could not connect
+     * */
+    public static SocketChannel connect(Path path) throws IOException{
+        SocketChannel channel = (SocketChannel)invoke(OPEN_CLIENT, UNIX);
+        try{
+            channel.connect(address(path));
+        }catch(IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+    
+    private static SocketAddress address(Path path) throws IOException{
+        return (SocketAddress)invoke(ADDRESS, path);
+    }
+    
+    private static Object invoke(Method method, Object argument) throws IOException{
+        if(method == null){
+            throw new UnsupportedOperationException("Unix domain sockets require Java 16");
+        }
+        try{
+            return method.invoke(null, argument);
+        }catch(InvocationTargetException e){
+            Throwable cause = e.getCause();
+            if(cause instanceof IOException){
+                throw (IOException)cause;
+            }else if(cause instanceof RuntimeException){
+                throw (RuntimeException)cause;
+            }
+            throw new IllegalStateException(cause);
+        }catch(IllegalAccessException e){
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import net.gudenau.lib.argument.Argument;
+
+/**
+ * @hidden
+ *
+ * Collects the elements of a {@link ListArgument} while a command line
+ * is parsed.
+ *
+ * Primitive elements go straight into a growable primitive array
+ * through the range parsers, so no element is boxed and numbers do not
+ * create strings. The array is trimmed once when the parse is done.
+ * */
+public final class ValueList{
+    private static final int INT = 0;
+    private static final int LONG = 1;
+    private static final int DOUBLE = 2;
+    private static final int OBJECT = 3;
+    
+    private final Argument<?> element;
+    private final Class<?> elementType;
+    private final char separator;
+    private final int kind;
+    
+    private int size;
+    private int[] ints;
+    private long[] longs;
+    private double[] doubles;
+    private Object[] objects;
+    
+    public ValueList(ListArgument<?> argument){
+        element = argument.getElement();
+        elementType = argument.getElementType();
+        separator = argument.getSeparator();
+        if(element instanceof Argument.OfInt){
+            kind = INT;
+            ints = new int[8];
+        }else if(element instanceof Argument.OfLong){
+            kind = LONG;
+            longs = new long[8];
+        }else if(element instanceof Argument.OfDouble){
+            kind = DOUBLE;
+            doubles = new double[8];
+        }else{
+            kind = OBJECT;
+            objects = new Object[8];
+        }
+    }
+    
+    /**
+     * Splits a value on the separator and adds every element.
+     *
+     * @param source The token that holds the value
+     * @param start The start of the value
+     * @param end The end of the value
+     * */
+    public void add(CharSequence source, int start, int end){
+        int from = start;
+        for(int i = start; i < end; i++){
+            if(source.charAt(i) == separator){
+                addElement(source, from, i);
+                from = i + 1;
+            }
+        }
+        addElement(source, from, end);
+    }
+    
+    private void addElement(CharSequence source, int start, int end){
+        switch(kind){
+            case INT: {
+                if(size == ints.length){
+                    ints = Arrays.copyOf(ints, size << 1);
+                }
+                ints[size] = ((Argument.OfInt)element).parseInt(source, start, end);
+            } break;
+            case LONG: {
+                if(size == longs.length){
+                    longs = Arrays.copyOf(longs, size << 1);
+                }
+                longs[size] = ((Argument.OfLong)element).parseLong(source, start, end);
+            } break;
+            case DOUBLE: {
+                if(size == doubles.length){
+                    doubles = Arrays.copyOf(doubles, size << 1);
+                }
+                doubles[size] = ((Argument.OfDouble)element).parseDouble(source, start, end);
+            } break;
+            default: {
+                if(size == objects.length){
+                    objects = Arrays.copyOf(objects, size << 1);
+                }
+                objects[size] = element.getValue(source, start, end);
+            } break;
+        }
+        size++;
+    }
+    
+    /**
+     * Creates the final array, exactly as long as the number of elements.
+     *
+     * @return The array
+     * */
+    public Object toArray(){
+        switch(kind){
+            case INT: return size == ints.length ? ints : Arrays.copyOf(ints, size);
+            case LONG: return size == longs.length ? longs : Arrays.copyOf(longs, size);
+            case DOUBLE: return size == doubles.length ? doubles : Arrays.copyOf(doubles, size);
+            default: {
+                Object array = Array.newInstance(elementType, size);
+                System.arraycopy(objects, 0, array, 0, size);
+                return array;
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package net.gudenau.lib.argument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AbbreviationTest{
+    private static ArgumentParser parser(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerFlagArgument("version")
+            .registerIntegerArgument("threads");
+    }
+    
+    @Test
+    void abbreviationsAreOptIn(){
+        ArgumentParser parser = parser();
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-thr=2"}));
+        parser.setAbbreviations(true);
+        assertEquals(2, parser.parse(new String[]{"-thr=2"}).getInteger("threads"));
+        assertTrue(parser.parse(new String[]{"-verb"}).getFlag("verbose"));
+    }
+    
+    @Test
+    void ambiguousAbbreviationsListTheCandidates(){
+        ArgumentParser parser = parser().setAbbreviations(true);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-ver"}));
+        assertEquals("Ambiguous argument \"ver\", could be verbose, version", error.getMessage());
+    }
+    
+    @Test
+    void typosGetSuggestions(){
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser().parse(new String[]{"-verbsoe"}));
+        assertEquals("Unknown argument \"verbsoe\", did you mean verbose?", error.getMessage());
+    }
+}
@@ -0,0 +1,210 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentBinderTest{
+    enum Level implements EnumArgument{
+        LOW,
+        HIGH;
+        
+        @Override
+        public String getArgumentName(){
+            return name().toLowerCase();
+        }
+    }
+    
+    static class Base{
+        @Option
+        private boolean verbose;
+        @Option(name = "out")
+        File output;
+    }
+    
+    static class Options extends Base{
+        @Option
+        int threads = 4;
+        @Option
+        long limit;
+        @Option
+        double ratio = 0.5;
+        @Option
+        Integer boxedInt;
+        @Option
+        Long boxedLong;
+        @Option
+        Double boxedDouble;
+        @Option
+        Boolean boxedFlag;
+        @Option(required = true)
+        String host;
+        @Option
+        Level level = Level.LOW;
+        
+        String ignored = "untouched";
+    }
+    
+    static class NoConstructor{
+        @Option
+        String name;
+        
+        NoConstructor(String name){
+            this.name = name;
+        }
+    }
+    
+    static class FinalField{
+        @Option
+        final String name = "";
+    }
+    
+    static class StaticField{
+        @Option
+        static String name;
+    }
+    
+    static class UnsupportedField{
+        @Option
+        List<String> names;
+    }
+    
+    static class RequiredFlag{
+        @Option(required = true)
+        boolean verbose;
+    }
+    
+    static class BadName{
+        @Option(name = "bad-name")
+        String name;
+    }
+    
+    @Test
+    void everyFieldTypeIsBound(){
+        Options options = ArgumentBinder.of(Options.class).parse(new String[]{
+            "-verbose", "-out=a.txt", "-threads=8", "-limit=5000000000", "-ratio=1.5",
+            "-boxedInt=1", "-boxedLong=2", "-boxedDouble=3.5", "-boxedFlag",
+            "-host=example.com", "-level=high"
+        });
+        assertTrue(((Base)options).verbose);
+        assertEquals(new File("a.txt"), options.output);
+        assertEquals(8, options.threads);
+        assertEquals(5000000000L, options.limit);
+        assertEquals(1.5, options.ratio);
+        assertEquals(Integer.valueOf(1), options.boxedInt);
+        assertEquals(Long.valueOf(2), options.boxedLong);
+        assertEquals(Double.valueOf(3.5), options.boxedDouble);
+        assertEquals(Boolean.TRUE, options.boxedFlag);
+        assertEquals("example.com", options.host);
+        assertEquals(Level.HIGH, options.level);
+        assertEquals("untouched", options.ignored);
+    }
+    
+    @Test
+    void absentOptionsKeepTheirInitializers(){
+        Options options = ArgumentBinder.of(Options.class).parse(new String[]{"-host=a"});
+        assertFalse(((Base)options).verbose);
+        assertNull(options.output);
+        assertEquals(4, options.threads);
+        assertEquals(0.5, options.ratio);
+        assertNull(options.boxedInt);
+        assertNull(options.boxedFlag);
+        assertEquals(Level.LOW, options.level);
+    }
+    
+    @Test
+    void requiredOptionsAreChecked(){
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(Options.class).parse(new String[]{"-threads=2"}));
+        assertEquals("Required param is missing", error.getMessage());
+    }
+    
+    @Test
+    void superclassOptionsAreRegisteredFirst(){
+        CompiledArgumentParser parser = ArgumentBinder.of(Options.class).createParser().compile();
+        assertEquals("verbose", parser.nameOf(0));
+        assertEquals("out", parser.nameOf(1));
+        assertEquals("threads", parser.nameOf(2));
+    }
+    
+    @Test
+    void bindersAreCachedPerClass(){
+        assertSame(ArgumentBinder.of(Options.class), ArgumentBinder.of(Options.class));
+        assertNotSame(ArgumentBinder.of(Options.class), ArgumentBinder.of(Base.class));
+    }
+    
+    @Test
+    void slotsAreResolvedAgainAfterARecompile(){
+        ArgumentBinder<Options> binder = ArgumentBinder.of(Options.class);
+        ArgumentParser parser = new ArgumentParser().registerStringArgument("first");
+        binder.register(parser);
+        
+        Options options = binder.bind(parser.parse(new String[]{"-host=a", "-threads=2"}));
+        assertEquals(2, options.threads);
+        
+        // The new parser has the slots in other places
+        ArgumentParser other = new ArgumentParser();
+        for(int i = 0; i < 10; i++){
+            other.registerFlagArgument("filler" + i);
+        }
+        binder.register(other);
+        options = binder.bind(other.parse(new String[]{"-host=b", "-threads=3", "-level=high"}));
+        assertEquals("b", options.host);
+        assertEquals(3, options.threads);
+        assertEquals(Level.HIGH, options.level);
+        
+        // Registering more recompiles the first parser
+        parser.registerFlagArgument("late");
+        options = binder.bind(parser.parse(new String[]{"-host=c", "-threads=5", "-late"}));
+        assertEquals("c", options.host);
+        assertEquals(5, options.threads);
+    }
+    
+    @Test
+    void bindingIntoAnExistingInstance(){
+        ArgumentBinder<Options> binder = ArgumentBinder.of(Options.class);
+        ArgumentResult result = binder.createParser().parse(new String[]{"-host=a"});
+        Options target = new Options();
+        target.threads = 99;
+        assertSame(target, binder.bind(result, target));
+        assertEquals("a", target.host);
+        assertEquals(99, target.threads);
+    }
+    
+    @Test
+    void resultsOfOtherParsersAreRejected(){
+        ArgumentResult result = new ArgumentParser().registerStringArgument("host").parse(new String[0]);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(Options.class).bind(result));
+        assertEquals("Option \"verbose\" of " + Options.class.getName() + " was not registered with this parser", error.getMessage());
+    }
+    
+    @Test
+    void classesWithoutADefaultConstructorCanOnlyBindInstances(){
+        ArgumentBinder<NoConstructor> binder = ArgumentBinder.of(NoConstructor.class);
+        ArgumentResult result = binder.createParser().parse(new String[]{"-name=x"});
+        assertThrows(IllegalStateException.class, ()->binder.bind(result));
+        assertEquals("x", binder.bind(result, new NoConstructor("y")).name);
+    }
+    
+    @Test
+    void invalidFieldsAreRejected(){
+        assertEquals(
+            "Option field " + FinalField.class.getName() + ".name can not be static or final",
+            assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(FinalField.class)).getMessage()
+        );
+        assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(StaticField.class));
+        assertEquals(
+            "Option field " + UnsupportedField.class.getName() + ".names has the unsupported type java.util.List",
+            assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(UnsupportedField.class)).getMessage()
+        );
+        assertEquals(
+            "Flag option " + RequiredFlag.class.getName() + ".verbose can not be required",
+            assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(RequiredFlag.class)).getMessage()
+        );
+        assertEquals(
+            "Option name \"bad-name\" of " + BadName.class.getName() + ".name is not alphanumeric",
+            assertThrows(IllegalArgumentException.class, ()->ArgumentBinder.of(BadName.class)).getMessage()
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentKeyTest{
+    @Test
+    void readsThroughKeys(){
+        ArgumentParser parser = new ArgumentParser();
+        ArgumentKey<String> name = parser.registerKey("name", Arguments.string("none", false));
+        ArgumentKey<Integer> count = parser.registerKey("count", Arguments.integer(1, false));
+        ArgumentKey<File> file = parser.registerKey("file", Arguments.file(null, false));
+        ArgumentKey<Boolean> flag = parser.registerKey("flag", Arguments.flag());
+        
+        ArgumentResult result = parser.parse(new String[]{"-count=12", "-flag"});
+        assertEquals("none", result.get(name));
+        assertEquals(12, result.getInt(count, -1));
+        assertEquals(Integer.valueOf(12), result.get(count));
+        assertNull(result.get(file));
+        assertFalse(result.isPresent(file));
+        assertTrue(result.isPresent(flag));
+        
+        // The string getters still work
+        assertEquals(12, result.getInteger("count"));
+        assertEquals("none", result.getString("name"));
+    }
+    
+    @Test
+    void rejectsKeysOfOtherParsers(){
+        ArgumentParser first = new ArgumentParser();
+        ArgumentKey<String> key = first.registerKey("name", Arguments.string(null, false));
+        ArgumentParser second = new ArgumentParser();
+        second.registerKey("name", Arguments.string(null, false));
+        
+        ArgumentResult result = second.parse(new String[]{"-name=x"});
+        assertThrows(IllegalArgumentException.class, ()->result.get(key));
+    }
+}
@@ -0,0 +1,103 @@
+package net.gudenau.lib.argument;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteBufferParseTest{
+    private static CompiledArgumentParser parser(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerIntegerArgument("threads")
+            .registerStringArgument("name")
+            .compile();
+    }
+    
+    private static byte[] bytes(String value){
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    private static String describe(ArgumentResult result){
+        return result.getFlag("verbose") + " " + result.getInt("threads", 0) + " " + result.getResult("name");
+    }
+    
+    @Test
+    void nulSeparatedTokens(){
+        ArgumentResult result = parser().parse(bytes("-verbose\0-threads=8\0-name=a b\0"));
+        assertTrue(result.getFlag("verbose"));
+        assertEquals(8, result.getInteger("threads"));
+        assertEquals("a b", result.getString("name"));
+    }
+    
+    @Test
+    void whitespaceSeparatedTokens(){
+        ArgumentResult result = parser().parse(bytes("  -verbose\t-threads=8\n -name=x "));
+        assertTrue(result.getFlag("verbose"));
+        assertEquals(8, result.getInteger("threads"));
+        assertEquals("x", result.getString("name"));
+    }
+    
+    @Test
+    void nonAsciiTokensAreDecoded(){
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser().parse(bytes("-name=gr\u00FC\u00DFe")));
+        assertEquals("Malformed param: -name=gr\u00FC\u00DFe", error.getMessage());
+    }
+    
+    @Test
+    void matchesTheStringParse(){
+        CompiledArgumentParser parser = parser();
+        String[][] commandLines = {
+            {"-threads=1"},
+            {"-threads=x"},
+            {"-verbose=1"},
+            {"-bogus"},
+            {"-name=a", "-threads=2147483648"},
+            {"-verbose", "-name=a b", "-threads=-7"},
+        };
+        for(String[] commandLine : commandLines){
+            String encoded = String.join("\0", commandLine);
+            String expected;
+            try{
+                expected = describe(parser.parse(commandLine));
+            }catch(IllegalArgumentException e){
+                expected = e.getMessage();
+            }
+            String actual;
+            try{
+                actual = describe(parser.parse(bytes(encoded)));
+            }catch(IllegalArgumentException e){
+                actual = e.getMessage();
+            }
+            assertEquals(expected, actual, encoded);
+        }
+    }
+    
+    @Test
+    void positionIsNotChanged(){
+        ByteBuffer buffer = ByteBuffer.wrap(bytes("xx-threads=3"));
+        buffer.position(2);
+        assertEquals(3, parser().parse(buffer).getInteger("threads"));
+        assertEquals(2, buffer.position());
+    }
+    
+    @Test
+    void ignoredTokensAreSkipped(){
+        CompiledArgumentParser parser = new ArgumentParser()
+            .registerIntegerArgument("threads")
+            .setIgnoreUnknown(true)
+            .compile();
+        assertEquals(4, parser.parse(bytes("java\0-Xmx1g\0-threads=4\0Main\0")).getInteger("threads"));
+    }
+    
+    @Test
+    void subcommands(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerCommand("build", ()->new ArgumentParser().registerIntegerArgument("jobs"));
+        ArgumentResult result = parser.compile().parse(bytes("-verbose build -jobs=2"));
+        assertEquals("build", result.getCommand());
+        assertEquals(2, result.getInteger("jobs"));
+    }
+}
@@ -0,0 +1,67 @@
+package net.gudenau.lib.argument;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Parses generated command lines with and without compatibility mode,
+ * both have to produce the same values and the same failures.
+ * */
+class CompatibilityModeTest{
+    private static final String[] NAMES = {"name", "count", "verbose", "Out2"};
+    private static final String[] VALUES = {"", "x", "12", "a b", "a/b.c", "\"q\"", "a=b", "a,b", "-1", "a\n"};
+    
+    private static ArgumentParser parser(boolean compatibility){
+        return new ArgumentParser()
+            .setCompatibilityMode(compatibility)
+            .registerStringArgument("name")
+            .registerIntegerArgument("count")
+            .registerFlagArgument("verbose")
+            .registerStringArgument("Out2");
+    }
+    
+    @Test
+    void generatedCommandLines(){
+        CompiledArgumentParser regex = parser(true).compile();
+        CompiledArgumentParser tokenizer = parser(false).compile();
+        Random random = new Random(42);
+        for(int round = 0; round < 20_000; round++){
+            String[] arguments = new String[random.nextInt(5)];
+            for(int i = 0; i < arguments.length; i++){
+                arguments[i] = token(random);
+            }
+            
+            String expected = outcome(regex, arguments);
+            assertEquals(expected, outcome(tokenizer, arguments), String.join(" ", arguments));
+        }
+    }
+    
+    private static String token(Random random){
+        switch(random.nextInt(6)){
+            case 0: return VALUES[random.nextInt(VALUES.length)];
+            case 1: return "-" + NAMES[random.nextInt(NAMES.length)];
+            case 2: return "--unknown";
+            case 3: return "-";
+            default: return "-".repeat(1 + random.nextInt(2)) + NAMES[random.nextInt(NAMES.length)] + "=" + VALUES[random.nextInt(VALUES.length)];
+        }
+    }
+    
+    /**
+     * Describes the values of a parse, or its failure.
+     * */
+    private static String outcome(CompiledArgumentParser parser, String[] arguments){
+        ArgumentResult result;
+        try{
+            result = parser.parse(arguments);
+        }catch(IllegalArgumentException e){
+            return "failed: " + e.getMessage();
+        }
+        StringBuilder builder = new StringBuilder();
+        for(String name : NAMES){
+            builder.append(name).append('=').append(result.getResult(name)).append(';');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package net.gudenau.lib.argument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledArgumentParserTest{
+    @Test
+    void defaultsAreFilledIn(){
+        ArgumentResult result = new ArgumentParser()
+            .registerArgument("name", "default")
+            .registerArgument("count", 3)
+            .registerFlagArgument("verbose")
+            .parse(new String[]{"-count=5"});
+        assertEquals("default", result.getString("name"));
+        assertEquals(5, result.getInteger("count"));
+        assertFalse(result.getFlag("verbose"));
+    }
+    
+    @Test
+    void requiredSlotsAreChecked(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerStringArgument("optional")
+            .registerStringArgument("host", true);
+        for(int i = 0; i < 100; i++){
+            parser.registerStringArgument("filler" + i);
+        }
+        parser.registerIntegerArgument("port", true);
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-host=a"}));
+        assertEquals("Required param is missing", error.getMessage());
+        assertEquals(7, parser.parse(new String[]{"-host=a", "-port=7"}).getInteger("port"));
+    }
+    
+    @Test
+    void compiledParserIsReusedUntilRegistrationsChange(){
+        ArgumentParser parser = new ArgumentParser().registerStringArgument("a");
+        CompiledArgumentParser compiled = parser.compile();
+        assertSame(compiled, parser.compile());
+        
+        parser.registerStringArgument("b");
+        assertNotSame(compiled, parser.compile());
+        assertThrows(IllegalArgumentException.class, ()->compiled.parse(new String[]{"-b=x"}));
+        assertEquals("x", parser.parse(new String[]{"-b=x"}).getString("b"));
+    }
+}
@@ -0,0 +1,111 @@
+package net.gudenau.lib.argument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.gudenau.lib.argument.implementation.UnixSockets;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+class CompletionDaemonTest{
+    @TempDir
+    Path directory;
+    
+    private static ArgumentParser parser(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerArgument("version", 1)
+            .registerCommand("build", ArgumentParser::new);
+    }
+    
+    /**
+     * Sends a request the way the shell functions do and reads the
+     * response until the daemon closes the connection.
+     * */
+    private String request(SocketChannel channel, String token, String program, String... words) throws IOException{
+        try(channel){
+            StringBuilder request = new StringBuilder();
+            request.append(token).append('\0');
+            request.append(directory).append('\0');
+            request.append(program).append('\0');
+            request.append(words.length).append('\0');
+            for(String word : words){
+                request.append(word).append('\0');
+            }
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(request.toString());
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            
+            ByteArrayOutputStream response = new ByteArrayOutputStream();
+            ByteBuffer input = ByteBuffer.allocate(256);
+            while(channel.read(input) >= 0){
+                response.write(input.array(), 0, input.position());
+                input.clear();
+            }
+            return response.toString(StandardCharsets.UTF_8);
+        }
+    }
+    
+    @Test
+    void loopbackRoundTrip() throws IOException{
+        Path path = directory.resolve("daemon/port");
+        try(CompletionDaemon daemon = new CompletionDaemon(path).setUnixDomain(false).register("tool", parser()).start()){
+            assertFalse(daemon.isUnixDomain());
+            List<String> lines = Files.readAllLines(path);
+            assertEquals(2, lines.size());
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(lines.get(0)));
+            String token = lines.get(1);
+            
+            assertEquals("-verbose\n-version\n", request(SocketChannel.open(address), token, "tool", "-ve"));
+            assertEquals("build\n", request(SocketChannel.open(address), token, "tool", "-verbose", "b"));
+            
+            // Unknown programs get nothing, as does a wrong token
+            assertEquals("", request(SocketChannel.open(address), token, "other", "-ve"));
+            assertEquals("", request(SocketChannel.open(address), "wrong", "tool", "-ve"));
+            
+            try{
+                assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+            }catch(UnsupportedOperationException ignored){
+                // Not a POSIX file system
+            }
+        }
+        assertFalse(Files.exists(path));
+    }
+    
+    @Test
+    void unixDomainRoundTrip() throws IOException{
+        assumeTrue(UnixSockets.isSupported());
+        
+        Path path = directory.resolve("socket");
+        try(CompletionDaemon daemon = new CompletionDaemon(path).register("tool", parser()).start()){
+            assertTrue(daemon.isUnixDomain());
+            assertEquals("-verbose\n-version\n", request(UnixSockets.connect(path), "", "tool", "-ve"));
+            
+            try{
+                assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(path)));
+            }catch(UnsupportedOperationException ignored){
+                // Not a POSIX file system
+            }
+            
+            // The private directory the socket was bound in is gone
+            try(Stream<Path> files = Files.list(directory)){
+                assertEquals(List.of(path), files.collect(Collectors.toList()));
+            }
+        }
+        assertFalse(Files.exists(path));
+    }
+}
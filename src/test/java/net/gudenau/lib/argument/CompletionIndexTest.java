@@ -0,0 +1,109 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompletionIndexTest{
+    enum Mode implements EnumArgument{
+        FAST("fast"),
+        FASTER("faster"),
+        SAFE("safe");
+        
+        private final String name;
+        
+        Mode(String name){
+            this.name = name;
+        }
+        
+        @Override
+        public String getArgumentName(){
+            return name;
+        }
+    }
+    
+    @TempDir
+    Path directory;
+    
+    private static CompletionIndex index(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerArgument("version", 1)
+            .registerArgument("mode", Arguments.enumeration(Mode.SAFE, false, Mode.class))
+            .registerArgument("modes", Arguments.list(Arguments.enumeration(null, false, Mode.class), Mode.class, ',', false))
+            .registerPathArgument("out")
+            .registerCommand("build", ()->new ArgumentParser().registerStringArgument("target"))
+            .registerCommand("bench", ArgumentParser::new)
+            .createCompletionIndex();
+    }
+    
+    private List<String> complete(String... words){
+        return index().complete(List.of(words), directory);
+    }
+    
+    @Test
+    void optionNames(){
+        assertEquals(List.of("bench", "build", "-mode", "-modes", "-out", "-verbose", "-version"), complete(""));
+        assertEquals(List.of("-verbose", "-version"), complete("-ve"));
+        assertEquals(List.of("--verbose", "--version"), complete("--ve"));
+        assertEquals(List.of("-mode", "-modes", "-out", "-verbose", "-version"), complete("-"));
+        assertEquals(List.of(), complete("-x"));
+    }
+    
+    @Test
+    void enumValues(){
+        assertEquals(List.of("-mode=fast", "-mode=faster"), complete("-mode=fa"));
+        assertEquals(List.of("-mode=fast", "-mode=faster", "-mode=safe"), complete("-mode="));
+        assertEquals(List.of("safe"), complete("-mode", "S"));
+        
+        // Flags and values without candidates complete nothing
+        assertEquals(List.of(), complete("-verbose=t"));
+        assertEquals(List.of(), complete("-version", ""));
+        
+        // The value of an option is not completed as an option
+        assertEquals(List.of(), complete("-mode", "-"));
+    }
+    
+    @Test
+    void listElements(){
+        assertEquals(List.of("-modes=safe,fast", "-modes=safe,faster"), complete("-modes=safe,f"));
+        assertEquals(List.of("fast,safe"), complete("-modes", "fast,s"));
+    }
+    
+    @Test
+    void subcommands(){
+        assertEquals(List.of("bench", "build"), complete("b"));
+        assertEquals(List.of("build"), complete("bu"));
+        assertEquals(List.of("-target"), complete("build", "-t"));
+        
+        // Options of the parent still apply after the command
+        assertEquals(List.of("-verbose", "-version"), complete("-verbose", "build", "-ve"));
+        assertEquals(List.of("-modes=fast", "-modes=faster"), complete("build", "-modes=fast"));
+        
+        // A value that looks like a command does not select it
+        assertEquals(List.of(), complete("-version", "build", "-t"));
+    }
+    
+    @Test
+    void files() throws IOException{
+        Files.createFile(directory.resolve("alpha.txt"));
+        Files.createDirectory(directory.resolve("all"));
+        Files.createFile(directory.resolve("all").resolve("inner"));
+        Files.createFile(directory.resolve("beta"));
+        Files.createFile(directory.resolve(".hidden"));
+        
+        assertEquals(List.of("-out=all/", "-out=alpha.txt"), complete("-out=a"));
+        assertEquals(List.of("all/", "alpha.txt", "beta"), complete("-out", ""));
+        assertEquals(List.of(".hidden"), complete("-out", "."));
+        assertEquals(List.of("all/inner"), complete("-out", "all/"));
+        assertEquals(List.of(), complete("-out", "missing/"));
+        
+        Path absolute = directory.resolve("all");
+        assertEquals(List.of(absolute + "/inner"), complete("-out", absolute + "/i"));
+    }
+}
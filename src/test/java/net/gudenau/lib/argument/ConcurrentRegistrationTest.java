@@ -0,0 +1,100 @@
+package net.gudenau.lib.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentRegistrationTest{
+    private static final int ARGUMENTS = 300;
+    private static final int READERS = 4;
+    
+    /**
+     * Argument "a" + i has the default i + 1 and they are registered in
+     * order, so every snapshot has to hold a prefix of them with the
+     * right defaults.
+     * */
+    @Test
+    void parsesSeeConsistentSnapshots() throws InterruptedException{
+        ArgumentParser parser = new ArgumentParser().registerArgument("a0", 1);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < READERS; i++){
+            threads.add(new Thread(()->{
+                try{
+                    start.await();
+                    int last = 0;
+                    while(!done.get()){
+                        ArgumentResult result = parser.parse(new String[]{"-a0=7"});
+                        CompiledArgumentParser compiled = result.getParser();
+                        int count = compiled.getArgumentCount();
+                        assertTrue(count >= last, "Snapshot went back from " + last + " to " + count);
+                        last = count;
+                        assertEquals(7, result.getInteger("a0"));
+                        for(int slot = 1; slot < count; slot++){
+                            assertEquals("a" + slot, compiled.nameOf(slot));
+                            assertEquals(slot + 1, result.getInteger("a" + slot));
+                        }
+                    }
+                }catch(Throwable e){
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        
+        start.countDown();
+        for(int i = 1; i < ARGUMENTS; i++){
+            parser.registerArgument("a" + i, i + 1);
+            if(i % 16 == 0){
+                Thread.yield();
+            }
+        }
+        done.set(true);
+        for(Thread thread : threads){
+            thread.join();
+        }
+        
+        if(failure.get() != null){
+            fail(failure.get());
+        }
+        assertEquals(ARGUMENTS, parser.compile().getArgumentCount());
+    }
+    
+    @Test
+    void concurrentRegistrationsAreNotLost() throws InterruptedException{
+        ArgumentParser parser = new ArgumentParser();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int i = 0; i < READERS; i++){
+            int thread = i;
+            threads.add(new Thread(()->{
+                try{
+                    for(int j = 0; j < 100; j++){
+                        String name = "t" + thread + "x" + j;
+                        parser.registerFlagArgument(name);
+                        assertTrue(parser.parse(new String[]{"-" + name}).getFlag(name));
+                    }
+                }catch(Throwable e){
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for(Thread thread : threads){
+            thread.join();
+        }
+        
+        if(failure.get() != null){
+            fail(failure.get());
+        }
+        assertEquals(READERS * 100, parser.compile().getArgumentCount());
+    }
+}
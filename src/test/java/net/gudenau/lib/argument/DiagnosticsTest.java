@@ -0,0 +1,110 @@
+package net.gudenau.lib.argument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagnosticsTest{
+    private static CompiledArgumentParser parser(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerIntegerArgument("threads")
+            .registerArgument("host", Arguments.string(null, true))
+            .compile();
+    }
+    
+    @Test
+    void validCommandLinesHaveNoProblems(){
+        Diagnostics diagnostics = new Diagnostics();
+        ArgumentResult result = parser().tryParse(new String[]{"-host=a", "-threads=4"}, diagnostics);
+        assertNotNull(result);
+        assertTrue(diagnostics.isEmpty());
+        assertEquals(4, result.getInteger("threads"));
+    }
+    
+    @Test
+    void everyProblemIsCollected(){
+        Diagnostics diagnostics = new Diagnostics();
+        assertNull(parser().tryParse(new String[]{"-threads=many", "-bogus", "-verbose=yes", "-threads=99999999999"}, diagnostics));
+        assertEquals(5, diagnostics.size());
+        
+        assertEquals(ParseFailure.INVALID_VALUE, diagnostics.getFailure(0));
+        assertEquals(ConversionError.FORMAT, diagnostics.getError(0));
+        assertEquals(0, diagnostics.getTokenIndex(0));
+        assertEquals("threads", diagnostics.getName(0));
+        assertEquals("Invalid value \"many\" for threads: malformed", diagnostics.getMessage(0));
+        
+        assertEquals(ParseFailure.UNKNOWN_ARGUMENT, diagnostics.getFailure(1));
+        assertNull(diagnostics.getError(1));
+        assertEquals(1, diagnostics.getTokenIndex(1));
+        assertEquals("bogus", diagnostics.getName(1));
+        
+        assertEquals(ParseFailure.MALFORMED_VALUE, diagnostics.getFailure(2));
+        assertEquals(2, diagnostics.getTokenIndex(2));
+        assertEquals("verbose can not have a value!", diagnostics.getMessage(2));
+        
+        assertEquals(ParseFailure.INVALID_VALUE, diagnostics.getFailure(3));
+        assertEquals(ConversionError.RANGE, diagnostics.getError(3));
+        assertEquals(3, diagnostics.getTokenIndex(3));
+        
+        assertEquals(ParseFailure.MISSING_REQUIRED, diagnostics.getFailure(4));
+        assertEquals("host", diagnostics.getName(4));
+        assertEquals("Required param is missing", diagnostics.getMessage(4));
+    }
+    
+    @Test
+    void messagesMatchTheExceptionsOfParse(){
+        CompiledArgumentParser parser = parser();
+        String[][] commandLines = {
+            {"-host=a", "-verbose=1"},
+            {"-host=a", "-bogus"},
+            {"-host=a", "plain"},
+            {"-host=a", "--"},
+            {"-threads=1"},
+        };
+        Diagnostics diagnostics = new Diagnostics();
+        for(String[] commandLine : commandLines){
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser.parse(commandLine));
+            assertNull(parser.tryParse(commandLine, diagnostics));
+            assertEquals(error.getMessage(), diagnostics.getMessage(0));
+        }
+    }
+    
+    @Test
+    void diagnosticsAreReused(){
+        CompiledArgumentParser parser = parser();
+        Diagnostics diagnostics = new Diagnostics();
+        String[] bad = new String[10];
+        for(int i = 0; i < bad.length; i++){
+            bad[i] = "-unknown" + i;
+        }
+        assertNull(parser.tryParse(bad, diagnostics));
+        assertEquals(11, diagnostics.size());
+        assertEquals(9, diagnostics.getTokenIndex(9));
+        
+        assertNotNull(parser.tryParse(new String[]{"-host=a"}, diagnostics));
+        assertEquals(0, diagnostics.size());
+        assertThrows(IndexOutOfBoundsException.class, ()->diagnostics.getFailure(0));
+        
+        diagnostics.clear();
+        assertTrue(diagnostics.isEmpty());
+    }
+    
+    @Test
+    void tokenIndexesCountTheSubcommand(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerCommand("build", ()->new ArgumentParser().registerIntegerArgument("jobs"));
+        Diagnostics diagnostics = new Diagnostics();
+        assertNull(parser.tryParse(new String[]{"-verbose", "build", "-jobs=x", "-bogus"}, diagnostics));
+        assertEquals(2, diagnostics.size());
+        assertEquals(2, diagnostics.getTokenIndex(0));
+        assertEquals("jobs", diagnostics.getName(0));
+        assertEquals(3, diagnostics.getTokenIndex(1));
+        assertEquals(ParseFailure.UNKNOWN_ARGUMENT, diagnostics.getFailure(1));
+        
+        assertNull(parser.tryParse(new String[]{"deploy"}, diagnostics));
+        assertEquals(ParseFailure.UNKNOWN_COMMAND, diagnostics.getFailure(0));
+        assertEquals(0, diagnostics.getTokenIndex(0));
+    }
+}
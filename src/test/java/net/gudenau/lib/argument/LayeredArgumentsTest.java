@@ -0,0 +1,98 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LayeredArgumentsTest{
+    @TempDir
+    Path directory;
+    
+    private static ArgumentParser parser(){
+        return new ArgumentParser()
+            .registerArgument("maxThreads", 1)
+            .registerArgument("name", "default")
+            .registerFlagArgument("verbose");
+    }
+    
+    @Test
+    void laterLayersOverrideEarlierOnes() throws IOException{
+        Path file = directory.resolve("tool.properties");
+        Files.writeString(file, "max-threads=4\nname=file\nunknown=1\n");
+        System.setProperty("layeredtest.name", "property");
+        try(LayeredArguments arguments = new LayeredArguments(parser())
+            .addPropertiesFile(file)
+            .addSystemProperties("layeredtest.")
+            .addCommandLine(new String[]{"-verbose"})){
+            ArgumentResult result = arguments.load();
+            assertEquals(4, result.getInteger("maxThreads"));
+            assertEquals("property", result.getString("name"));
+            assertTrue(result.getFlag("verbose"));
+        }finally{
+            System.clearProperty("layeredtest.name");
+        }
+    }
+    
+    @Test
+    void loadPicksUpChangedFiles() throws IOException{
+        Path file = directory.resolve("tool.properties");
+        Files.writeString(file, "maxThreads=4\n");
+        LayeredArguments arguments = new LayeredArguments(parser()).addPropertiesFile(file);
+        ArgumentResult first = arguments.load();
+        assertEquals(4, first.getInteger("maxThreads"));
+        
+        // Unchanged values keep their converted value
+        assertSame(first, arguments.load());
+        
+        Files.writeString(file, "maxThreads=8\nname=changed\n");
+        ArgumentResult second = arguments.load();
+        assertEquals(8, second.getInteger("maxThreads"));
+        assertEquals("changed", second.getString("name"));
+        assertEquals(4, first.getInteger("maxThreads"));
+        
+        // Removing a value puts the default back
+        Files.writeString(file, "name=changed\n");
+        assertEquals(1, arguments.load().getInteger("maxThreads"));
+    }
+    
+    @Test
+    void invalidReloadKeepsTheOldResult() throws IOException{
+        Path file = directory.resolve("tool.properties");
+        Files.writeString(file, "maxThreads=4\n");
+        LayeredArguments arguments = new LayeredArguments(parser()).addPropertiesFile(file);
+        ArgumentResult first = arguments.load();
+        
+        Files.writeString(file, "maxThreads=many\n");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, arguments::load);
+        assertTrue(error.getMessage().contains("maxThreads"), error.getMessage());
+        assertSame(first, arguments.get());
+    }
+    
+    @Test
+    void watchedFilesAreReloaded() throws Exception{
+        Path file = directory.resolve("tool.properties");
+        Files.writeString(file, "maxThreads=4\n");
+        BlockingQueue<ArgumentResult> results = new LinkedBlockingQueue<>();
+        try(LayeredArguments arguments = new LayeredArguments(parser())
+            .addPropertiesFile(file)
+            .subscribe(results::add)
+            .watch()){
+            results.clear();
+            Files.writeString(file, "maxThreads=16\n");
+            
+            ArgumentResult result;
+            do{
+                result = results.poll(10, TimeUnit.SECONDS);
+                assertNotNull(result, "No reload");
+            }while(result.getInteger("maxThreads") != 16);
+            assertSame(result, arguments.get());
+        }
+    }
+}
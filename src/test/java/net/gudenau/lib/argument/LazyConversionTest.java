@@ -0,0 +1,126 @@
+package net.gudenau.lib.argument;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyConversionTest{
+    /**
+     * Upper cases values and counts how often it was called, "bad" can
+     * not be converted.
+     * */
+    private static final class CountingArgument implements Argument<String>{
+        private final AtomicInteger conversions = new AtomicInteger();
+        
+        @Override
+        public boolean isRequired(){
+            return false;
+        }
+        
+        @Override
+        public String getValue(String argument){
+            conversions.incrementAndGet();
+            if(argument.equals("bad")){
+                throw new IllegalArgumentException("Can not convert bad");
+            }
+            return argument.toUpperCase();
+        }
+        
+        @Override
+        public String getDefault(){
+            return null;
+        }
+        
+        @Override
+        public boolean hasDefault(){
+            return false;
+        }
+    }
+    
+    @Test
+    void valuesAreConvertedOnFirstRead(){
+        CountingArgument argument = new CountingArgument();
+        ArgumentResult result = new ArgumentParser()
+            .registerArgument("name", argument)
+            .registerArgument("other", new CountingArgument())
+            .setLazyConversion(true)
+            .parse(new String[]{"-name=abc"});
+        assertEquals(0, argument.conversions.get());
+        
+        assertEquals("ABC", result.getString("name"));
+        assertEquals("ABC", result.getString("name"));
+        assertEquals(1, argument.conversions.get());
+    }
+    
+    @Test
+    void valuesAreConvertedWhileParsingByDefault(){
+        CountingArgument argument = new CountingArgument();
+        ArgumentParser parser = new ArgumentParser().registerArgument("name", argument);
+        ArgumentResult result = parser.parse(new String[]{"-name=abc"});
+        assertEquals(1, argument.conversions.get());
+        assertEquals("ABC", result.getString("name"));
+        assertEquals(1, argument.conversions.get());
+        
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-name=bad"}));
+    }
+    
+    @Test
+    void badValuesThrowOnEveryRead(){
+        CountingArgument argument = new CountingArgument();
+        ArgumentResult result = new ArgumentParser()
+            .registerArgument("name", argument)
+            .registerIntegerArgument("count")
+            .setLazyConversion(true)
+            .parse(new String[]{"-name=bad", "-count=many"});
+        
+        for(int i = 1; i <= 2; i++){
+            IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->result.getString("name"));
+            assertEquals("Can not convert bad", error.getMessage());
+            assertEquals(i, argument.conversions.get());
+            assertThrows(IllegalArgumentException.class, ()->result.getInteger("count"));
+        }
+    }
+    
+    @Test
+    void suppliedDefaultsRunOncePerCompiledParser(){
+        AtomicInteger calls = new AtomicInteger();
+        ArgumentParser parser = new ArgumentParser()
+            .registerArgument("home", Arguments.withDefault(Arguments.string(null, false), ()->"home" + calls.incrementAndGet()));
+        assertEquals(0, calls.get());
+        
+        ArgumentResult first = parser.parse(new String[0]);
+        ArgumentResult second = parser.parse(new String[0]);
+        assertEquals(0, calls.get());
+        assertEquals("home1", first.getString("home"));
+        assertEquals("home1", second.getString("home"));
+        assertEquals("home1", first.getString("home"));
+        assertEquals(1, calls.get());
+        
+        // A new compiled parser computes it again
+        parser.registerFlagArgument("verbose");
+        assertEquals("home2", parser.parse(new String[0]).getString("home"));
+        assertEquals(2, calls.get());
+    }
+    
+    @Test
+    void suppliedDefaultsDoNotRunWhenTheValueIsPassed(){
+        AtomicInteger calls = new AtomicInteger();
+        for(boolean lazy : new boolean[]{false, true}){
+            ArgumentResult result = new ArgumentParser()
+                .registerArgument("count", Arguments.withDefault(Arguments.integer(0, false), calls::incrementAndGet))
+                .setLazyConversion(lazy)
+                .parse(new String[]{"-count=7"});
+            assertEquals(7, result.getInteger("count"));
+        }
+        assertEquals(0, calls.get());
+    }
+    
+    @Test
+    void suppliedDefaultsSatisfyRequiredArguments(){
+        ArgumentResult result = new ArgumentParser()
+            .registerArgument("host", Arguments.withDefault(Arguments.string(null, true), ()->"localhost"))
+            .parse(new String[0]);
+        assertEquals("localhost", result.getString("host"));
+    }
+}
@@ -0,0 +1,65 @@
+package net.gudenau.lib.argument;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListArgumentTest{
+    @Test
+    void occurrencesAccumulate(){
+        ArgumentResult result = new ArgumentParser()
+            .registerIntListArgument("port")
+            .registerStringListArgument("include")
+            .parse(new String[]{"-port=80,443", "-include=a", "-port", "8080", "-include=b,c"});
+        assertArrayEquals(new int[]{80, 443, 8080}, result.getInts("port"));
+        assertArrayEquals(new String[]{"a", "b", "c"}, result.getStrings("include"));
+        assertEquals(8603, result.getIntStream("port").sum());
+    }
+    
+    @Test
+    void absentListsAreEmpty(){
+        ArgumentResult result = new ArgumentParser()
+            .registerLongListArgument("shard")
+            .parse(new String[0]);
+        assertEquals(0, result.getLongs("shard").length);
+    }
+    
+    @Test
+    void separatorIsOnlyAllowedInLists(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerIntListArgument("port")
+            .registerArgument("semicolons", Arguments.list(Arguments.integer(0, false), ';', false))
+            .registerStringArgument("name");
+        assertArrayEquals(new int[]{1, 2}, parser.parse(new String[]{"-semicolons=1;2"}).getInts("semicolons"));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-name=a,b"}));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-port=1;2"}));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-port=1,x"}));
+    }
+    
+    @Test
+    void suppliedDefaultListsAccumulate(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerArgument("dport", Arguments.withDefault(Arguments.intList(false), ()->new int[]{22}));
+        assertArrayEquals(new int[]{22}, parser.parse(new String[0]).getInts("dport"));
+        assertArrayEquals(new int[]{1, 2, 3}, parser.parse(new String[]{"-dport=1", "-dport=2,3"}).getInts("dport"));
+        
+        parser.setLazyConversion(true);
+        assertArrayEquals(new int[]{1, 2, 3}, parser.parse(new String[]{"-dport=1", "-dport=2,3"}).getInts("dport"));
+        
+        ArgumentResult result = parser.parse(new String[]{"-dport=4,5"});
+        ByteBuffer snapshot = ArgumentSnapshot.encode(result);
+        assertArrayEquals(new int[]{4, 5}, ArgumentSnapshot.decode(parser.compile(), snapshot).getInts("dport"));
+    }
+    
+    @Test
+    void diagnosticsPointAtTheList(){
+        Diagnostics diagnostics = new Diagnostics();
+        assertNull(new ArgumentParser()
+            .registerIntListArgument("port")
+            .tryParse(new String[]{"-port=1,x"}, diagnostics));
+        assertEquals(1, diagnostics.size());
+        assertEquals("port", diagnostics.getName(0));
+        assertEquals(ParseFailure.INVALID_VALUE, diagnostics.getFailure(0));
+    }
+}
@@ -0,0 +1,37 @@
+package net.gudenau.lib.argument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberArgumentTest{
+    @Test
+    void integersStayDecimal(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerIntegerArgument("port")
+            .registerLongArgument("offset");
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-port=0x10"}));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-offset=0x10"}));
+        assertEquals(10, parser.parse(new String[]{"-port=10"}).getInteger("port"));
+    }
+    
+    @Test
+    void hexFactoriesTakeBoth(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerArgument("mask", Arguments.hexInteger(0, false))
+            .registerArgument("address", Arguments.hexLongInteger(0, false));
+        ArgumentResult result = parser.parse(new String[]{"-mask=0xFF", "-address=4096"});
+        assertEquals(255, result.getInteger("mask"));
+        assertEquals(4096, result.getLong("address", -1));
+    }
+    
+    @Test
+    void sizesAndDurations(){
+        ArgumentResult result = new ArgumentParser()
+            .registerSizeArgument("buffer")
+            .registerDurationArgument("timeout")
+            .parse(new String[]{"-buffer=4GiB", "-timeout=250ms"});
+        assertEquals(4L << 30, result.getLong("buffer", -1));
+        assertEquals(250_000_000L, result.getLong("timeout", -1));
+    }
+}
@@ -0,0 +1,102 @@
+package net.gudenau.lib.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseAllTest{
+    private static final int COUNT = 10_000;
+    
+    private static CompiledArgumentParser parser(){
+        return new ArgumentParser()
+            .registerIntegerArgument("index")
+            .registerFlagArgument("verbose")
+            .compile();
+    }
+    
+    /**
+     * Every 97th command line has an unknown argument.
+     * */
+    private static String[] commandLine(int index){
+        return index % 97 == 0 ?
+            new String[]{"-index=" + index, "-bogus"} :
+            new String[]{"-index=" + index, "-verbose"};
+    }
+    
+    private static List<String[]> commandLines(){
+        List<String[]> commandLines = new ArrayList<>(COUNT);
+        for(int i = 0; i < COUNT; i++){
+            commandLines.add(commandLine(i));
+        }
+        return commandLines;
+    }
+    
+    private static void assertOutcomes(List<ParseOutcome> outcomes){
+        assertEquals(COUNT, outcomes.size());
+        for(int i = 0; i < COUNT; i++){
+            ParseOutcome outcome = outcomes.get(i);
+            if(i % 97 == 0){
+                assertFalse(outcome.isSuccess());
+                assertNull(outcome.getResult());
+                assertEquals("Unknown argument \"bogus\"", outcome.getError().getMessage());
+                assertThrows(IllegalArgumentException.class, outcome::get);
+            }else{
+                assertTrue(outcome.isSuccess(), ()->String.valueOf(outcome.getError()));
+                assertNull(outcome.getError());
+                assertEquals(i, outcome.get().getInteger("index"));
+                assertTrue(outcome.getResult().getFlag("verbose"));
+            }
+        }
+    }
+    
+    @Test
+    void outcomesKeepTheInputOrder(){
+        assertOutcomes(parser().parseAll(commandLines()));
+    }
+    
+    @Test
+    void outcomesKeepTheInputOrderInAnyPool(){
+        CompiledArgumentParser parser = parser();
+        for(int parallelism : new int[]{1, 3, 16}){
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try{
+                assertOutcomes(parser.parseAll(commandLines(), pool));
+            }finally{
+                pool.shutdown();
+            }
+        }
+    }
+    
+    @Test
+    void emptyAndTinyBatches(){
+        CompiledArgumentParser parser = parser();
+        assertTrue(parser.parseAll(new ArrayList<>()).isEmpty());
+        
+        List<String[]> one = new ArrayList<>();
+        one.add(new String[]{"-index=4"});
+        assertEquals(4, parser.parseAll(one).get(0).get().getInteger("index"));
+    }
+    
+    @Test
+    void streamsKeepTheEncounterOrder(){
+        CompiledArgumentParser parser = parser();
+        assertOutcomes(parser.parseAll(IntStream.range(0, COUNT).mapToObj(ParseAllTest::commandLine)).collect(Collectors.toList()));
+        assertOutcomes(parser.parseAll(IntStream.range(0, COUNT).parallel().mapToObj(ParseAllTest::commandLine)).collect(Collectors.toList()));
+    }
+    
+    @Test
+    void streamsAreLazy(){
+        int[] parsed = new int[1];
+        CompiledArgumentParser parser = parser();
+        parser.parseAll(IntStream.range(0, 10).mapToObj((i)->{
+            parsed[0]++;
+            return commandLine(i);
+        }));
+        assertEquals(0, parsed[0]);
+    }
+}
@@ -0,0 +1,128 @@
+package net.gudenau.lib.argument;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseListenerTest{
+    private static final class Recording implements ParseListener{
+        private final List<String> events = new ArrayList<>();
+        
+        @Override
+        public void parsed(int tokens, long nanos, boolean cached){
+            assertTrue(nanos >= 0);
+            events.add("parsed " + tokens + (cached ? " cached" : ""));
+        }
+        
+        @Override
+        public void converted(String name, long nanos){
+            assertTrue(nanos >= 0);
+            events.add("converted " + name);
+        }
+        
+        @Override
+        public void failed(ParseFailure failure, int tokens, long nanos){
+            assertTrue(nanos >= 0);
+            events.add("failed " + failure + " " + tokens);
+        }
+    }
+    
+    private static ArgumentParser parser(Recording recording){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerArgument("port", 80)
+            .registerStringArgument("host")
+            .registerCommand("run", ArgumentParser::new)
+            .setParseListener(recording);
+    }
+    
+    private static List<String> fail(ArgumentParser parser, Recording recording, String... arguments){
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(arguments));
+        return recording.events;
+    }
+    
+    @Test
+    void parsesReportTheirTokensAndConversions(){
+        Recording recording = new Recording();
+        ArgumentResult result = parser(recording).parse(new String[]{"-verbose", "-port=7", "-host", "example.com"});
+        assertEquals(7, result.getInteger("port"));
+        assertEquals(List.of("converted port", "converted host", "parsed 4"), recording.events);
+    }
+    
+    @Test
+    void cacheHitsAreReportedAsCached(){
+        Recording recording = new Recording();
+        ArgumentParser parser = parser(recording).setResultCache(4);
+        parser.parse(new String[]{"-port=7"});
+        parser.parse(new String[]{"-port=7"});
+        assertEquals(List.of("converted port", "parsed 1", "parsed 1 cached"), recording.events);
+    }
+    
+    @Test
+    void illegalTokens(){
+        Recording recording = new Recording();
+        assertEquals(
+            List.of("converted port", "failed ILLEGAL_TOKEN 2"),
+            fail(parser(recording), recording, "-port=1", "-")
+        );
+    }
+    
+    @Test
+    void unknownArguments(){
+        Recording recording = new Recording();
+        assertEquals(List.of("failed UNKNOWN_ARGUMENT 2"), fail(parser(recording), recording, "-verbose", "-nope"));
+    }
+    
+    @Test
+    void unknownCommands(){
+        Recording recording = new Recording();
+        ArgumentParser parser = parser(recording);
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            ()->parser.parse(new String[]{"-port=1", "-verbose", "walk"})
+        );
+        assertEquals(parser.compile().describeUnknownCommand("walk"), exception.getMessage());
+        assertEquals(List.of("failed UNKNOWN_COMMAND 3"), recording.events);
+    }
+    
+    @Test
+    void malformedValues(){
+        Recording recording = new Recording();
+        ArgumentParser parser = parser(recording);
+        fail(parser, recording, "-verbose=yes");
+        fail(parser, recording, "-verbose", "-port");
+        fail(parser, recording, "-port=");
+        assertEquals(List.of(
+            "failed MALFORMED_VALUE 1",
+            "failed MALFORMED_VALUE 2",
+            "failed MALFORMED_VALUE 1"
+        ), recording.events);
+    }
+    
+    @Test
+    void invalidValuesAreNotReportedAsConverted(){
+        Recording recording = new Recording();
+        assertEquals(
+            List.of("converted host", "failed INVALID_VALUE 3"),
+            fail(parser(recording), recording, "-host=a", "-port", "x")
+        );
+    }
+    
+    @Test
+    void missingRequiredArguments(){
+        Recording recording = new Recording();
+        ArgumentParser parser = parser(recording).registerStringArgument("name", true);
+        assertEquals(List.of("converted port", "failed MISSING_REQUIRED 1"), fail(parser, recording, "-port=1"));
+    }
+    
+    @Test
+    void failedParsesAreNotCached(){
+        Recording recording = new Recording();
+        ArgumentParser parser = parser(recording).setResultCache(4);
+        fail(parser, recording, "-nope");
+        fail(parser, recording, "-nope");
+        assertEquals(List.of("failed UNKNOWN_ARGUMENT 1", "failed UNKNOWN_ARGUMENT 1"), recording.events);
+    }
+}
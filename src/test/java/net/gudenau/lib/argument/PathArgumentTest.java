@@ -0,0 +1,120 @@
+package net.gudenau.lib.argument;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathArgumentTest{
+    @TempDir
+    Path directory;
+    
+    @Test
+    void everyFailedPathIsReported() throws IOException{
+        Path file = Files.createFile(directory.resolve("file"));
+        ArgumentParser parser = new ArgumentParser()
+            .registerPathArgument("in", PathCheck.EXISTS)
+            .registerPathArgument("out", PathCheck.DIRECTORY)
+            .registerPathListArgument("libs", PathCheck.EXISTS);
+        
+        String missing = directory.resolve("missing").toString();
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{
+            "-in=" + missing, "-out=" + file, "-libs=" + file + File.pathSeparator + missing
+        }));
+        String[] lines = error.getMessage().split(System.lineSeparator());
+        assertEquals(3, lines.length, error.getMessage());
+        assertTrue(lines[0].startsWith("Invalid value \"" + missing + "\" for in"), lines[0]);
+        assertTrue(lines[1].endsWith("not a directory"), lines[1]);
+        assertTrue(lines[2].endsWith("does not exist"), lines[2]);
+        
+        ArgumentResult result = parser.parse(new String[]{"-in=" + file, "-out=" + directory, "-libs=" + file});
+        assertEquals(file, result.getPath("in"));
+        assertArrayEquals(new Path[]{file}, result.getPaths("libs"));
+    }
+    
+    @Test
+    void canonicalPathsAreResolved() throws IOException{
+        Path file = Files.createFile(directory.resolve("file"));
+        Files.createDirectory(directory.resolve("sub"));
+        Path indirect = directory.resolve("sub").resolve("..").resolve("file");
+        
+        ArgumentResult result = new ArgumentParser()
+            .registerPathArgument("in", PathCheck.CANONICALIZE)
+            .parse(new String[]{"-in=" + indirect});
+        assertEquals(file.toRealPath(), result.getPath("in"));
+    }
+    
+    @Test
+    void parallelChecksMatchSerialChecks() throws IOException{
+        Path file = Files.createFile(directory.resolve("file"));
+        StringBuilder paths = new StringBuilder();
+        for(int i = 0; i < 100; i++){
+            if(i != 0){
+                paths.append(File.pathSeparatorChar);
+            }
+            paths.append(i % 7 == 0 ? directory.resolve("missing" + i) : file);
+        }
+        String[] commandLine = {"-libs=" + paths};
+        
+        String[] messages = new String[2];
+        int[] parallelism = {1, 16};
+        for(int i = 0; i < parallelism.length; i++){
+            ArgumentParser parser = new ArgumentParser()
+                .registerPathListArgument("libs", PathCheck.EXISTS)
+                .setPathCheckParallelism(parallelism[i]);
+            messages[i] = assertThrows(IllegalArgumentException.class, ()->parser.parse(commandLine)).getMessage();
+        }
+        assertEquals(messages[0], messages[1]);
+        assertEquals(15, messages[0].split(System.lineSeparator()).length);
+    }
+    
+    @Test
+    void checkedPathsAreNotCached() throws IOException{
+        Path file = Files.createFile(directory.resolve("file"));
+        String[] commandLine = {"-in=" + file, "-count=2"};
+        ArgumentParser parser = new ArgumentParser()
+            .registerPathArgument("in", PathCheck.EXISTS)
+            .registerIntegerArgument("count")
+            .setResultCache(16);
+        
+        assertEquals(file, parser.parse(commandLine).getPath("in"));
+        Files.delete(file);
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(commandLine));
+        
+        // Command lines without checked paths are still cached
+        parser.parse(new String[]{"-count=3"});
+        parser.parse(new String[]{"-count=3"});
+        assertEquals(1, parser.getCacheStatistics().getHits());
+    }
+    
+    @Test
+    void checkedPathsAreNotCachedOnDisk() throws IOException{
+        Path cache = Files.createDirectory(directory.resolve("cache"));
+        Path file = Files.createFile(directory.resolve("file"));
+        String[] commandLine = {"-in=" + file};
+        ArgumentParser parser = new ArgumentParser()
+            .registerPathArgument("in", PathCheck.EXISTS)
+            .setSnapshotCache(cache);
+        
+        parser.parse(commandLine);
+        Files.delete(file);
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(commandLine));
+    }
+    
+    @Test
+    void checkedPathsOfSubcommandsAreNotCached() throws IOException{
+        Path file = Files.createFile(directory.resolve("file"));
+        String[] commandLine = {"build", "-in=" + file};
+        ArgumentParser parser = new ArgumentParser()
+            .registerCommand("build", ()->new ArgumentParser().registerPathArgument("in", PathCheck.EXISTS))
+            .setResultCache(16);
+        
+        parser.parse(commandLine);
+        Files.delete(file);
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(commandLine));
+    }
+}
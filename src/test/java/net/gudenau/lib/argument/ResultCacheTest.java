@@ -0,0 +1,79 @@
+package net.gudenau.lib.argument;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultCacheTest{
+    @Test
+    void hitsReturnTheCachedResult(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerStringArgument("name")
+            .setResultCache(4);
+        String[] arguments = {"-name=a"};
+        ArgumentResult first = parser.parse(arguments);
+        
+        // A different array with the same contents is a hit
+        assertSame(first, parser.parse(new String[]{"-name=a"}));
+        
+        // Changing the array after the parse does not change the key
+        arguments[0] = "-name=b";
+        assertEquals("b", parser.parse(arguments).getString("name"));
+        
+        CacheStatistics statistics = parser.getCacheStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(2, statistics.getMisses());
+        assertEquals(2, statistics.getSize());
+    }
+    
+    @Test
+    void evictsLeastRecentlyUsed(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerStringArgument("name")
+            .setResultCache(2, EvictionPolicy.LEAST_RECENTLY_USED);
+        ArgumentResult a = parser.parse(new String[]{"-name=a"});
+        parser.parse(new String[]{"-name=b"});
+        assertSame(a, parser.parse(new String[]{"-name=a"}));
+        parser.parse(new String[]{"-name=c"});
+        
+        // b was used least recently and is gone, a is still cached
+        assertSame(a, parser.parse(new String[]{"-name=a"}));
+        assertEquals(1, parser.getCacheStatistics().getEvictions());
+        assertEquals(3, parser.getCacheStatistics().getMisses());
+    }
+    
+    @Test
+    void evictsFirstInFirstOut(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerStringArgument("name")
+            .setResultCache(2, EvictionPolicy.FIRST_IN_FIRST_OUT);
+        ArgumentResult a = parser.parse(new String[]{"-name=a"});
+        parser.parse(new String[]{"-name=b"});
+        parser.parse(new String[]{"-name=a"});
+        parser.parse(new String[]{"-name=c"});
+        
+        assertNotSame(a, parser.parse(new String[]{"-name=a"}));
+    }
+    
+    @Test
+    void registrationsInvalidateTheCache(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerStringArgument("name")
+            .setResultCache(4);
+        ArgumentResult first = parser.parse(new String[]{"-name=a"});
+        parser.registerIntegerArgument("count");
+        ArgumentResult second = parser.parse(new String[]{"-name=a"});
+        assertNotSame(first, second);
+        assertEquals(0, second.getInteger("count"));
+    }
+    
+    @Test
+    void failuresAreNotCached(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerIntegerArgument("count")
+            .setResultCache(4);
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-count=x"}));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-count=x"}));
+        assertEquals(0, parser.getCacheStatistics().getSize());
+    }
+}
@@ -0,0 +1,217 @@
+package net.gudenau.lib.argument;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCacheTest{
+    enum Mode implements EnumArgument{
+        FAST("fast"),
+        SAFE("safe");
+        
+        private final String name;
+        
+        Mode(String name){
+            this.name = name;
+        }
+        
+        @Override
+        public String getArgumentName(){
+            return name;
+        }
+    }
+    
+    private static final class ScaledArgument implements Argument.OfInt{
+        private final int scale;
+        
+        private ScaledArgument(int scale){
+            this.scale = scale;
+        }
+        
+        @Override
+        public boolean isRequired(){
+            return false;
+        }
+        
+        @Override
+        public int parseInt(String argument){
+            return Integer.parseInt(argument) * scale;
+        }
+        
+        @Override
+        public int getIntDefault(){
+            return 0;
+        }
+        
+        @Override
+        public boolean hasDefault(){
+            return true;
+        }
+    }
+    
+    @TempDir
+    Path directory;
+    
+    private static ArgumentParser parser(){
+        return new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerArgument("port", 80)
+            .registerLongArgument("limit")
+            .registerDoubleArgument("ratio")
+            .registerStringArgument("host")
+            .registerPathArgument("out")
+            .registerIntListArgument("ids")
+            .registerArgument("names", Arguments.stringList(false))
+            .registerArgument("mode", Arguments.enumeration(Mode.SAFE, false, Mode.class));
+    }
+    
+    private static final String[] COMMAND_LINE = {
+        "-verbose", "-port=80", "-limit=5000000000", "-ratio=0.5", "-host=example.com",
+        "-out=a/b", "-ids=1,2,3", "-names=x", "-names=y", "-mode=safe"
+    };
+    
+    private static void assertFullResult(ArgumentResult result){
+        assertTrue(result.getFlag("verbose"));
+        assertEquals(80, result.getInteger("port"));
+        assertEquals(5000000000L, result.getLong("limit", -1));
+        assertEquals(0.5, result.getDouble("ratio"));
+        assertEquals("example.com", result.getString("host"));
+        assertEquals(Paths.get("a/b"), result.getPath("out"));
+        assertArrayEquals(new int[]{1, 2, 3}, result.getInts("ids"));
+        assertArrayEquals(new String[]{"x", "y"}, result.getStrings("names"));
+        assertEquals(Mode.SAFE, result.getEnum("mode", Mode.class));
+    }
+    
+    private static ArgumentParser counting(ArgumentParser parser, AtomicInteger hits){
+        return parser.setParseListener(new ParseListener(){
+            @Override
+            public void parsed(int tokens, long nanos, boolean cached){
+                if(cached){
+                    hits.incrementAndGet();
+                }
+            }
+        });
+    }
+    
+    private int countFiles() throws IOException{
+        try(Stream<Path> files = Files.list(directory)){
+            return (int)files.filter((file)->file.toString().endsWith(".snapshot")).count();
+        }
+    }
+    
+    @Test
+    void snapshotsRoundTrip(){
+        CompiledArgumentParser parser = parser().compile();
+        ByteBuffer snapshot = ArgumentSnapshot.encode(parser.parse(COMMAND_LINE));
+        assertFullResult(ArgumentSnapshot.decode(parser, snapshot));
+        
+        ArgumentResult empty = ArgumentSnapshot.decode(parser, ArgumentSnapshot.encode(parser.parse(new String[0])));
+        assertFalse(empty.getFlag("verbose"));
+        assertEquals(80, empty.getInteger("port"));
+        assertEquals(Mode.SAFE, empty.getEnum("mode", Mode.class));
+    }
+    
+    @Test
+    void repeatedCommandLinesAreReadFromDisk(){
+        AtomicInteger hits = new AtomicInteger();
+        ArgumentParser first = counting(parser(), hits).setSnapshotCache(directory);
+        assertFullResult(first.parse(COMMAND_LINE));
+        assertEquals(0, hits.get());
+        
+        ArgumentParser second = counting(parser(), hits).setSnapshotCache(directory);
+        assertFullResult(second.parse(COMMAND_LINE));
+        assertEquals(1, hits.get());
+    }
+    
+    @Test
+    void theCommandLineIsNotWritten() throws IOException{
+        parser().setSnapshotCache(directory).parse(new String[]{"-port=7", "-host=example.com"});
+        try(Stream<Path> files = Files.list(directory)){
+            for(Path file : (Iterable<Path>)files::iterator){
+                String contents = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                assertFalse(contents.contains("-port"), contents);
+                assertFalse(contents.contains("-host"), contents);
+            }
+        }
+    }
+    
+    @Test
+    void changedRegistrationsDoNotReadOldSnapshots(){
+        String[] commandLine = {"-port=7"};
+        new ArgumentParser()
+            .registerIntegerArgument("port")
+            .registerStringArgument("host")
+            .setSnapshotCache(directory)
+            .parse(commandLine);
+        
+        ArgumentParser required = new ArgumentParser()
+            .registerIntegerArgument("port")
+            .registerStringArgument("host", true)
+            .setSnapshotCache(directory);
+        assertThrows(IllegalArgumentException.class, ()->required.parse(commandLine));
+    }
+    
+    @Test
+    void changedDefaultsDoNotReadOldSnapshots(){
+        String[] commandLine = {"-port=80", "-mode=safe"};
+        new ArgumentParser()
+            .registerArgument("port", 80)
+            .registerArgument("mode", Arguments.enumeration(Mode.SAFE, false, Mode.class))
+            .setSnapshotCache(directory)
+            .parse(commandLine);
+        
+        ArgumentResult result = new ArgumentParser()
+            .registerArgument("port", 8080)
+            .registerArgument("mode", Arguments.enumeration(Mode.FAST, false, Mode.class))
+            .setSnapshotCache(directory)
+            .parse(commandLine);
+        assertEquals(80, result.getInteger("port"));
+        assertEquals(Mode.SAFE, result.getEnum("mode", Mode.class));
+    }
+    
+    @Test
+    void customArgumentTypesAreNotCached() throws IOException{
+        String[] commandLine = {"-level=3", "-port=7"};
+        assertEquals(3, new ArgumentParser()
+            .registerArgument("level", new ScaledArgument(1))
+            .registerArgument("port", 80)
+            .setSnapshotCache(directory)
+            .parse(commandLine)
+            .getInteger("level"));
+        assertEquals(0, countFiles());
+        
+        // The same class with a different conversion hashes the same
+        AtomicInteger hits = new AtomicInteger();
+        ArgumentParser scaled = counting(new ArgumentParser(), hits)
+            .registerArgument("level", new ScaledArgument(10))
+            .registerArgument("port", 80)
+            .setSnapshotCache(directory);
+        assertEquals(30, scaled.parse(commandLine).getInteger("level"));
+        assertEquals(0, hits.get());
+        
+        // Command lines that leave them at their default are still cached
+        scaled.parse(new String[]{"-port=7"});
+        assertEquals(1, countFiles());
+        scaled.parse(new String[]{"-port=7"});
+        assertEquals(1, hits.get());
+    }
+    
+    @Test
+    void theNumberOfFilesIsBounded() throws IOException{
+        ArgumentParser parser = parser().setSnapshotCache(directory, 3);
+        for(int i = 0; i < 10; i++){
+            parser.parse(new String[]{"-port=" + i});
+            assertEquals(Math.min(i + 1, 3), countFiles());
+        }
+        assertThrows(IllegalArgumentException.class, ()->parser.setSnapshotCache(directory, 0));
+    }
+}
@@ -0,0 +1,86 @@
+package net.gudenau.lib.argument;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubcommandTest{
+    @Test
+    void onlyTheSelectedCommandIsBuilt(){
+        AtomicInteger builds = new AtomicInteger();
+        AtomicInteger tests = new AtomicInteger();
+        ArgumentParser parser = new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerCommand("build", ()->{
+                builds.incrementAndGet();
+                return new ArgumentParser().registerStringArgument("target");
+            })
+            .registerCommand("test", ()->{
+                tests.incrementAndGet();
+                return new ArgumentParser().registerFlagArgument("fast");
+            });
+        
+        ArgumentResult result = parser.parse(new String[]{"-verbose", "build", "-target=all"});
+        assertEquals("build", result.getCommand());
+        assertTrue(result.getFlag("verbose"));
+        assertEquals("all", result.getString("target"));
+        
+        parser.parse(new String[]{"build", "-verbose"});
+        assertEquals(1, builds.get());
+        assertEquals(0, tests.get());
+        
+        assertNull(parser.parse(new String[]{"-verbose"}).getCommand());
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-target=all", "build"}));
+        assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"deploy"}));
+    }
+    
+    @Test
+    void keysOfSubcommands(){
+        AtomicReference<ArgumentKey<Integer>> jobs = new AtomicReference<>();
+        ArgumentParser parser = new ArgumentParser();
+        ArgumentKey<Boolean> verbose = parser.registerKey("verbose", Arguments.flag());
+        parser.registerCommand("build", ()->{
+            ArgumentParser build = new ArgumentParser();
+            jobs.set(build.registerKey("jobs", Arguments.integer(1, false)));
+            return build;
+        });
+        
+        ArgumentResult result = parser.parse(new String[]{"build", "-jobs=4", "-verbose"});
+        assertEquals(4, result.getInt(jobs.get(), -1));
+        assertEquals(Integer.valueOf(4), result.get(jobs.get()));
+        assertTrue(result.isPresent(verbose));
+        
+        // The key still does not belong to the parent alone
+        ArgumentResult parent = parser.parse(new String[]{"-verbose"});
+        assertThrows(IllegalArgumentException.class, ()->parent.get(jobs.get()));
+    }
+    
+    @Test
+    void ignoredTokensDoNotSelectCommands(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerFlagArgument("verbose")
+            .registerCommand("build", ()->new ArgumentParser().registerStringArgument("target"))
+            .setIgnoreUnknown(true);
+        
+        // Unknown words are skipped until a registered command
+        ArgumentResult result = parser.parse(new String[]{"stray", "-verbose", "build", "-target=all"});
+        assertEquals("build", result.getCommand());
+        assertTrue(result.getFlag("verbose"));
+        assertEquals("all", result.getString("target"));
+        
+        // Unknown options and lone dashes do not stop the search
+        result = parser.parse(new String[]{"-nope", "-", "build", "-target=all"});
+        assertEquals("build", result.getCommand());
+        assertEquals("all", result.getString("target"));
+        
+        result = parser.parse(new String[]{"stray", "-verbose"});
+        assertNull(result.getCommand());
+        assertTrue(result.getFlag("verbose"));
+        
+        Diagnostics diagnostics = new Diagnostics();
+        assertEquals("build", parser.compile().tryParse(new String[]{"stray", "build"}, diagnostics).getCommand());
+        assertTrue(diagnostics.isEmpty());
+    }
+}
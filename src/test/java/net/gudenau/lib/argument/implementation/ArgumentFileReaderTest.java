@@ -0,0 +1,128 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArgumentFileReaderTest{
+    @TempDir
+    Path directory;
+    
+    private Path write(String name, String contents) throws IOException{
+        return Files.write(directory.resolve(name), contents.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private static List<String> read(Path path, long windowSize) throws IOException{
+        List<String> tokens = new ArrayList<>();
+        try(ArgumentFileReader reader = new ArgumentFileReader(path, windowSize)){
+            for(String token = reader.next(); token != null; token = reader.next()){
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    private static List<String> expand(String... arguments){
+        List<String> tokens = new ArrayList<>();
+        try(TokenStream stream = new TokenStream(arguments, true)){
+            for(CharSequence token = stream.next(); token != null; token = stream.next()){
+                tokens.add(token.toString());
+            }
+        }
+        return tokens;
+    }
+    
+    @Test
+    void whitespaceSeparatesTokens() throws IOException{
+        Path file = write("args", "  -a=1\t-b\r\n\f-c=x  ");
+        assertEquals(Arrays.asList("-a=1", "-b", "-c=x"), read(file, 1 << 20));
+        assertEquals(Arrays.asList(), read(write("empty", ""), 1 << 20));
+    }
+    
+    @Test
+    void quotesAndEscapes() throws IOException{
+        Path file = write("args", "-name=\"a b\" '-x=c d' -q=\"it's\" -e=\"tab\\there\\nline\\\\\\\"\" pre\"fix\"post");
+        assertEquals(
+            Arrays.asList("-name=a b", "-x=c d", "-q=it's", "-e=tab\there\nline\\\"", "prefixpost"),
+            read(file, 1 << 20)
+        );
+    }
+    
+    @Test
+    void commentsRunToTheEndOfTheLine() throws IOException{
+        Path file = write("args", "# first line\n-a # trailing\n-b#not-a-comment\r# last");
+        assertEquals(Arrays.asList("-a", "-b#not-a-comment"), read(file, 1 << 20));
+    }
+    
+    @Test
+    void unterminatedQuotesFail() throws IOException{
+        Path quote = write("quote", "-a=\"open");
+        IOException error = assertThrows(IOException.class, ()->read(quote, 1 << 20));
+        assertTrue(error.getMessage().startsWith("Unterminated quote"), error.getMessage());
+        
+        Path escape = write("escape", "-a=\"open\\");
+        error = assertThrows(IOException.class, ()->read(escape, 1 << 20));
+        assertTrue(error.getMessage().startsWith("Unterminated escape"), error.getMessage());
+    }
+    
+    @Test
+    void tokensCrossWindows() throws IOException{
+        StringBuilder contents = new StringBuilder();
+        List<String> expected = new ArrayList<>();
+        for(int i = 0; i < 50; i++){
+            String token = "-value" + i + "=\"quoted " + i + "\"";
+            contents.append(token).append(i % 3 == 0 ? "\n" : " ");
+            expected.add("-value" + i + "=quoted " + i);
+        }
+        Path file = write("args", contents.toString());
+        for(long window = 1; window <= 17; window++){
+            assertEquals(expected, read(file, window), "Window " + window);
+        }
+    }
+    
+    @Test
+    void nestedFilesAreExpandedInPlace() throws IOException{
+        Path inner = write("inner", "-b -c");
+        Path outer = write("outer", "-a @" + inner + " -d");
+        assertEquals(Arrays.asList("-x", "-a", "-b", "-c", "-d", "-y"), expand("-x", "@" + outer, "-y"));
+    }
+    
+    @Test
+    void filesThatIncludeThemselvesFail() throws IOException{
+        Path self = directory.resolve("self");
+        write("self", "-a @" + self);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->expand("@" + self));
+        assertEquals(String.format("Argument file \"%s\" includes itself", self.toAbsolutePath().normalize()), error.getMessage());
+        
+        Path first = directory.resolve("first");
+        Path second = directory.resolve("second");
+        write("first", "@" + second);
+        write("second", "@" + first);
+        assertThrows(IllegalArgumentException.class, ()->expand("@" + first));
+    }
+    
+    @Test
+    void missingFilesFail(){
+        Path missing = directory.resolve("missing");
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->expand("-a", "@" + missing));
+        assertEquals(String.format("Could not read argument file \"%s\"", missing.toAbsolutePath().normalize()), error.getMessage());
+    }
+    
+    @Test
+    void argumentFilesAreOptIn(){
+        try(TokenStream stream = new TokenStream(new String[]{"@missing", "@"}, false)){
+            assertEquals("@missing", stream.next().toString());
+            assertEquals("@", stream.next().toString());
+            assertNull(stream.next());
+        }
+        assertEquals(Arrays.asList("@"), expand("@"));
+    }
+}
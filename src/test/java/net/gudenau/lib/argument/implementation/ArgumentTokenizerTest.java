@@ -0,0 +1,127 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the tokenizer against the regular expressions it replaced.
+ * */
+class ArgumentTokenizerTest{
+    private static final Pattern PATTERN_NAME = Pattern.compile("^-+([A-Za-z0-9]+)");
+    private static final Pattern PATTERN_VALUE = Pattern.compile("^-+[A-Za-z0-9]+=([A-Za-z0-9 /\\\\_\"'.]+)$");
+    
+    /**
+     * Characters that take every branch of the tokenizer, including line
+     * terminators that '$' matches before.
+     * */
+    private static final char[] ALPHABET = {
+        '-', '=', 'a', 'Z', '0', ' ', '/', '\\', '_', '"', '\'', '.', ',', '!', '\n', '\r', '\u0085', '\u2028', '\u00E9'
+    };
+    
+    @Test
+    void everyShortToken(){
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(false);
+        char[] token = new char[4];
+        for(int length = 0; length <= token.length; length++){
+            int combinations = (int)Math.pow(ALPHABET.length, length);
+            for(int combination = 0; combination < combinations; combination++){
+                int digits = combination;
+                for(int i = 0; i < length; i++){
+                    token[i] = ALPHABET[digits % ALPHABET.length];
+                    digits /= ALPHABET.length;
+                }
+                assertMatchesRegex(tokenizer, new String(token, 0, length));
+            }
+        }
+    }
+    
+    @Test
+    void randomOptions(){
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(false);
+        Random random = new Random(0x5EED);
+        StringBuilder builder = new StringBuilder();
+        for(int round = 0; round < 200_000; round++){
+            builder.setLength(0);
+            // Mostly well formed options so values are reached often
+            int dashes = random.nextInt(4);
+            for(int i = 0; i < dashes; i++){
+                builder.append('-');
+            }
+            int length = random.nextInt(12);
+            for(int i = 0; i < length; i++){
+                builder.append(random.nextInt(8) == 0 ? ALPHABET[random.nextInt(ALPHABET.length)] : (char)('a' + random.nextInt(26)));
+                if(random.nextInt(10) == 0){
+                    builder.append('=');
+                }
+            }
+            assertMatchesRegex(tokenizer, builder.toString());
+        }
+    }
+    
+    @Test
+    void compatibilityModeAcceptsSameTokens(){
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(true);
+        String[] tokens = {"", "-", "--", "a", "-a", "--name=value", "-a=", "-a=b=c", "-a=b\n", "-a=b\r\n", "-a=,", "-a!=b", "-=a"};
+        for(String token : tokens){
+            assertDoesNotThrow(()->tokenizer.tokenize(token), token);
+        }
+    }
+    
+    @Test
+    void rangesPointIntoToken(){
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(false);
+        assertEquals(ArgumentTokenizer.OPTION, tokenizer.tokenize("--name=some value"));
+        assertEquals(2, tokenizer.getNameStart());
+        assertEquals(6, tokenizer.getNameEnd());
+        assertEquals(7, tokenizer.getValueStart());
+        assertEquals(17, tokenizer.getValueEnd());
+        
+        assertEquals(ArgumentTokenizer.OPTION, tokenizer.tokenize("-flag"));
+        assertFalse(tokenizer.hasEquals());
+        assertFalse(tokenizer.hasValue());
+    }
+    
+    @Test
+    void listSeparatorIsAllowedOnRequest(){
+        ArgumentTokenizer tokenizer = new ArgumentTokenizer(true);
+        tokenizer.tokenize("-port=80,443");
+        assertFalse(tokenizer.hasValue());
+        assertTrue(tokenizer.hasValue(','));
+        assertEquals("80,443", tokenizer.getValue());
+        
+        tokenizer.tokenize("-port=80;443");
+        assertFalse(tokenizer.hasValue(','));
+        tokenizer.tokenize("-port=");
+        assertFalse(tokenizer.hasValue(','));
+        tokenizer.tokenize("-port,=1");
+        assertFalse(tokenizer.hasValue(','));
+    }
+    
+    private static void assertMatchesRegex(ArgumentTokenizer tokenizer, String token){
+        int result = tokenizer.tokenize(token);
+        if(token.isEmpty() || token.charAt(0) != '-'){
+            assertEquals(ArgumentTokenizer.NOT_OPTION, result, token);
+            return;
+        }
+        Matcher name = PATTERN_NAME.matcher(token);
+        if(!name.find()){
+            assertEquals(ArgumentTokenizer.NO_NAME, result, token);
+            return;
+        }
+        assertEquals(ArgumentTokenizer.OPTION, result, token);
+        assertEquals(name.group(1), tokenizer.getName(), token);
+        assertEquals(token.contains("="), tokenizer.hasEquals(), token);
+        
+        Matcher value = PATTERN_VALUE.matcher(token);
+        if(value.find()){
+            assertTrue(tokenizer.hasValue(), token);
+            assertEquals(value.group(1), tokenizer.getValue(), token);
+        }else{
+            assertFalse(tokenizer.hasValue(), token);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.gudenau.lib.argument.implementation;
+
+import net.gudenau.lib.argument.ArgumentParser;
+import net.gudenau.lib.argument.Arguments;
+import net.gudenau.lib.argument.ConversionError;
+import net.gudenau.lib.argument.EnumArgument;
+import net.gudenau.lib.argument.EnumMatching;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnumTableTest{
+    enum Speed implements EnumArgument{
+        FAST("fast"),
+        FASTER("faster"),
+        SAFE("safe"),
+        SLOW("Slow");
+        
+        private final String name;
+        
+        Speed(String name){
+            this.name = name;
+        }
+        
+        @Override
+        public String getArgumentName(){
+            return name;
+        }
+    }
+    
+    private static final String NAMES = "fast, faster, safe, Slow";
+    
+    private static EnumArgumentImplementation<Speed> argument(EnumMatching matching){
+        return new EnumArgumentImplementation<>(null, false, Speed.class, matching);
+    }
+    
+    private static void assertUnknown(EnumMatching matching, String value){
+        EnumArgumentImplementation<Speed> argument = argument(matching);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->argument.getValue(value));
+        assertEquals("Unknown value \"" + value + "\", expected one of " + NAMES, error.getMessage());
+        assertEquals(ConversionError.UNKNOWN_VALUE, argument.check(value, 0, value.length()));
+    }
+    
+    private static void assertMatch(EnumMatching matching, String value, Speed expected){
+        EnumArgumentImplementation<Speed> argument = argument(matching);
+        assertEquals(expected, argument.getValue(value));
+        assertNull(argument.check(value, 0, value.length()));
+        
+        // Slices of a larger token
+        String token = "-speed=" + value + "!";
+        assertEquals(expected, argument.getValue(token, 7, token.length() - 1));
+    }
+    
+    @Test
+    void namesAreSortedWithoutCase(){
+        assertArrayEquals(new String[]{"fast", "faster", "safe", "Slow"}, argument(EnumMatching.EXACT).getNames());
+    }
+    
+    @Test
+    void exact(){
+        assertMatch(EnumMatching.EXACT, "fast", Speed.FAST);
+        assertMatch(EnumMatching.EXACT, "faster", Speed.FASTER);
+        assertMatch(EnumMatching.EXACT, "Slow", Speed.SLOW);
+        assertUnknown(EnumMatching.EXACT, "FAST");
+        assertUnknown(EnumMatching.EXACT, "slow");
+        assertUnknown(EnumMatching.EXACT, "fas");
+        assertUnknown(EnumMatching.EXACT, "");
+    }
+    
+    @Test
+    void ignoreCase(){
+        assertMatch(EnumMatching.IGNORE_CASE, "FAST", Speed.FAST);
+        assertMatch(EnumMatching.IGNORE_CASE, "FaStEr", Speed.FASTER);
+        assertMatch(EnumMatching.IGNORE_CASE, "slow", Speed.SLOW);
+        assertUnknown(EnumMatching.IGNORE_CASE, "fas");
+        assertUnknown(EnumMatching.IGNORE_CASE, "fastest");
+        assertUnknown(EnumMatching.IGNORE_CASE, "zzz");
+    }
+    
+    @Test
+    void uniquePrefix(){
+        assertMatch(EnumMatching.UNIQUE_PREFIX, "sa", Speed.SAFE);
+        assertMatch(EnumMatching.UNIQUE_PREFIX, "SL", Speed.SLOW);
+        assertMatch(EnumMatching.UNIQUE_PREFIX, "faste", Speed.FASTER);
+        
+        // A whole name wins over the longer names it starts
+        assertMatch(EnumMatching.UNIQUE_PREFIX, "fast", Speed.FAST);
+        assertMatch(EnumMatching.UNIQUE_PREFIX, "FAST", Speed.FAST);
+        
+        assertUnknown(EnumMatching.UNIQUE_PREFIX, "fastest");
+        assertUnknown(EnumMatching.UNIQUE_PREFIX, "x");
+        assertUnknown(EnumMatching.UNIQUE_PREFIX, "");
+    }
+    
+    @Test
+    void ambiguousPrefixes(){
+        EnumArgumentImplementation<Speed> argument = argument(EnumMatching.UNIQUE_PREFIX);
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->argument.getValue("fa"));
+        assertEquals("Ambiguous value \"fa\", could be fast, faster", error.getMessage());
+        assertEquals(ConversionError.AMBIGUOUS_VALUE, argument.check("fa", 0, 2));
+        
+        error = assertThrows(IllegalArgumentException.class, ()->argument.getValue("S"));
+        assertEquals("Ambiguous value \"S\", could be safe, Slow", error.getMessage());
+    }
+    
+    @Test
+    void unknownValuesFailTheParse(){
+        ArgumentParser parser = new ArgumentParser()
+            .registerArgument("speed", Arguments.enumeration(Speed.SAFE, false, Speed.class, EnumMatching.UNIQUE_PREFIX));
+        assertEquals(Speed.SAFE, parser.parse(new String[0]).getEnum("speed", Speed.class));
+        assertEquals(Speed.SLOW, parser.parse(new String[]{"-speed=sl"}).getEnum("speed", Speed.class));
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, ()->parser.parse(new String[]{"-speed=warp"}));
+        assertEquals("Unknown value \"warp\", expected one of " + NAMES, error.getMessage());
+    }
+}
@@ -0,0 +1,33 @@
+package net.gudenau.lib.argument.implementation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest{
+    @Test
+    void findsEveryName(){
+        for(int count : new int[]{0, 1, 2, 7, 300, 5000}){
+            String[] names = new String[count];
+            for(int i = 0; i < count; i++){
+                names[i] = "option" + i;
+            }
+            NameIndex index = new NameIndex(names);
+            assertEquals(count, index.size());
+            for(int i = 0; i < count; i++){
+                assertEquals(i, index.find(names[i]));
+            }
+            assertEquals(-1, index.find("option" + count));
+            assertEquals(-1, index.find(""));
+        }
+    }
+    
+    @Test
+    void findsRanges(){
+        NameIndex index = new NameIndex(new String[]{"a", "ab", "abc"});
+        assertEquals(1, index.find("--ab=1", 2, 4));
+        assertEquals(2, index.find("--abc", 2, 5));
+        assertEquals(0, index.find("xa", 1, 2));
+        assertEquals(-1, index.find("abcd", 0, 4));
+    }
+}
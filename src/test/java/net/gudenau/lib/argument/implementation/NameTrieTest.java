@@ -0,0 +1,53 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameTrieTest{
+    private static final String[] NAMES = {"verbose", "version", "output", "out", "threads"};
+    
+    private static int findPrefix(NameTrie trie, String prefix){
+        return trie.findPrefix(prefix, 0, prefix.length());
+    }
+    
+    @Test
+    void uniquePrefixesFindTheirName(){
+        NameTrie trie = new NameTrie(NAMES);
+        assertEquals(4, findPrefix(trie, "t"));
+        assertEquals(0, findPrefix(trie, "verb"));
+        assertEquals(1, findPrefix(trie, "versi"));
+        assertEquals(2, findPrefix(trie, "outp"));
+        assertEquals(-1, findPrefix(trie, "x"));
+        assertEquals(-1, findPrefix(trie, "threadsx"));
+    }
+    
+    @Test
+    void exactNamesWinOverLongerOnes(){
+        NameTrie trie = new NameTrie(NAMES);
+        assertEquals(3, findPrefix(trie, "out"));
+        assertEquals(NameTrie.AMBIGUOUS, findPrefix(trie, "ver"));
+        assertEquals(NameTrie.AMBIGUOUS, findPrefix(trie, "ou"));
+    }
+    
+    @Test
+    void namesWithPrefix(){
+        NameTrie trie = new NameTrie(NAMES);
+        assertEquals(Arrays.asList("verbose", "version"), trie.withPrefix("ver", 10));
+        assertEquals(Arrays.asList("out", "output"), trie.withPrefix("o", 10));
+        assertEquals(5, trie.withPrefix("", 10).size());
+        assertEquals(2, trie.withPrefix("", 2).size());
+        assertEquals(Collections.emptyList(), trie.withPrefix("z", 10));
+    }
+    
+    @Test
+    void suggestionsAreTheClosestNames(){
+        NameTrie trie = new NameTrie(NAMES);
+        assertEquals(Collections.singletonList("verbose"), trie.suggest("verbsoe", 2, 3));
+        assertEquals(Collections.singletonList("threads"), trie.suggest("thread", 1, 3));
+        assertEquals(Collections.singletonList("output"), trie.suggest("outpt", 2, 3));
+        assertEquals(Collections.emptyList(), trie.suggest("zzzzzz", 2, 3));
+    }
+}
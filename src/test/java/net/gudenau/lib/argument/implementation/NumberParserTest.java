@@ -0,0 +1,110 @@
+package net.gudenau.lib.argument.implementation;
+
+import java.util.concurrent.TimeUnit;
+import net.gudenau.lib.argument.ConversionError;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberParserTest{
+    private static long parseLong(String value, boolean hex){
+        return NumberParser.parseLong(value, 0, value.length(), hex);
+    }
+    
+    private static ConversionError checkLong(String value, long min, long max, boolean hex){
+        return NumberParser.checkLong(value, 0, value.length(), min, max, hex);
+    }
+    
+    @Test
+    void longsMatchTheJdk(){
+        String[] values = {
+            "0", "7", "-7", "+7", "0010", "9223372036854775807", "-9223372036854775808",
+            "9223372036854775808", "-9223372036854775809", "99999999999999999999", "", "-", "+", "1a", "0x10", "1 "
+        };
+        for(String value : values){
+            Long expected;
+            try{
+                expected = Long.parseLong(value);
+            }catch(NumberFormatException e){
+                expected = null;
+            }
+            
+            if(expected == null){
+                assertThrows(NumberFormatException.class, ()->parseLong(value, false), value);
+                assertNotNull(checkLong(value, Long.MIN_VALUE, Long.MAX_VALUE, false), value);
+            }else{
+                assertEquals(expected.longValue(), parseLong(value, false), value);
+                assertNull(checkLong(value, Long.MIN_VALUE, Long.MAX_VALUE, false), value);
+            }
+        }
+    }
+    
+    @Test
+    void overflowIsARangeError(){
+        assertEquals(ConversionError.RANGE, checkLong("9223372036854775808", Long.MIN_VALUE, Long.MAX_VALUE, false));
+        assertEquals(ConversionError.RANGE, checkLong("2147483648", Integer.MIN_VALUE, Integer.MAX_VALUE, false));
+        assertNull(checkLong("-2147483648", Integer.MIN_VALUE, Integer.MAX_VALUE, false));
+        assertEquals(ConversionError.FORMAT, checkLong("99999999999999999999x", Long.MIN_VALUE, Long.MAX_VALUE, false));
+        
+        assertEquals(Integer.MIN_VALUE, NumberParser.parseInt("-2147483648", 0, 11, false));
+        assertThrows(NumberFormatException.class, ()->NumberParser.parseInt("2147483648", 0, 10, false));
+    }
+    
+    @Test
+    void hexOnlyWhenEnabled(){
+        assertThrows(NumberFormatException.class, ()->parseLong("0x10", false));
+        assertEquals(ConversionError.FORMAT, checkLong("0x10", Long.MIN_VALUE, Long.MAX_VALUE, false));
+        
+        assertEquals(16, parseLong("0x10", true));
+        assertEquals(-255, parseLong("-0XfF", true));
+        assertEquals(Long.MAX_VALUE, parseLong("0x7fffffffffffffff", true));
+        assertThrows(NumberFormatException.class, ()->parseLong("0x8000000000000000", true));
+        assertThrows(NumberFormatException.class, ()->parseLong("0x", true));
+        assertEquals(10, parseLong("10", true));
+    }
+    
+    @Test
+    void sizes(){
+        assertEquals(512, size("512"));
+        assertEquals(512, size("512b"));
+        assertEquals(512L << 20, size("512m"));
+        assertEquals(4L << 30, size("4GiB"));
+        assertEquals(4L << 30, size("4gb"));
+        assertEquals(1536, size("1.5k"));
+        assertEquals(1L << 60, size("1e"));
+        
+        for(String invalid : new String[]{"", "k", "1x", "1ib", "1ki", "-1", "1.5.k", "1kbb"}){
+            assertThrows(NumberFormatException.class, ()->size(invalid), invalid);
+            assertEquals(ConversionError.FORMAT, NumberParser.checkSize(invalid, 0, invalid.length()), invalid);
+        }
+        assertEquals(ConversionError.RANGE, NumberParser.checkSize("8e", 0, 2));
+        assertEquals(ConversionError.RANGE, NumberParser.checkSize("9223372036854775808", 0, 19));
+    }
+    
+    @Test
+    void durations(){
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(250), duration("250ms"));
+        assertEquals(TimeUnit.HOURS.toNanos(2), duration("2h"));
+        assertEquals(TimeUnit.MINUTES.toNanos(90), duration("1h30m"));
+        assertEquals(TimeUnit.MINUTES.toNanos(90), duration("1H30MIN"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1500), duration("1.5s"));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(1), duration("0.001s"));
+        assertEquals(3, duration("3ns"));
+        assertEquals(TimeUnit.DAYS.toNanos(106_751), duration("106751d"));
+        
+        for(String invalid : new String[]{"", "5", "s", "5x", "5 s", "-5s", "1h-5m"}){
+            assertThrows(NumberFormatException.class, ()->duration(invalid), invalid);
+            assertEquals(ConversionError.FORMAT, NumberParser.checkDuration(invalid, 0, invalid.length()), invalid);
+        }
+        assertEquals(ConversionError.RANGE, NumberParser.checkDuration("106752d", 0, 7));
+        assertEquals(ConversionError.RANGE, NumberParser.checkDuration("106751d106751d", 0, 14));
+    }
+    
+    private static long size(String value){
+        return NumberParser.parseSize(value, 0, value.length());
+    }
+    
+    private static long duration(String value){
+        return NumberParser.parseDuration(value, 0, value.length());
+    }
+}